@@ -0,0 +1,36 @@
+package be.gerard.time.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Run all benchmarks (or those matching the JMH command line) with the gc profiler attached.
+ * <p>
+ * java -jar benchmarks/target/benchmarks.jar
+ * java -jar benchmarks/target/benchmarks.jar DateRangeBenchmark.merge -p size=10000
+ * <p>
+ * Next to the throughput (ops/s) every benchmark reports gc.alloc.rate.norm, the number of bytes allocated per operation.
+ */
+public final class Benchmarks {
+
+    private Benchmarks() {
+        // no-op
+    }
+
+    public static void main(
+            final String[] args
+    ) throws RunnerException, CommandLineOptionException {
+        final Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        new Runner(options).run();
+    }
+
+}
@@ -0,0 +1,118 @@
+package be.gerard.time.benchmark;
+
+import be.gerard.time.DateRange;
+import be.gerard.time.DateRangeBatch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The columnar batch kernels against the same predicates evaluated per DateRange object.
+ * Both sides produce the same bitmask (or lengths), only the representation of the rows differs.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DateRangeBatchBenchmark {
+
+    @Param({"10000", "1000000"})
+    int size;
+
+    @Param({"OVERLAPPING", "MIXED_INFINITE"})
+    RangeDistribution distribution;
+
+    List<DateRange> ranges;
+    DateRangeBatch batch;
+    LocalDate day;
+    DateRange window;
+
+    @Setup
+    public void setup() {
+        this.ranges = this.distribution.generate(this.size, 42L);
+        this.batch = DateRangeBatch.of(this.ranges);
+        this.day = LocalDate.of(2000, 1, 1).plusDays(this.size * 2L);
+        this.window = DateRange.of(this.day, this.day.plusDays(30));
+    }
+
+    @Benchmark
+    public long[] containsDayPerObject() {
+        final long[] mask = new long[(this.ranges.size() + 63) >>> 6];
+
+        for (int i = 0; i < this.ranges.size(); i++) {
+            if (this.ranges.get(i).containsDay(this.day)) {
+                mask[i >>> 6] |= 1L << i;
+            }
+        }
+
+        return mask;
+    }
+
+    @Benchmark
+    public long[] containsDayBatch() {
+        return this.batch.maskContainingDay(this.day);
+    }
+
+    @Benchmark
+    public long[] isIntersectingWithPerObject() {
+        final long[] mask = new long[(this.ranges.size() + 63) >>> 6];
+
+        for (int i = 0; i < this.ranges.size(); i++) {
+            if (this.ranges.get(i).isIntersectingWith(this.window)) {
+                mask[i >>> 6] |= 1L << i;
+            }
+        }
+
+        return mask;
+    }
+
+    @Benchmark
+    public long[] isIntersectingWithBatch() {
+        return this.batch.maskIntersectingWith(this.window);
+    }
+
+    @Benchmark
+    public long[] lengthPerObject() {
+        final long[] lengths = new long[this.ranges.size()];
+
+        for (int i = 0; i < this.ranges.size(); i++) {
+            lengths[i] = this.ranges.get(i).length();
+        }
+
+        return lengths;
+    }
+
+    @Benchmark
+    public long[] lengthBatch() {
+        return this.batch.lengths();
+    }
+
+    @Benchmark
+    public List<DateRange> intersectPerObject() {
+        return this.ranges.stream()
+                .map(range -> range.intersect(this.window))
+                .flatMap(Optional::stream)
+                .toList();
+    }
+
+    @Benchmark
+    public DateRangeBatch intersectBatch() {
+        return this.batch.intersect(this.window);
+    }
+
+}
@@ -0,0 +1,91 @@
+package be.gerard.time.benchmark;
+
+import be.gerard.time.DateRange;
+import be.gerard.time.DateRangeBased;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The set algebra on collections of ranges.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DateRangeBenchmark {
+
+    @Param({"1000", "10000"})
+    int size;
+
+    @Param({"DENSE", "SPARSE", "OVERLAPPING", "MIXED_INFINITE"})
+    RangeDistribution distribution;
+
+    List<DateRange> ranges;
+    List<DateRange> sortedRanges;
+    DateRange minuend;
+
+    @Setup
+    public void setup() {
+        this.ranges = this.distribution.generate(this.size, 42L);
+        this.sortedRanges = DateRange.sort(this.ranges);
+        this.minuend = DateRange.ofEpochDays(
+                this.ranges.stream().mapToLong(DateRange::startEpochDay).min().orElseThrow(),
+                this.ranges.stream().mapToLong(DateRange::endEpochDay).max().orElseThrow()
+        );
+    }
+
+    @Benchmark
+    public List<DateRange> merge() {
+        return DateRange.merge(this.ranges);
+    }
+
+    @Benchmark
+    public List<DateRange> findAllIntersections() {
+        return DateRange.findAllIntersections(this.ranges);
+    }
+
+    @Benchmark
+    public List<DateRange> findUsedIntersections() {
+        return DateRange.findUsedIntersections(this.ranges);
+    }
+
+    @Benchmark
+    public List<DateRange> findAllGaps() {
+        return DateRange.findAllGaps(this.ranges);
+    }
+
+    @Benchmark
+    public List<DateRange> subtract() {
+        return this.minuend.subtract(this.ranges);
+    }
+
+    @Benchmark
+    public List<List<DateRange>> groupOverlappingRanges() {
+        return DateRangeBased.groupOverlappingRanges(this.ranges);
+    }
+
+    @Benchmark
+    public List<List<DateRange>> groupOverlappingRangesInParallel() {
+        return DateRangeBased.groupOverlappingRangesInParallel(this.ranges);
+    }
+
+    @Benchmark
+    public long streamOverlappingRanges() {
+        return DateRangeBased.streamOverlappingRanges(this.sortedRanges.stream()).count();
+    }
+
+}
@@ -0,0 +1,65 @@
+package be.gerard.time.benchmark;
+
+import be.gerard.time.DateRange;
+import be.gerard.time.Days;
+import be.gerard.time.Months;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The conversions between ranges, days and months.
+ * Infinite ranges can not be converted into days or months, only the finite distributions are measured.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DaysBenchmark {
+
+    @Param({"1000", "10000"})
+    int size;
+
+    @Param({"DENSE", "SPARSE", "OVERLAPPING"})
+    RangeDistribution distribution;
+
+    List<DateRange> ranges;
+    List<LocalDate> days;
+
+    @Setup
+    public void setup() {
+        this.ranges = this.distribution.generate(this.size, 42L);
+        this.days = Days.within(this.ranges);
+    }
+
+    @Benchmark
+    public List<LocalDate> daysWithin() {
+        return Days.within(this.ranges);
+    }
+
+    @Benchmark
+    public List<YearMonth> monthsWithin() {
+        return Months.within(this.ranges);
+    }
+
+    @Benchmark
+    public List<DateRange> groupSubsequentDays() {
+        return DateRange.groupSubsequentDays(this.days);
+    }
+
+}
@@ -0,0 +1,98 @@
+package be.gerard.time.benchmark;
+
+import be.gerard.time.DateRange;
+import be.gerard.time.DateRangeEncoder;
+import be.gerard.time.DateRangeParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing and encoding the text representation of ranges, all three forms (d, d.., d..d) are present in MIXED_INFINITE.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParseBenchmark {
+
+    @Param({"10000"})
+    int size;
+
+    @Param({"MIXED_INFINITE"})
+    RangeDistribution distribution;
+
+    List<DateRange> ranges;
+    List<String> values;
+    ByteBuffer ascii;
+    ByteBuffer encoded;
+    int[] offsets;
+
+    @Setup
+    public void setup() {
+        this.ranges = this.distribution.generate(this.size, 42L);
+        this.values = this.ranges
+                .stream()
+                .map(DateRange::asText)
+                .toList();
+        this.ascii = ByteBuffer.wrap(String.join("", this.values).getBytes(StandardCharsets.US_ASCII));
+        this.encoded = ByteBuffer.allocate(this.ascii.capacity());
+        this.offsets = new int[this.values.size() + 1];
+
+        for (int i = 0; i < this.values.size(); i++) {
+            this.offsets[i + 1] = this.offsets[i] + this.values.get(i).length();
+        }
+    }
+
+    @Benchmark
+    public List<DateRange> parse() {
+        return DateRange.parse(this.values);
+    }
+
+    @Benchmark
+    public void parseAscii(final Blackhole blackhole) {
+        for (int i = 1; i < this.offsets.length; i++) {
+            blackhole.consume(DateRangeParser.parse(this.ascii, this.offsets[i - 1], this.offsets[i] - this.offsets[i - 1]));
+        }
+    }
+
+    @Benchmark
+    public String asText() {
+        final StringBuilder builder = new StringBuilder();
+
+        for (final DateRange range : this.ranges) {
+            builder.append(range.asText()).append('\n');
+        }
+
+        return builder.toString();
+    }
+
+    @Benchmark
+    public String encode() {
+        return DateRangeEncoder.toText(this.ranges, "\n");
+    }
+
+    @Benchmark
+    public ByteBuffer encodeAscii() {
+        this.encoded.clear();
+        DateRangeEncoder.write(this.ranges, "", this.encoded);
+        return this.encoded;
+    }
+
+}
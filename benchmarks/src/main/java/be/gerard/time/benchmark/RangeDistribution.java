@@ -0,0 +1,89 @@
+package be.gerard.time.benchmark;
+
+import be.gerard.time.DateRange;
+import be.gerard.time.LocalDates;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generators for realistic range distributions.
+ * The generated ranges are shuffled, the algorithms under test should not benefit from the order in which they were generated.
+ */
+public enum RangeDistribution {
+
+    /**
+     * Short ranges (1-10 days) following each other with gaps of at most a few days, like consecutive assignments.
+     */
+    DENSE {
+        @Override
+        DateRange next(final Random random, final long[] cursor, final int size) {
+            final long start = cursor[0] + random.nextInt(3);
+            final long end = start + random.nextInt(10);
+            cursor[0] = end + 1;
+            return DateRange.ofEpochDays(start, end);
+        }
+    },
+
+    /**
+     * Short ranges (1-10 days) separated by gaps of one month up to one year.
+     */
+    SPARSE {
+        @Override
+        DateRange next(final Random random, final long[] cursor, final int size) {
+            final long start = cursor[0] + 30 + random.nextInt(335);
+            final long end = start + random.nextInt(10);
+            cursor[0] = end + 1;
+            return DateRange.ofEpochDays(start, end);
+        }
+    },
+
+    /**
+     * Long ranges (1 month up to 1 year) with random starts in a window proportional to the size, so most ranges overlap several others.
+     */
+    OVERLAPPING {
+        @Override
+        DateRange next(final Random random, final long[] cursor, final int size) {
+            final long start = ORIGIN + random.nextInt(Math.max(size, 1) * 4);
+            return DateRange.ofEpochDays(start, start + 30 + random.nextInt(335));
+        }
+    },
+
+    /**
+     * OVERLAPPING ranges of which roughly 5% never end.
+     */
+    MIXED_INFINITE {
+        @Override
+        DateRange next(final Random random, final long[] cursor, final int size) {
+            final DateRange range = OVERLAPPING.next(random, cursor, size);
+            return random.nextInt(20) == 0
+                    ? DateRange.ofEpochDays(range.startEpochDay(), LocalDates.MAX_EPOCH_DAY)
+                    : range;
+        }
+    };
+
+    private static final long ORIGIN = LocalDate.of(2000, 1, 1).toEpochDay();
+
+    abstract DateRange next(Random random, long[] cursor, int size);
+
+    public List<DateRange> generate(
+            final int size,
+            final long seed
+    ) {
+        final Random random = new Random(seed);
+        final long[] cursor = {ORIGIN};
+        final List<DateRange> ranges = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            ranges.add(next(random, cursor, size));
+        }
+
+        Collections.shuffle(ranges, random);
+
+        return List.copyOf(ranges);
+    }
+
+}
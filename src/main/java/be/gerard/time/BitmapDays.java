@@ -0,0 +1,260 @@
+package be.gerard.time;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static java.util.Collections.unmodifiableList;
+import static java.util.Objects.requireNonNull;
+import static org.apache.commons.lang3.Validate.isTrue;
+
+/**
+ * An immutable set of days stored as a dense bitmap over epoch days.
+ * <p>
+ * Bit i of word w represents the epoch day (firstWord + w) * 64 + i.
+ * The bitmap starts at the word holding the first day and ends at the word holding the last day, so bitmaps with different offsets stay word aligned.
+ * <p>
+ * containsDay              -> O(1)
+ * union/intersect/subtract -> O(words), one word (64 days) per operation
+ * asRanges                 -> runs of set bits, already ordered, no sorting
+ * <p>
+ * Compared to Days, which holds a Set of LocalDates, a bitmap costs 1 bit per day of its span.
+ * It is the better choice for dense days, a Set remains the better choice for a handful of days spread over centuries.
+ */
+public final class BitmapDays {
+
+    private static final BitmapDays EMPTY = new BitmapDays(0L, Bitmaps.NO_WORDS);
+
+    private final long firstWord;
+    private final long[] words;
+
+    private BitmapDays(
+            final long firstWord,
+            final long[] words
+    ) {
+        this.firstWord = firstWord;
+        this.words = words;
+    }
+
+    public static BitmapDays empty() {
+        return EMPTY;
+    }
+
+    /**
+     * @throws NullPointerException     if days is null.
+     * @throws IllegalArgumentException if the days span too many years to fit a bitmap.
+     */
+    public static BitmapDays ofDays(
+            final Collection<LocalDate> days
+    ) {
+        requireNonNull(days);
+
+        return ofEpochDays(
+                days.stream()
+                        .mapToLong(LocalDate::toEpochDay)
+                        .toArray()
+        );
+    }
+
+    public static BitmapDays ofDays(
+            final Days days
+    ) {
+        requireNonNull(days);
+
+        return ofDays(days.dates());
+    }
+
+    /**
+     * @throws IllegalArgumentException if the days span too many years to fit a bitmap.
+     */
+    public static BitmapDays ofEpochDays(
+            final long... epochDays
+    ) {
+        if (epochDays.length == 0) {
+            return EMPTY;
+        }
+
+        final long min = Arrays.stream(epochDays).min().orElseThrow();
+        final long max = Arrays.stream(epochDays).max().orElseThrow();
+        final long firstWord = Bitmaps.wordOf(min);
+        final long[] words = Bitmaps.allocate(firstWord, Bitmaps.wordOf(max), "days");
+
+        for (final long epochDay : epochDays) {
+            final long bit = epochDay - firstWord * Long.SIZE;
+            words[(int) (bit >>> 6)] |= 1L << bit;
+        }
+
+        return new BitmapDays(firstWord, words);
+    }
+
+    /**
+     * Convert ranges into a bitmap, setting whole runs of days at once instead of enumerating them.
+     *
+     * @param ranges A Collection of finite DateRanges.
+     * @return The BitmapDays containing every day within the ranges.
+     * @throws NullPointerException     if ranges is null.
+     * @throws IllegalArgumentException if a range is not finite or the ranges span too many years to fit a bitmap.
+     */
+    public static BitmapDays ofRanges(
+            final Collection<DateRange> ranges
+    ) {
+        requireNonNull(ranges);
+
+        if (ranges.isEmpty()) {
+            return EMPTY;
+        }
+
+        isTrue(ranges.stream().allMatch(DateRange::isFinite), "infinite range to days conversion is not supported");
+
+        final long min = ranges.stream().mapToLong(DateRange::startEpochDay).min().orElseThrow();
+        final long max = ranges.stream().mapToLong(DateRange::endEpochDay).max().orElseThrow();
+        final long firstWord = Bitmaps.wordOf(min);
+        final long[] words = Bitmaps.allocate(firstWord, Bitmaps.wordOf(max), "days");
+        final long offset = firstWord * Long.SIZE;
+
+        for (final DateRange range : ranges) {
+            Bitmaps.setRange(words, range.startEpochDay() - offset, range.endEpochDay() - offset + 1L);
+        }
+
+        return new BitmapDays(firstWord, words);
+    }
+
+    public boolean isEmpty() {
+        return this.words.length == 0;
+    }
+
+    /**
+     * @return The number of days in this set.
+     */
+    public long size() {
+        return Bitmaps.cardinality(this.words);
+    }
+
+    public boolean containsDay(
+            final LocalDate day
+    ) {
+        requireNonNull(day);
+
+        return containsDay(day.toEpochDay());
+    }
+
+    public boolean containsDay(
+            final long epochDay
+    ) {
+        final long word = Bitmaps.wordOf(epochDay) - this.firstWord;
+
+        return word >= 0
+                && word < this.words.length
+                && (this.words[(int) word] & (1L << epochDay)) != 0;
+    }
+
+    public BitmapDays union(
+            final BitmapDays other
+    ) {
+        requireNonNull(other);
+
+        return of(Bitmaps.union(bitmap(), other.bitmap(), "days"));
+    }
+
+    public BitmapDays intersect(
+            final BitmapDays other
+    ) {
+        requireNonNull(other);
+
+        return of(Bitmaps.intersect(bitmap(), other.bitmap()));
+    }
+
+    public BitmapDays subtract(
+            final BitmapDays other
+    ) {
+        requireNonNull(other);
+
+        return of(Bitmaps.subtract(bitmap(), other.bitmap()));
+    }
+
+    /**
+     * Convert the runs of subsequent days into ranges.
+     * The resulting ranges are ordered and never adjacent.
+     *
+     * @return A List of DateRanges.
+     * @see DateRange#groupSubsequentDays(Collection)
+     */
+    public List<DateRange> asRanges() {
+        final List<DateRange> result = new ArrayList<>();
+        final long offset = this.firstWord * Long.SIZE;
+
+        long bit = Bitmaps.nextSetBit(this.words, 0L);
+
+        while (bit >= 0) {
+            final long end = Bitmaps.nextClearBit(this.words, bit);
+            result.add(DateRange.ofEpochDays(offset + bit, offset + end - 1L));
+            bit = Bitmaps.nextSetBit(this.words, end);
+        }
+
+        return unmodifiableList(result);
+    }
+
+    /**
+     * @return The ordered epoch days of this set.
+     */
+    public LongStream epochDays() {
+        final long offset = this.firstWord * Long.SIZE;
+
+        return LongStream.iterate(Bitmaps.nextSetBit(this.words, 0L), bit -> bit >= 0, bit -> Bitmaps.nextSetBit(this.words, bit + 1L))
+                .map(bit -> offset + bit);
+    }
+
+    /**
+     * @return The ordered days of this set.
+     */
+    public List<LocalDate> days() {
+        return epochDays()
+                .mapToObj(LocalDate::ofEpochDay)
+                .toList();
+    }
+
+    /**
+     * @throws IllegalArgumentException if this set is empty.
+     */
+    public Days asDays() {
+        return Days.ofDays(days());
+    }
+
+    private Bitmaps.Bitmap bitmap() {
+        return new Bitmaps.Bitmap(this.firstWord, this.words);
+    }
+
+    private static BitmapDays of(
+            final Bitmaps.Bitmap bitmap
+    ) {
+        return bitmap.isEmpty()
+                ? EMPTY
+                : new BitmapDays(bitmap.firstWord(), bitmap.words());
+    }
+
+    @Override
+    public boolean equals(
+            final Object other
+    ) {
+        return other instanceof BitmapDays that
+                && bitmap().equals(that.bitmap());
+    }
+
+    @Override
+    public int hashCode() {
+        return bitmap().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "BitmapDays%s".formatted(
+                asRanges().stream()
+                        .map(DateRange::asText)
+                        .toList()
+        );
+    }
+
+}
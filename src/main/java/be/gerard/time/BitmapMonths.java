@@ -0,0 +1,221 @@
+package be.gerard.time;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static java.util.Collections.unmodifiableList;
+import static java.util.Objects.requireNonNull;
+import static org.apache.commons.lang3.Validate.isTrue;
+
+/**
+ * An immutable set of months stored as a dense bitmap over proleptic months (year * 12 + month - 1).
+ * <p>
+ * Bit i of word w represents the proleptic month (firstWord + w) * 64 + i, a single word covers more than 5 years.
+ * <p>
+ * ofRanges                 -> sets the run of months touched by every range at once, no month is enumerated
+ * containsMonth            -> O(1)
+ * union/intersect/subtract -> O(words)
+ * months/asRanges          -> runs of set bits, already ordered, no hash set and no sorting
+ *
+ * @see BitmapDays
+ */
+public final class BitmapMonths {
+
+    private static final BitmapMonths EMPTY = new BitmapMonths(0L, Bitmaps.NO_WORDS);
+
+    private final long firstWord;
+    private final long[] words;
+
+    private BitmapMonths(
+            final long firstWord,
+            final long[] words
+    ) {
+        this.firstWord = firstWord;
+        this.words = words;
+    }
+
+    public static BitmapMonths empty() {
+        return EMPTY;
+    }
+
+    /**
+     * @throws NullPointerException if months is null.
+     */
+    public static BitmapMonths ofMonths(
+            final Collection<YearMonth> months
+    ) {
+        requireNonNull(months);
+
+        if (months.isEmpty()) {
+            return EMPTY;
+        }
+
+        final long[] prolepticMonths = months.stream()
+                .mapToLong(Months::prolepticMonth)
+                .toArray();
+        final long firstWord = Bitmaps.wordOf(Arrays.stream(prolepticMonths).min().orElseThrow());
+        final long[] words = Bitmaps.allocate(firstWord, Bitmaps.wordOf(Arrays.stream(prolepticMonths).max().orElseThrow()), "months");
+
+        for (final long prolepticMonth : prolepticMonths) {
+            final long bit = prolepticMonth - firstWord * Long.SIZE;
+            words[(int) (bit >>> 6)] |= 1L << bit;
+        }
+
+        return new BitmapMonths(firstWord, words);
+    }
+
+    /**
+     * Collect the months touched by the ranges, setting whole runs of months at once.
+     *
+     * @param ranges A Collection of finite DateRanges.
+     * @return The BitmapMonths containing every month touched by the ranges.
+     * @throws NullPointerException     if ranges is null.
+     * @throws IllegalArgumentException if a range is not finite.
+     * @see Months#within(Collection)
+     */
+    public static BitmapMonths ofRanges(
+            final Collection<DateRange> ranges
+    ) {
+        requireNonNull(ranges);
+
+        if (ranges.isEmpty()) {
+            return EMPTY;
+        }
+
+        isTrue(ranges.stream().allMatch(DateRange::isFinite), "infinite range to months conversion is not supported");
+
+        final long[] startMonths = ranges.stream()
+                .mapToLong(range -> Months.prolepticMonth(range.startDate()))
+                .toArray();
+        final long[] endMonths = ranges.stream()
+                .mapToLong(range -> Months.prolepticMonth(range.endDate()))
+                .toArray();
+        final long firstWord = Bitmaps.wordOf(Arrays.stream(startMonths).min().orElseThrow());
+        final long[] words = Bitmaps.allocate(firstWord, Bitmaps.wordOf(Arrays.stream(endMonths).max().orElseThrow()), "months");
+        final long offset = firstWord * Long.SIZE;
+
+        for (int i = 0; i < startMonths.length; i++) {
+            Bitmaps.setRange(words, startMonths[i] - offset, endMonths[i] - offset + 1L);
+        }
+
+        return new BitmapMonths(firstWord, words);
+    }
+
+    public boolean isEmpty() {
+        return this.words.length == 0;
+    }
+
+    /**
+     * @return The number of months in this set.
+     */
+    public long size() {
+        return Bitmaps.cardinality(this.words);
+    }
+
+    public boolean containsMonth(
+            final YearMonth month
+    ) {
+        requireNonNull(month);
+
+        final long prolepticMonth = Months.prolepticMonth(month);
+        final long word = Bitmaps.wordOf(prolepticMonth) - this.firstWord;
+
+        return word >= 0
+                && word < this.words.length
+                && (this.words[(int) word] & (1L << prolepticMonth)) != 0;
+    }
+
+    public BitmapMonths union(
+            final BitmapMonths other
+    ) {
+        requireNonNull(other);
+
+        return of(Bitmaps.union(bitmap(), other.bitmap(), "months"));
+    }
+
+    public BitmapMonths intersect(
+            final BitmapMonths other
+    ) {
+        requireNonNull(other);
+
+        return of(Bitmaps.intersect(bitmap(), other.bitmap()));
+    }
+
+    public BitmapMonths subtract(
+            final BitmapMonths other
+    ) {
+        requireNonNull(other);
+
+        return of(Bitmaps.subtract(bitmap(), other.bitmap()));
+    }
+
+    /**
+     * @return The ordered months of this set, lazily.
+     */
+    public Stream<YearMonth> months() {
+        final long offset = this.firstWord * Long.SIZE;
+
+        return LongStream.iterate(Bitmaps.nextSetBit(this.words, 0L), bit -> bit >= 0, bit -> Bitmaps.nextSetBit(this.words, bit + 1L))
+                .mapToObj(bit -> Months.toYearMonth(offset + bit));
+    }
+
+    /**
+     * Convert the runs of subsequent months into ranges, from the first day of the first month up to the last day of the last month.
+     * The resulting ranges are ordered and never adjacent, like Months.asRanges.
+     *
+     * @return A List of DateRanges.
+     * @see Months#asRanges(Collection)
+     */
+    public List<DateRange> asRanges() {
+        final List<DateRange> result = new ArrayList<>();
+        final long offset = this.firstWord * Long.SIZE;
+
+        long bit = Bitmaps.nextSetBit(this.words, 0L);
+
+        while (bit >= 0) {
+            final long end = Bitmaps.nextClearBit(this.words, bit);
+            result.add(Months.asRange(offset + bit, offset + end - 1L));
+            bit = Bitmaps.nextSetBit(this.words, end);
+        }
+
+        return unmodifiableList(result);
+    }
+
+    private Bitmaps.Bitmap bitmap() {
+        return new Bitmaps.Bitmap(this.firstWord, this.words);
+    }
+
+    private static BitmapMonths of(
+            final Bitmaps.Bitmap bitmap
+    ) {
+        return bitmap.isEmpty()
+                ? EMPTY
+                : new BitmapMonths(bitmap.firstWord(), bitmap.words());
+    }
+
+    @Override
+    public boolean equals(
+            final Object other
+    ) {
+        return other instanceof BitmapMonths that
+                && bitmap().equals(that.bitmap());
+    }
+
+    @Override
+    public int hashCode() {
+        return bitmap().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "BitmapMonths%s".formatted(
+                months().map(YearMonth::toString).toList()
+        );
+    }
+
+}
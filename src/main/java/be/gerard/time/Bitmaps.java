@@ -0,0 +1,291 @@
+package be.gerard.time;
+
+import java.util.Arrays;
+
+import static org.apache.commons.lang3.Validate.isTrue;
+
+/**
+ * Word level operations shared by the bitmaps (BitmapDays, BitmapMonths), including their set algebra, so both stay in line.
+ * <p>
+ * A bitmap is a long[] of words where bit i of word w represents the value (firstWord + w) * 64 + i.
+ */
+final class Bitmaps {
+
+    static final long[] NO_WORDS = new long[0];
+
+    private static final int MAX_WORDS = Integer.MAX_VALUE - 8;
+
+    private Bitmaps() {
+        // no-op
+    }
+
+    static long wordOf(
+            final long value
+    ) {
+        return Math.floorDiv(value, Long.SIZE);
+    }
+
+    static long[] allocate(
+            final long firstWord,
+            final long lastWord,
+            final String values
+    ) {
+        final long length = lastWord - firstWord + 1;
+
+        isTrue(length <= MAX_WORDS, "%s span too many years to be represented as a bitmap [words=%d]", values, length);
+
+        return new long[(int) length];
+    }
+
+    /**
+     * Set the bits from fromBit (included) to toBit (excluded), a word at a time.
+     */
+    static void setRange(
+            final long[] words,
+            final long fromBit,
+            final long toBit
+    ) {
+        final int startWord = (int) (fromBit >>> 6);
+        final int endWord = (int) ((toBit - 1L) >>> 6);
+        final long firstMask = -1L << fromBit;
+        final long lastMask = -1L >>> -toBit;
+
+        if (startWord == endWord) {
+            words[startWord] |= firstMask & lastMask;
+        } else {
+            words[startWord] |= firstMask;
+            Arrays.fill(words, startWord + 1, endWord, -1L);
+            words[endWord] |= lastMask;
+        }
+    }
+
+    /**
+     * @return The index of the first set bit on or after fromBit, -1 if none.
+     */
+    static long nextSetBit(
+            final long[] words,
+            final long fromBit
+    ) {
+        int index = (int) (fromBit >>> 6);
+
+        if (index >= words.length) {
+            return -1L;
+        }
+
+        long word = words[index] & (-1L << fromBit);
+
+        while (word == 0) {
+            if (++index == words.length) {
+                return -1L;
+            }
+            word = words[index];
+        }
+
+        return (long) index * Long.SIZE + Long.numberOfTrailingZeros(word);
+    }
+
+    /**
+     * @return The index of the first clear bit on or after fromBit, possibly just after the last word.
+     */
+    static long nextClearBit(
+            final long[] words,
+            final long fromBit
+    ) {
+        int index = (int) (fromBit >>> 6);
+
+        if (index >= words.length) {
+            return fromBit;
+        }
+
+        long word = ~words[index] & (-1L << fromBit);
+
+        while (word == 0) {
+            if (++index == words.length) {
+                return (long) index * Long.SIZE;
+            }
+            word = ~words[index];
+        }
+
+        return (long) index * Long.SIZE + Long.numberOfTrailingZeros(word);
+    }
+
+    static long cardinality(
+            final long[] words
+    ) {
+        long cardinality = 0L;
+
+        for (final long word : words) {
+            cardinality += Long.bitCount(word);
+        }
+
+        return cardinality;
+    }
+
+    /**
+     * OR the words of a bitmap starting at sourceFirstWord into the words starting at firstWord.
+     */
+    private static void or(
+            final long[] words,
+            final long firstWord,
+            final long[] sourceWords,
+            final long sourceFirstWord
+    ) {
+        final int offset = (int) (sourceFirstWord - firstWord);
+
+        for (int i = 0; i < sourceWords.length; i++) {
+            words[offset + i] |= sourceWords[i];
+        }
+    }
+
+    static Bitmap union(
+            final Bitmap bitmap,
+            final Bitmap other,
+            final String values
+    ) {
+        if (other.isEmpty()) {
+            return bitmap;
+        } else if (bitmap.isEmpty()) {
+            return other;
+        }
+
+        final long firstWord = Math.min(bitmap.firstWord(), other.firstWord());
+        final long[] words = allocate(firstWord, Math.max(bitmap.lastWord(), other.lastWord()), values);
+
+        or(words, firstWord, bitmap.words(), bitmap.firstWord());
+        or(words, firstWord, other.words(), other.firstWord());
+
+        return new Bitmap(firstWord, words);
+    }
+
+    static Bitmap intersect(
+            final Bitmap bitmap,
+            final Bitmap other
+    ) {
+        final long firstWord = Math.max(bitmap.firstWord(), other.firstWord());
+        final long lastWord = Math.min(bitmap.lastWord(), other.lastWord());
+
+        if (bitmap.isEmpty() || other.isEmpty() || firstWord > lastWord) {
+            return Bitmap.EMPTY;
+        }
+
+        final long[] words = new long[(int) (lastWord - firstWord + 1)];
+
+        for (int i = 0; i < words.length; i++) {
+            words[i] = bitmap.words()[(int) (firstWord - bitmap.firstWord()) + i]
+                    & other.words()[(int) (firstWord - other.firstWord()) + i];
+        }
+
+        return trim(firstWord, words);
+    }
+
+    static Bitmap subtract(
+            final Bitmap bitmap,
+            final Bitmap other
+    ) {
+        final long firstWord = Math.max(bitmap.firstWord(), other.firstWord());
+        final long lastWord = Math.min(bitmap.lastWord(), other.lastWord());
+
+        if (bitmap.isEmpty() || other.isEmpty() || firstWord > lastWord) {
+            return bitmap;
+        }
+
+        final long[] words = bitmap.words().clone();
+
+        for (long word = firstWord; word <= lastWord; word++) {
+            words[(int) (word - bitmap.firstWord())] &= ~other.words()[(int) (word - other.firstWord())];
+        }
+
+        return trim(bitmap.firstWord(), words);
+    }
+
+    /**
+     * Drop the empty words at both ends, so equal sets always have equal words.
+     */
+    static Bitmap trim(
+            final long firstWord,
+            final long[] words
+    ) {
+        final int from = firstNonEmptyWord(words);
+        final int to = lastNonEmptyWord(words, from);
+
+        if (from == to) {
+            return Bitmap.EMPTY;
+        } else if (from == 0 && to == words.length) {
+            return new Bitmap(firstWord, words);
+        }
+
+        return new Bitmap(firstWord + from, Arrays.copyOfRange(words, from, to));
+    }
+
+    /**
+     * @return The index of the first non-empty word, words.length if all words are empty.
+     */
+    private static int firstNonEmptyWord(
+            final long[] words
+    ) {
+        int from = 0;
+
+        while (from < words.length && words[from] == 0) {
+            from++;
+        }
+
+        return from;
+    }
+
+    /**
+     * @return The index after the last non-empty word, from if all words starting at from are empty.
+     */
+    private static int lastNonEmptyWord(
+            final long[] words,
+            final int from
+    ) {
+        int to = words.length;
+
+        while (to > from && words[to - 1] == 0) {
+            to--;
+        }
+
+        return to;
+    }
+
+    /**
+     * The words of a bitmap together with the index of its first word, equal when they hold the same bits at the same position.
+     * The words are never modified once a Bitmap is created.
+     */
+    record Bitmap(
+            long firstWord,
+            long[] words
+    ) {
+
+        static final Bitmap EMPTY = new Bitmap(0L, NO_WORDS);
+
+        boolean isEmpty() {
+            return this.words.length == 0;
+        }
+
+        long lastWord() {
+            return this.firstWord + this.words.length - 1;
+        }
+
+        @Override
+        public boolean equals(
+                final Object other
+        ) {
+            return other instanceof Bitmap that
+                    && this.firstWord == that.firstWord
+                    && Arrays.equals(this.words, that.words);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Long.hashCode(this.firstWord) + Arrays.hashCode(this.words);
+        }
+
+        @Override
+        public String toString() {
+            return "Bitmap[firstWord=%d, words=%s]".formatted(this.firstWord, Arrays.toString(this.words));
+        }
+
+    }
+
+}
@@ -0,0 +1,477 @@
+package be.gerard.time;
+
+import java.time.LocalDate;
+import java.time.Year;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import static java.util.Collections.unmodifiableList;
+import static java.util.Collections.unmodifiableSortedMap;
+import static java.util.Objects.requireNonNull;
+import static org.apache.commons.lang3.Validate.isTrue;
+
+/**
+ * Calendar units (DAYS up to MILLENNIA) computed on epoch days, aligned like Days.adjusterForStartOf.
+ * <p>
+ * Every unit is numbered, the ordinal of a day is computed arithmetically:
+ * <p>
+ * DAYS      -> epoch day
+ * WEEKS     -> weeks since Monday 1969-12-29
+ * MONTHS    -> months since 0000-01
+ * YEARS     -> year
+ * DECADES   -> floor(year / 10)
+ * CENTURIES -> floor(year / 100)
+ * MILLENNIA -> floor(year / 1000)
+ * <p>
+ * Splitting a range or bucketing many ranges therefore never walks the calendar day by day.
+ *
+ * @see Days#adjusterForStartOf(ChronoUnit)
+ */
+public final class CalendarUnits {
+
+    private static final long DAYS_PER_WEEK = 7L;
+    private static final long FIRST_MONDAY_EPOCH_DAY = -3L; // 1969-12-29
+    private static final long MAX_DENSE_UNITS = 1L << 20;
+
+    private CalendarUnits() {
+        // no-op
+    }
+
+    /**
+     * @return true if the unit is one of DAYS, WEEKS, MONTHS, YEARS, DECADES, CENTURIES or MILLENNIA.
+     */
+    public static boolean isSupported(
+            final TemporalUnit temporalUnit
+    ) {
+        return temporalUnit instanceof ChronoUnit unit
+                && unit.compareTo(ChronoUnit.DAYS) >= 0
+                && unit.compareTo(ChronoUnit.MILLENNIA) <= 0;
+    }
+
+    /**
+     * @return The ordinal of the unit containing the given day.
+     */
+    public static long ordinal(
+            final long epochDay,
+            final ChronoUnit unit
+    ) {
+        return switch (unit) {
+            case DAYS -> epochDay;
+            case WEEKS -> Math.floorDiv(epochDay - FIRST_MONDAY_EPOCH_DAY, DAYS_PER_WEEK);
+            case MONTHS -> Months.prolepticMonth(LocalDate.ofEpochDay(epochDay));
+            case YEARS, DECADES, CENTURIES, MILLENNIA -> Math.floorDiv(LocalDate.ofEpochDay(epochDay).getYear(), years(unit));
+            default -> throw unsupported(unit);
+        };
+    }
+
+    /**
+     * @return The epoch day of the first day of the unit with the given ordinal, limited to LocalDate.MIN and the day after LocalDate.MAX.
+     */
+    public static long startEpochDay(
+            final long ordinal,
+            final ChronoUnit unit
+    ) {
+        final long epochDay = switch (unit) {
+            case DAYS -> ordinal;
+            case WEEKS -> ordinal * DAYS_PER_WEEK + FIRST_MONDAY_EPOCH_DAY;
+            case MONTHS -> startEpochDayOfYear(Math.floorDiv(ordinal, 12L), (int) Math.floorMod(ordinal, 12L) + 1);
+            case YEARS, DECADES, CENTURIES, MILLENNIA -> startEpochDayOfYear(ordinal * years(unit), 1);
+            default -> throw unsupported(unit);
+        };
+
+        return Math.clamp(epochDay, LocalDates.MIN_EPOCH_DAY, LocalDates.MAX_EPOCH_DAY + 1L);
+    }
+
+    /**
+     * Split the range at the start of every unit.
+     * <p>
+     * Given: "2000-12-15..2001-01-15", MONTHS
+     * Result: ["2000-12-15..2000-12-31", "2001-01-01..2001-01-15"]
+     *
+     * @param range A finite DateRange.
+     * @param unit  A supported ChronoUnit.
+     * @return The ordered parts of the range, the range itself if it lies within a single unit.
+     * @throws IllegalArgumentException if the range is infinite or the unit is not supported.
+     */
+    public static List<DateRange> split(
+            final DateRange range,
+            final ChronoUnit unit
+    ) {
+        requireNonNull(range);
+        requireNonNull(unit);
+        isTrue(range.isFinite(), "infinite range can not be split by %s", unit);
+
+        final long startEpochDay = range.startEpochDay();
+        final long endEpochDay = range.endEpochDay();
+        final long startOrdinal = ordinal(startEpochDay, unit);
+        final long endOrdinal = ordinal(endEpochDay, unit);
+
+        if (startOrdinal == endOrdinal) {
+            return List.of(range);
+        }
+
+        final List<DateRange> result = new ArrayList<>(Math.toIntExact(endOrdinal - startOrdinal + 1));
+        long partStart = startEpochDay;
+
+        for (long ordinal = startOrdinal; ordinal < endOrdinal; ordinal++) {
+            final long nextStart = startEpochDay(ordinal + 1, unit);
+            result.add(DateRange.ofEpochDays(partStart, nextStart - 1L));
+            partStart = nextStart;
+        }
+
+        result.add(DateRange.ofEpochDays(partStart, endEpochDay));
+
+        return unmodifiableList(result);
+    }
+
+    /**
+     * Count the days per unit in a single pass.
+     * <p>
+     * Given: ["2000-01-30", "2000-01-31", "2000-02-01"], MONTHS
+     * Result: {2000-01-01=2, 2000-02-01=1}
+     *
+     * @param days A Collection of LocalDates.
+     * @param unit A supported ChronoUnit.
+     * @return The number of days per unit, keyed by the first day of the unit, without empty units.
+     */
+    public static SortedMap<LocalDate, Long> countDays(
+            final Collection<LocalDate> days,
+            final ChronoUnit unit
+    ) {
+        requireNonNull(days);
+
+        final long[] epochDays = days.stream()
+                .mapToLong(LocalDate::toEpochDay)
+                .toArray();
+
+        return bucket(epochDays, epochDays, unit, true);
+    }
+
+    /**
+     * Count the ranges intersecting every unit in a single pass.
+     * <p>
+     * Given: ["2000-01-15..2000-03-15", "2000-02-01"], MONTHS
+     * Result: {2000-01-01=1, 2000-02-01=2, 2000-03-01=1}
+     *
+     * @param ranges A Collection of finite DateRanges.
+     * @param unit   A supported ChronoUnit.
+     * @return The number of ranges per unit, keyed by the first day of the unit, without empty units.
+     * @throws IllegalArgumentException if a range is infinite or the unit is not supported.
+     */
+    public static SortedMap<LocalDate, Long> countRanges(
+            final Collection<DateRange> ranges,
+            final ChronoUnit unit
+    ) {
+        return bucket(ranges, unit, false);
+    }
+
+    /**
+     * Sum the days covered by the ranges per unit in a single pass.
+     * Days covered by multiple ranges are counted once per range, merge the ranges first to count them only once.
+     * <p>
+     * Given: ["2000-01-15..2000-03-15", "2000-02-01"], MONTHS
+     * Result: {2000-01-01=17, 2000-02-01=30, 2000-03-01=15}
+     *
+     * @param ranges A Collection of finite DateRanges.
+     * @param unit   A supported ChronoUnit.
+     * @return The number of covered days per unit, keyed by the first day of the unit, without empty units.
+     * @throws IllegalArgumentException if a range is infinite or the unit is not supported.
+     */
+    public static SortedMap<LocalDate, Long> countCoveredDays(
+            final Collection<DateRange> ranges,
+            final ChronoUnit unit
+    ) {
+        return bucket(ranges, unit, true);
+    }
+
+    /**
+     * Sum the values per unit in a single pass, the value at index i belongs to the day at index i.
+     * <p>
+     * Given: [2000-01-30, 2000-01-31, 2000-02-01], [1, 2, 4], MONTHS
+     * Result: {2000-01-01=3, 2000-02-01=4}
+     *
+     * @param epochDays The epoch days.
+     * @param values    The values, as many as there are epoch days.
+     * @param unit      A supported ChronoUnit.
+     * @return The sum of the values per unit, keyed by the first day of the unit, units without days are left out.
+     * @throws IllegalArgumentException if the arrays differ in length or the unit is not supported.
+     * @throws ArithmeticException      if a sum overflows a long.
+     */
+    static SortedMap<LocalDate, Long> sum(
+            final long[] epochDays,
+            final long[] values,
+            final ChronoUnit unit
+    ) {
+        requireNonNull(epochDays);
+        requireNonNull(values);
+        requireNonNull(unit);
+        isTrue(epochDays.length == values.length, "every epoch day needs a value [days=%d, values=%d]", epochDays.length, values.length);
+        isTrue(isSupported(unit), "%s is not a supported calendar unit", unit);
+
+        final int size = epochDays.length;
+        final long[] ordinals = new long[size];
+        long minOrdinal = Long.MAX_VALUE;
+        long maxOrdinal = Long.MIN_VALUE;
+
+        for (int i = 0; i < size; i++) {
+            ordinals[i] = ordinal(epochDays[i], unit);
+            minOrdinal = Math.min(minOrdinal, ordinals[i]);
+            maxOrdinal = Math.max(maxOrdinal, ordinals[i]);
+        }
+
+        final SortedMap<LocalDate, Long> result = new TreeMap<>();
+
+        if (size == 0) {
+            return unmodifiableSortedMap(result);
+        } else if (maxOrdinal - minOrdinal >= MAX_DENSE_UNITS) {
+            final long[] distinctOrdinals = distinctSorted(ordinals.clone());
+            final long[] totals = new long[distinctOrdinals.length];
+
+            for (int i = 0; i < size; i++) {
+                final int index = Arrays.binarySearch(distinctOrdinals, ordinals[i]);
+                totals[index] = Math.addExact(totals[index], values[i]);
+            }
+
+            for (int i = 0; i < distinctOrdinals.length; i++) {
+                result.put(LocalDate.ofEpochDay(startEpochDay(distinctOrdinals[i], unit)), totals[i]);
+            }
+
+            return unmodifiableSortedMap(result);
+        }
+
+        final int span = (int) (maxOrdinal - minOrdinal + 1);
+        final long[] totals = new long[span];
+        final boolean[] present = new boolean[span];
+
+        for (int i = 0; i < size; i++) {
+            final int index = (int) (ordinals[i] - minOrdinal);
+            totals[index] = Math.addExact(totals[index], values[i]);
+            present[index] = true;
+        }
+
+        for (int i = 0; i < span; i++) {
+            if (present[i]) {
+                result.put(LocalDate.ofEpochDay(startEpochDay(minOrdinal + i, unit)), totals[i]);
+            }
+        }
+
+        return unmodifiableSortedMap(result);
+    }
+
+    private static SortedMap<LocalDate, Long> bucket(
+            final Collection<DateRange> ranges,
+            final ChronoUnit unit,
+            final boolean coveredDays
+    ) {
+        requireNonNull(ranges);
+        isTrue(ranges.stream().allMatch(DateRange::isFinite), "infinite range can not be bucketed by %s", unit);
+
+        return bucket(
+                ranges.stream().mapToLong(DateRange::startEpochDay).toArray(),
+                ranges.stream().mapToLong(DateRange::endEpochDay).toArray(),
+                unit,
+                coveredDays
+        );
+    }
+
+    /**
+     * Dense buckets use difference arrays: a range adds its partial days to its first and last unit and marks the units in between as fully covered.
+     * A single sweep turns the marks into totals, so every range costs O(1) regardless of its length.
+     * Sparse buckets (a span of more than 2^20 units) apply the same differences to the sorted, distinct borders of the ranges instead of to every unit.
+     */
+    private static SortedMap<LocalDate, Long> bucket(
+            final long[] startEpochDays,
+            final long[] endEpochDays,
+            final ChronoUnit unit,
+            final boolean coveredDays
+    ) {
+        requireNonNull(unit);
+        isTrue(isSupported(unit), "%s is not a supported calendar unit", unit);
+
+        final int size = startEpochDays.length;
+        final long[] startOrdinals = new long[size];
+        final long[] endOrdinals = new long[size];
+        long minOrdinal = Long.MAX_VALUE;
+        long maxOrdinal = Long.MIN_VALUE;
+
+        for (int i = 0; i < size; i++) {
+            startOrdinals[i] = ordinal(startEpochDays[i], unit);
+            endOrdinals[i] = startEpochDays[i] == endEpochDays[i] ? startOrdinals[i] : ordinal(endEpochDays[i], unit);
+            minOrdinal = Math.min(minOrdinal, startOrdinals[i]);
+            maxOrdinal = Math.max(maxOrdinal, endOrdinals[i]);
+        }
+
+        if (size == 0) {
+            return unmodifiableSortedMap(new TreeMap<>());
+        } else if (maxOrdinal - minOrdinal >= MAX_DENSE_UNITS) {
+            return bucketSparse(startEpochDays, endEpochDays, startOrdinals, endOrdinals, unit, coveredDays);
+        }
+
+        final int span = (int) (maxOrdinal - minOrdinal + 1);
+        final long[] partial = new long[span];
+        final long[] fullDifference = new long[span + 1];
+
+        for (int i = 0; i < size; i++) {
+            final int first = (int) (startOrdinals[i] - minOrdinal);
+            final int last = (int) (endOrdinals[i] - minOrdinal);
+
+            if (!coveredDays) {
+                fullDifference[first]++;
+                fullDifference[last + 1]--;
+            } else if (first == last) {
+                partial[first] += endEpochDays[i] - startEpochDays[i] + 1L;
+            } else {
+                partial[first] += startEpochDay(startOrdinals[i] + 1, unit) - startEpochDays[i];
+                partial[last] += endEpochDays[i] - startEpochDay(endOrdinals[i], unit) + 1L;
+                fullDifference[first + 1]++;
+                fullDifference[last]--;
+            }
+        }
+
+        final SortedMap<LocalDate, Long> result = new TreeMap<>();
+        long full = 0L;
+
+        for (int i = 0; i < span; i++) {
+            full += fullDifference[i];
+
+            putTotal(result, minOrdinal + i, partial[i], full, unit, coveredDays);
+        }
+
+        return unmodifiableSortedMap(result);
+    }
+
+    /**
+     * The differences of the dense buckets only change at the first, second, last and past-the-last unit of a range.
+     * Those borders are sorted once, a sweep over them carries the number of fully covered ranges from one border to the next.
+     * Only the units between two borders that are covered at all are visited, to put them in the result.
+     */
+    private static SortedMap<LocalDate, Long> bucketSparse(
+            final long[] startEpochDays,
+            final long[] endEpochDays,
+            final long[] startOrdinals,
+            final long[] endOrdinals,
+            final ChronoUnit unit,
+            final boolean coveredDays
+    ) {
+        final int size = startEpochDays.length;
+        final long[] borders = new long[4 * size];
+
+        for (int i = 0; i < size; i++) {
+            borders[4 * i] = startOrdinals[i];
+            borders[4 * i + 1] = startOrdinals[i] + 1L;
+            borders[4 * i + 2] = endOrdinals[i];
+            borders[4 * i + 3] = endOrdinals[i] + 1L;
+        }
+
+        final long[] ordinals = distinctSorted(borders);
+        final long[] partial = new long[ordinals.length];
+        final long[] fullDifference = new long[ordinals.length];
+
+        for (int i = 0; i < size; i++) {
+            final int first = Arrays.binarySearch(ordinals, startOrdinals[i]);
+            final int last = Arrays.binarySearch(ordinals, endOrdinals[i]);
+
+            if (!coveredDays) {
+                fullDifference[first]++;
+                fullDifference[last + 1]--;
+            } else if (first == last) {
+                partial[first] += endEpochDays[i] - startEpochDays[i] + 1L;
+            } else {
+                partial[first] += startEpochDay(startOrdinals[i] + 1, unit) - startEpochDays[i];
+                partial[last] += endEpochDays[i] - startEpochDay(endOrdinals[i], unit) + 1L;
+                fullDifference[first + 1]++;
+                fullDifference[last]--;
+            }
+        }
+
+        final SortedMap<LocalDate, Long> result = new TreeMap<>();
+        long full = 0L;
+
+        for (int k = 0; k < ordinals.length; k++) {
+            full += fullDifference[k];
+
+            final long nextOrdinal = k + 1 < ordinals.length ? ordinals[k + 1] : ordinals[k] + 1L;
+
+            putTotal(result, ordinals[k], partial[k], full, unit, coveredDays);
+
+            for (long ordinal = ordinals[k] + 1L; full != 0L && ordinal < nextOrdinal; ordinal++) {
+                putTotal(result, ordinal, 0L, full, unit, coveredDays);
+            }
+        }
+
+        return unmodifiableSortedMap(result);
+    }
+
+    private static void putTotal(
+            final SortedMap<LocalDate, Long> result,
+            final long ordinal,
+            final long partial,
+            final long full,
+            final ChronoUnit unit,
+            final boolean coveredDays
+    ) {
+        final long total = coveredDays && full != 0L
+                ? partial + full * (startEpochDay(ordinal + 1, unit) - startEpochDay(ordinal, unit))
+                : partial + full;
+
+        if (total != 0L) {
+            result.put(LocalDate.ofEpochDay(startEpochDay(ordinal, unit)), total);
+        }
+    }
+
+    /**
+     * Sort the values in place and return the distinct ones.
+     */
+    private static long[] distinctSorted(
+            final long[] values
+    ) {
+        Arrays.sort(values);
+
+        int count = 0;
+
+        for (int i = 0; i < values.length; i++) {
+            if (count == 0 || values[i] != values[count - 1]) {
+                values[count++] = values[i];
+            }
+        }
+
+        return Arrays.copyOf(values, count);
+    }
+
+    private static long years(
+            final ChronoUnit unit
+    ) {
+        return switch (unit) {
+            case DECADES -> 10L;
+            case CENTURIES -> 100L;
+            case MILLENNIA -> 1000L;
+            default -> 1L;
+        };
+    }
+
+    private static long startEpochDayOfYear(
+            final long year,
+            final int month
+    ) {
+        if (year < Year.MIN_VALUE) {
+            return LocalDates.MIN_EPOCH_DAY;
+        } else if (year > Year.MAX_VALUE) {
+            return LocalDates.MAX_EPOCH_DAY + 1L;
+        }
+
+        return LocalDate.of((int) year, month, 1).toEpochDay();
+    }
+
+    private static IllegalArgumentException unsupported(
+            final ChronoUnit unit
+    ) {
+        return new IllegalArgumentException("%s is not a supported calendar unit".formatted(unit));
+    }
+
+}
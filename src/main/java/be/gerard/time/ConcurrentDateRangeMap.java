@@ -0,0 +1,121 @@
+package be.gerard.time;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.UnaryOperator;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A mutable, thread-safe timeline of values.
+ * <p>
+ * The current state is an immutable DateRangeMap held in a volatile field (copy-on-write):
+ * <p>
+ * readers -> a single volatile read, wait-free, every read sees a consistent snapshot
+ * writers -> serialized, each write builds a new DateRangeMap in O(n) and publishes it
+ * <p>
+ * This favours many readers and relatively few writes, a write never blocks a reader.
+ *
+ * @param <V> The type of the values.
+ * @see DateRangeMap#with(DateRange, Object)
+ */
+public final class ConcurrentDateRangeMap<V> {
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile DateRangeMap<V> snapshot;
+
+    public ConcurrentDateRangeMap() {
+        this(DateRangeMap.empty());
+    }
+
+    public ConcurrentDateRangeMap(
+            final DateRangeMap<V> initial
+    ) {
+        this.snapshot = requireNonNull(initial);
+    }
+
+    /**
+     * @return The current state, it does not change when this map is updated afterwards.
+     */
+    public DateRangeMap<V> snapshot() {
+        return this.snapshot;
+    }
+
+    /**
+     * @see DateRangeMap#valueAt(LocalDate)
+     */
+    public Optional<V> valueAt(
+            final LocalDate day
+    ) {
+        return this.snapshot.valueAt(day);
+    }
+
+    /**
+     * @see DateRangeMap#valueAt(LocalDate, Object)
+     */
+    public V valueAt(
+            final LocalDate day,
+            final V defaultValue
+    ) {
+        return this.snapshot.valueAt(day, defaultValue);
+    }
+
+    /**
+     * Put the value on every day of the given range, overwriting and cutting the ranges in effect on those days.
+     *
+     * @return The snapshot after the update.
+     * @see DateRangeMap#with(DateRange, Object)
+     */
+    public DateRangeMap<V> put(
+            final DateRange range,
+            final V value
+    ) {
+        requireNonNull(range);
+        requireNonNull(value);
+
+        return update(current -> current.with(range, value));
+    }
+
+    /**
+     * Remove the values on every day of the given range.
+     *
+     * @return The snapshot after the update.
+     * @see DateRangeMap#without(DateRange)
+     */
+    public DateRangeMap<V> remove(
+            final DateRange range
+    ) {
+        requireNonNull(range);
+
+        return update(current -> current.without(range));
+    }
+
+    /**
+     * Apply multiple changes as a single atomic update, readers either see none or all of them.
+     *
+     * @param update A function from the current snapshot to the next one.
+     * @return The snapshot after the update.
+     * @throws NullPointerException if update is null or returns null.
+     */
+    public DateRangeMap<V> update(
+            final UnaryOperator<DateRangeMap<V>> update
+    ) {
+        requireNonNull(update);
+
+        this.writeLock.lock();
+        try {
+            final DateRangeMap<V> next = requireNonNull(update.apply(this.snapshot));
+            this.snapshot = next;
+            return next;
+        } finally {
+            this.writeLock.unlock();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return this.snapshot.toString();
+    }
+
+}
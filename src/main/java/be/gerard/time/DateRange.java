@@ -10,17 +10,20 @@ import java.time.temporal.TemporalUnit;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static java.util.Comparator.comparing;
+import static java.util.Comparator.comparingLong;
+import static java.util.Objects.nonNull;
 import static java.util.Objects.requireNonNull;
-import static java.util.function.Function.identity;
 import static java.util.stream.Collectors.toUnmodifiableSet;
 import static org.apache.commons.lang3.Validate.notEmpty;
 
@@ -30,12 +33,41 @@ public sealed interface DateRange extends DateRangeBased permits DateRangeOneDay
             final LocalDate startDate,
             final LocalDate endDate
     ) {
-        if (startDate.isEqual(endDate)) {
-            return ofOneDay(startDate);
-        } else if (LocalDate.MAX.isEqual(endDate)) {
-            return startingOn(startDate);
+        return ofEpochDays(
+                startDate.toEpochDay(),
+                endDate.toEpochDay()
+        );
+    }
+
+    /**
+     * Create the DateRange between two epoch days (both included).
+     * <p>
+     * startEpochDay == endEpochDay          -> ONE DAY
+     * endEpochDay == LocalDate.MAX epochDay -> INFINITE
+     * otherwise                             -> END INCLUSIVE
+     * <p>
+     * Single days, months and years near today are shared instances, see DateRangeCache.
+     *
+     * @param startEpochDay A long representing the first day of the range.
+     * @param endEpochDay   A long representing the last day of the range (included).
+     * @return DateRange
+     * @throws IllegalArgumentException if an epoch day is out of range or endEpochDay is before startEpochDay.
+     * @see LocalDate#toEpochDay()
+     */
+    static DateRange ofEpochDays(
+            final long startEpochDay,
+            final long endEpochDay
+    ) {
+        final DateRange cached = DateRangeCache.lookup(startEpochDay, endEpochDay);
+
+        if (nonNull(cached)) {
+            return cached;
+        } else if (startEpochDay == endEpochDay) {
+            return new DateRangeOneDay(startEpochDay);
+        } else if (endEpochDay == LocalDates.MAX_EPOCH_DAY) {
+            return new DateRangeInfinite(startEpochDay);
         } else {
-            return withEndInclusive(startDate, endDate);
+            return new DateRangeEndInclusive(startEpochDay, endEpochDay);
         }
     }
 
@@ -58,35 +90,25 @@ public sealed interface DateRange extends DateRangeBased permits DateRangeOneDay
      *
      * @param value String representing a DateRange
      * @return DateRange
+     * @throws java.time.format.DateTimeParseException if value does not represent a DateRange.
+     * @see DateRangeParser
      */
     static DateRange parse(
             final String value
     ) {
         notEmpty(value);
 
-        final String[] dates = value.split("\\.\\.");
-
-        if (dates.length == 1) {
-            final LocalDate startDate = LocalDate.parse(dates[0]);
-            return value.contains("..")
-                    ? startingOn(startDate)
-                    : ofOneDay(startDate);
-        } else if (dates.length == 2) {
-            return withEndInclusive(
-                    LocalDate.parse(dates[0]),
-                    LocalDate.parse(dates[1])
-            );
-        } else {
-            throw new IllegalArgumentException(
-                    "The value is not a valid range [value=%s]".formatted(value)
-            );
-        }
+        return DateRangeParser.parse(value);
     }
 
     static DateRange ofOneDay(
             final LocalDate day
     ) {
-        return new DateRangeOneDay(day);
+        requireNonNull(day, "dateRange.startDate is invalid [null]");
+
+        final long epochDay = day.toEpochDay();
+
+        return ofEpochDays(epochDay, epochDay);
     }
 
     static DateRange startingOn(
@@ -95,20 +117,12 @@ public sealed interface DateRange extends DateRangeBased permits DateRangeOneDay
         return new DateRangeInfinite(startDate);
     }
 
-    private static DateRange withEndInclusive(
-            final LocalDate startDate,
-            final LocalDate endDateInclusive
-    ) {
-        return new DateRangeEndInclusive(
-                startDate,
-                endDateInclusive
-        );
-    }
-
     static List<DateRange> groupSubsequentDays(
             final Collection<LocalDate> days
     ) {
-        final List<LocalDate> sortedDays = days.stream()
+        final List<LocalDate> sortedDays = isStrictlyAscending(days)
+                ? days.stream().toList()
+                : days.stream()
                 .distinct()
                 .sorted()
                 .toList();
@@ -138,6 +152,25 @@ public sealed interface DateRange extends DateRangeBased permits DateRangeOneDay
                 .toList();
     }
 
+    /**
+     * A single pass to tell whether the days are already sorted and distinct, e.g. the days of a TreeSet or of DateRange.asDays.
+     */
+    private static boolean isStrictlyAscending(
+            final Collection<LocalDate> days
+    ) {
+        LocalDate previous = null;
+
+        for (final LocalDate day : days) {
+            if (nonNull(previous) && !previous.isBefore(day)) {
+                return false;
+            }
+
+            previous = day;
+        }
+
+        return true;
+    }
+
     static LocalDate toExclusiveEndDate(
             final LocalDate date
     ) {
@@ -157,118 +190,88 @@ public sealed interface DateRange extends DateRangeBased permits DateRangeOneDay
     static List<DateRange> findAllIntersections(
             final Collection<DateRange> ranges
     ) {
-        if (ranges.isEmpty()) {
-            return Collections.emptyList();
-        }
-
-        final List<LocalDate> borderDays = Stream.concat(
-                        ranges.stream()
-                                .map(DateRange::startDate),
-                        ranges.stream()
-                                .map(DateRange::endDate)
-                                .map(DateRange::toExclusiveEndDate)
-                )
-                .distinct()
-                .sorted()
-                .toList();
-
-        if (borderDays.size() == 1) {
-            return List.of(DateRange.ofOneDay(borderDays.getFirst()));
-        }
-
-        return IntStream.range(1, borderDays.size())
-                .mapToObj(i -> DateRange.of(
-                        borderDays.get(i - 1),
-                        toInclusiveEndDate(borderDays.get(i))
-                ))
-                .toList();
+        final DateRangeMetrics.Measurement measurement = DateRangeMetrics.start();
+        final List<DateRange> result = DateRangeSweep.of(ranges).allIntersections();
+        DateRangeMetrics.record(DateRangeMetrics.Operation.FIND_ALL_INTERSECTIONS, measurement, ranges, result.size());
+        return result;
     }
 
     static List<DateRange> findUsedIntersections(
             final Collection<DateRange> ranges
     ) {
-        final List<DateRange> allIntersections = findAllIntersections(ranges);
-
-        return allIntersections.stream()
-                .filter(intersection -> ranges.stream()
-                        .anyMatch(dateRange -> dateRange.containsDay(intersection.startDate()))
-                )
-                .toList();
+        return DateRangeSweep.of(ranges).usedIntersections();
     }
 
     static List<DateRange> findAllGaps(
             final Collection<DateRange> ranges
     ) {
-        final List<DateRange> sortedIntersections = findUsedIntersections(ranges);
-
-        if (sortedIntersections.isEmpty() || sortedIntersections.size() == 1) {
-            return Collections.emptyList();
-        }
-
-        return IntStream.range(1, sortedIntersections.size())
-                .filter(i -> !sortedIntersections.get(i - 1).endDate().plusDays(1L).isEqual(sortedIntersections.get(i).startDate()))
-                .mapToObj(i -> DateRange.of(
-                        sortedIntersections.get(i - 1).endDate().plusDays(1L),
-                        sortedIntersections.get(i).startDate().minusDays(1L)
-                ))
-                .toList();
+        return DateRangeSweep.of(ranges).gaps();
     }
 
     static List<DateRange> merge(
             final Collection<DateRange> dateRanges
     ) {
-        final List<DateRange> sortedIntersections = findUsedIntersections(dateRanges);
-
-        if (sortedIntersections.isEmpty()) {
-            return Collections.emptyList();
-        } else if (sortedIntersections.size() == 1) {
-            return List.of(sortedIntersections.getFirst());
-        }
-
-        final int[] nonConsecutiveIndices = IntStream.range(1, sortedIntersections.size())
-                .filter(i -> !sortedIntersections.get(i - 1).endDate().plusDays(1L).isEqual(sortedIntersections.get(i).startDate()))
-                .toArray();
-
-        final int[] dateRangeBorders = IntStream.concat(
-                        IntStream.of(0, sortedIntersections.size()),
-                        Arrays.stream(nonConsecutiveIndices)
-                )
-                .sorted()
-                .toArray();
-
-        return IntStream.range(1, dateRangeBorders.length)
-                .mapToObj(i -> DateRange.of(
-                        sortedIntersections.get(dateRangeBorders[i - 1]).startDate(),
-                        sortedIntersections.get(dateRangeBorders[i] - 1).endDate()
-                ))
-                .toList();
+        final DateRangeMetrics.Measurement measurement = DateRangeMetrics.start();
+        final List<DateRange> result = DateRangeSweep.of(dateRanges).merged();
+        DateRangeMetrics.record(DateRangeMetrics.Operation.MERGE, measurement, dateRanges, result.size());
+        return result;
     }
 
     static List<LocalDate> asDays(
             final Collection<DateRange> ranges
     ) {
-        return Days.within(ranges);
+        final DateRangeMetrics.Measurement measurement = DateRangeMetrics.start();
+        final List<LocalDate> result = Days.within(ranges);
+        DateRangeMetrics.record(DateRangeMetrics.Operation.AS_DAYS, measurement, ranges, result.size());
+        return result;
     }
 
+    /**
+     * A SortedDateRanges is returned as is, other input that is already sorted is only copied.
+     */
+    @SuppressWarnings("unchecked")
     static <T extends DateRangeBased> List<T> sort(
             final Collection<T> ranges
     ) {
+        if (ranges instanceof SortedDateRanges) {
+            return (List<T>) ranges;
+        } else if (SortedDateRanges.isSorted(ranges)) {
+            return ranges.stream().toList();
+        }
+
         return ranges.stream()
                 .sorted(comparing(
                         DateRangeBased::range,
-                        comparing(DateRange::startDate).thenComparing(DateRange::endDate)
+                        DateRange.startThenEnd()
                 ))
                 .toList();
     }
 
+    /**
+     * Order ranges by their first day and then by their last day, without converting either to a LocalDate.
+     *
+     * @return A Comparator for DateRanges.
+     */
+    static Comparator<DateRange> startThenEnd() {
+        return comparingLong(DateRange::startEpochDay).thenComparingLong(DateRange::endEpochDay);
+    }
+
     @Override
     default DateRange range() {
         return this;
     }
 
-    LocalDate startDate();
+    long startEpochDay();
+
+    long endEpochDay();
 
-    LocalDate endDate();
+    default LocalDate startDate() {
+        return LocalDate.ofEpochDay(startEpochDay());
+    }
+
+    default LocalDate endDate() {
+        return LocalDate.ofEpochDay(endEpochDay());
+    }
 
     default boolean isOneDay() {
         return false;
@@ -280,8 +283,14 @@ public sealed interface DateRange extends DateRangeBased permits DateRangeOneDay
 
     long length();
 
+    default boolean containsDay(
+            final LocalDate day
+    ) {
+        return containsDay(day.toEpochDay());
+    }
+
     boolean containsDay(
-            LocalDate day
+            long epochDay
     );
 
     boolean containsRange(
@@ -299,9 +308,9 @@ public sealed interface DateRange extends DateRangeBased permits DateRangeOneDay
             return Optional.empty();
         }
 
-        return Optional.of(DateRange.of(
-                LocalDates.max(startDate(), otherRange.startDate()),
-                LocalDates.min(endDate(), otherRange.endDate())
+        return Optional.of(DateRange.ofEpochDays(
+                Math.max(startEpochDay(), otherRange.startEpochDay()),
+                Math.min(endEpochDay(), otherRange.endEpochDay())
         ));
     }
 
@@ -309,6 +318,39 @@ public sealed interface DateRange extends DateRangeBased permits DateRangeOneDay
 
     List<YearMonth> asMonths();
 
+    /**
+     * A lazy view on the epoch days within this range, nothing is materialized upfront.
+     * Infinite ranges are supported, it is up to the caller to short-circuit (limit, takeWhile, findFirst, ...).
+     *
+     * @return An ordered LongStream of epoch days.
+     */
+    default LongStream epochDays() {
+        return LongStream.rangeClosed(startEpochDay(), endEpochDay());
+    }
+
+    /**
+     * A lazy view on the days within this range.
+     *
+     * @return An ordered Stream of LocalDates.
+     * @see #epochDays()
+     */
+    default Stream<LocalDate> days() {
+        return epochDays().mapToObj(LocalDate::ofEpochDay);
+    }
+
+    /**
+     * A lazy view on the months touched by this range.
+     *
+     * @return An ordered Stream of YearMonths.
+     * @see #epochDays()
+     */
+    default Stream<YearMonth> months() {
+        return Months.between(
+                Months.prolepticMonth(startDate()),
+                Months.prolepticMonth(endDate())
+        );
+    }
+
     String asText();
 
     List<DateRange> splitByTemporalUnit(TemporalUnit temporalUnit);
@@ -318,10 +360,12 @@ public sealed interface DateRange extends DateRangeBased permits DateRangeOneDay
     ) {
         requireNonNull(day);
 
-        if (containsDay(day) && !startDate().isEqual(day)) {
+        final long epochDay = day.toEpochDay();
+
+        if (containsDay(epochDay) && startEpochDay() != epochDay) {
             return Set.of(
-                    DateRange.of(startDate(), day.minusDays(1L)),
-                    DateRange.of(day, endDate())
+                    DateRange.ofEpochDays(startEpochDay(), epochDay - 1L),
+                    DateRange.ofEpochDays(epochDay, endEpochDay())
             );
         }
 
@@ -345,7 +389,16 @@ public sealed interface DateRange extends DateRangeBased permits DateRangeOneDay
     }
 
     default List<DateRange> subtract(final Collection<DateRange> subtrahends) {
-        final List<DateRange> applicableSubtrahends = subtrahends.stream()
+        final DateRangeMetrics.Measurement measurement = DateRangeMetrics.start();
+        final List<DateRange> result = subtractAll(subtrahends);
+        DateRangeMetrics.record(DateRangeMetrics.Operation.SUBTRACT, measurement, subtrahends, result.size());
+        return result;
+    }
+
+    private List<DateRange> subtractAll(final Collection<DateRange> subtrahends) {
+        final List<DateRange> applicableSubtrahends = subtrahends instanceof SortedDateRanges sortedSubtrahends
+                ? sortedSubtrahends.filter(this::isIntersectingWith)
+                : subtrahends.stream()
                 .filter(this::isIntersectingWith)
                 .toList();
 
@@ -360,24 +413,25 @@ public sealed interface DateRange extends DateRangeBased permits DateRangeOneDay
                 .filter(this::isIntersectingWith)
                 .toList();
 
-        final List<DateRange> outerGaps = subtract(DateRange.of(
+        final DateRange covering = DateRange.ofEpochDays(
                 applicableSubtrahends.stream()
-                        .map(DateRange::startDate)
-                        .min(comparing(identity()))
-                        .orElse(LocalDate.MIN),
+                        .mapToLong(DateRange::startEpochDay)
+                        .min()
+                        .orElse(LocalDates.MIN_EPOCH_DAY),
                 applicableSubtrahends.stream()
-                        .map(DateRange::endDate)
-                        .max(comparing(identity()))
-                        .orElse(LocalDate.MAX)
-        ));
+                        .mapToLong(DateRange::endEpochDay)
+                        .max()
+                        .orElse(LocalDates.MAX_EPOCH_DAY)
+        );
+        final List<DateRange> outerGaps = subtract(covering);
 
-        return Stream.concat(
+        // the inner gaps come out of the sweep in order and lie within the covering range, the outer gaps lie before or after it
+        return Stream.of(
+                        outerGaps.stream().filter(gap -> gap.endEpochDay() < covering.startEpochDay()),
                         innerGaps.stream(),
-                        outerGaps.stream()
-                )
-                .sorted(comparing(DateRange::startDate)
-                        .thenComparing(DateRange::endDate)
+                        outerGaps.stream().filter(gap -> gap.startEpochDay() > covering.endEpochDay())
                 )
+                .flatMap(gaps -> gaps)
                 .toList();
     }
 
@@ -391,11 +445,11 @@ public sealed interface DateRange extends DateRangeBased permits DateRangeOneDay
         }
 
         return Stream.concat(
-                        startDate().isBefore(subtrahend.startDate())
-                                ? Stream.of(DateRange.of(startDate(), subtrahend.startDate().minusDays(1L)))
+                        startEpochDay() < subtrahend.startEpochDay()
+                                ? Stream.of(DateRange.ofEpochDays(startEpochDay(), subtrahend.startEpochDay() - 1L))
                                 : Stream.empty(),
-                        subtrahend.isFinite() && subtrahend.endDate().isBefore(endDate())
-                                ? Stream.of(DateRange.of(subtrahend.endDate().plusDays(1L), endDate()))
+                        subtrahend.endEpochDay() < endEpochDay()
+                                ? Stream.of(DateRange.ofEpochDays(subtrahend.endEpochDay() + 1L, endEpochDay()))
                                 : Stream.empty()
                 )
                 .toList();
@@ -1,32 +1,42 @@
 package be.gerard.time;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+import static java.util.Collections.emptyList;
 import static java.util.Collections.unmodifiableList;
 import static java.util.Comparator.comparing;
 import static java.util.Objects.isNull;
+import static java.util.Objects.requireNonNull;
 
 public interface DateRangeBased {
 
     static <T extends DateRangeBased> List<List<T>> groupOverlappingRanges(
             final List<T> rangeBasedItems
     ) {
-        final List<T> rangeBasedItemsSorted = rangeBasedItems.stream()
-                .sorted(comparing(DateRangeBased::range, comparing(DateRange::startDate).thenComparing(DateRange::endDate)))
+        final List<T> rangeBasedItemsSorted = SortedDateRanges.isSorted(rangeBasedItems)
+                ? rangeBasedItems
+                : rangeBasedItems.stream()
+                .sorted(comparing(DateRangeBased::range, DateRange.startThenEnd()))
                 .toList();
 
         final List<List<T>> result = new ArrayList<>();
         List<T> current = null;
-        DateRange currentRange = null;
+        long currentEndEpochDay = Long.MIN_VALUE;
 
         for (final T item : rangeBasedItemsSorted) {
-            if (isNull(currentRange) || currentRange.endDate().isBefore(item.range().startDate())) {
+            final DateRange range = item.range();
+
+            if (isNull(current) || currentEndEpochDay < range.startEpochDay()) {
                 current = new ArrayList<>();
                 result.add(unmodifiableList(current));
-                currentRange = item.range();
+                currentEndEpochDay = range.endEpochDay();
             } else {
-                currentRange = DateRange.of(currentRange.startDate(), LocalDates.max(currentRange.endDate(), item.range().endDate()));
+                currentEndEpochDay = Math.max(currentEndEpochDay, range.endEpochDay());
             }
 
             current.add(item);
@@ -35,6 +45,71 @@ public interface DateRangeBased {
         return unmodifiableList(result);
     }
 
+    /**
+     * Group overlapping ranges lazily, one cluster at a time.
+     * The items should already be sorted by range start (then end, to get the same clusters as groupOverlappingRanges).
+     * Only the cluster under construction is kept in memory, so the input can be far larger than the heap.
+     *
+     * @param sortedItems A Stream of DateRangeBased items, sorted by range start.
+     * @param <T>         The type of the items.
+     * @return A lazy Stream of clusters, each cluster holding the items in input order.
+     * @throws NullPointerException     if sortedItems is null.
+     * @throws IllegalArgumentException while consuming, as soon as an item starts before its predecessor.
+     */
+    static <T extends DateRangeBased> Stream<List<T>> streamOverlappingRanges(
+            final Stream<T> sortedItems
+    ) {
+        requireNonNull(sortedItems);
+
+        return StreamSupport.stream(new OverlappingRangesSpliterator<>(sortedItems.iterator()), false)
+                .onClose(sortedItems::close);
+    }
+
+    /**
+     * Group overlapping ranges using all cores of the common fork-join pool.
+     * <p>
+     * The items are sorted in parallel, after which a parallel prefix scan computes the furthest end seen so far.
+     * A new cluster starts wherever an item starts after that furthest end, so clusters spanning the borders of the parallel chunks are stitched by the scan itself.
+     * The clusters are views on one sorted array, the items are not copied per cluster.
+     *
+     * @param rangeBasedItems A List of DateRangeBased items.
+     * @param <T>             The type of the items.
+     * @return The same clusters as groupOverlappingRanges.
+     * @throws NullPointerException if rangeBasedItems is null.
+     */
+    static <T extends DateRangeBased> List<List<T>> groupOverlappingRangesInParallel(
+            final List<T> rangeBasedItems
+    ) {
+        requireNonNull(rangeBasedItems);
+
+        if (rangeBasedItems.isEmpty()) {
+            return emptyList();
+        }
+
+        @SuppressWarnings("unchecked") final T[] items = (T[]) rangeBasedItems.toArray(DateRangeBased[]::new);
+        Arrays.parallelSort(items, comparing(DateRangeBased::range, DateRange.startThenEnd()));
+
+        final List<T> sortedItems = Arrays.asList(items);
+        final long[] furthestEndEpochDays = new long[items.length];
+        Arrays.parallelSetAll(furthestEndEpochDays, i -> items[i].range().endEpochDay());
+        Arrays.parallelPrefix(furthestEndEpochDays, Math::max);
+
+        final int[] clusterStarts = IntStream.concat(
+                        IntStream.of(0),
+                        IntStream.range(1, items.length)
+                                .parallel()
+                                .filter(i -> items[i].range().startEpochDay() > furthestEndEpochDays[i - 1])
+                )
+                .toArray();
+
+        return IntStream.range(0, clusterStarts.length)
+                .mapToObj(i -> unmodifiableList(sortedItems.subList(
+                        clusterStarts[i],
+                        i + 1 < clusterStarts.length ? clusterStarts[i + 1] : items.length
+                )))
+                .toList();
+    }
+
     DateRange range();
 
 }
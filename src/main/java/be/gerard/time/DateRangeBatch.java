@@ -0,0 +1,329 @@
+package be.gerard.time;
+
+import java.time.LocalDate;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+import static org.apache.commons.lang3.Validate.isTrue;
+
+/**
+ * An immutable, columnar batch of ranges: parallel int[] arrays of start and end epoch days.
+ * <p>
+ * Row i is the range startEpochDays[i]..endEpochDays[i], an infinite range ends on Integer.MAX_VALUE.
+ * Every other epoch day must lie strictly between Integer.MIN_VALUE and Integer.MAX_VALUE (about 5.8 million years around 1970).
+ * <p>
+ * The kernels test all rows at once against a single day or window:
+ * <p>
+ * maskContainingDay/maskIntersectingWith       -> long[] bitmask, bit i of word i / 64 is set if row i matches
+ * indicesContainingDay/indicesIntersectingWith -> int[] of the matching rows, ascending
+ * lengths                                      -> long[] of the lengths, Long.MAX_VALUE for infinite rows
+ * intersect                                    -> the batch of the intersections with a window, one row per matching row
+ * <p>
+ * The loops only read primitive arrays and compute a match without branches, (day - start) | (end - day) is negative iff the day lies outside the row.
+ * This is the shape the JIT unrolls and auto-vectorizes, there are no DateRange objects, virtual calls or Optionals per row.
+ */
+public final class DateRangeBatch {
+
+    private static final DateRangeBatch EMPTY = new DateRangeBatch(new int[0], new int[0]);
+    private static final int INFINITE_END_EPOCH_DAY = Integer.MAX_VALUE;
+
+    private final int[] startEpochDays;
+    private final int[] endEpochDays;
+
+    private DateRangeBatch(
+            final int[] startEpochDays,
+            final int[] endEpochDays
+    ) {
+        this.startEpochDays = startEpochDays;
+        this.endEpochDays = endEpochDays;
+    }
+
+    public static DateRangeBatch empty() {
+        return EMPTY;
+    }
+
+    /**
+     * @param ranges A Collection of DateRanges, the order is kept.
+     * @return The DateRangeBatch holding the ranges as rows.
+     * @throws NullPointerException     if ranges is null.
+     * @throws IllegalArgumentException if an epoch day does not fit in an int.
+     */
+    public static DateRangeBatch of(
+            final Collection<? extends DateRange> ranges
+    ) {
+        requireNonNull(ranges);
+
+        if (ranges.isEmpty()) {
+            return EMPTY;
+        }
+
+        final int[] startEpochDays = new int[ranges.size()];
+        final int[] endEpochDays = new int[ranges.size()];
+        int index = 0;
+
+        for (final DateRange range : ranges) {
+            startEpochDays[index] = toInt(range.startEpochDay());
+            endEpochDays[index] = range.isFinite()
+                    ? toInt(range.endEpochDay())
+                    : INFINITE_END_EPOCH_DAY;
+            index++;
+        }
+
+        return new DateRangeBatch(startEpochDays, endEpochDays);
+    }
+
+    /**
+     * @param startEpochDays The start epoch days, copied.
+     * @param endEpochDays   The end epoch days, copied, Integer.MAX_VALUE for an infinite range.
+     * @return The DateRangeBatch holding the ranges as rows.
+     * @throws IllegalArgumentException if the arrays differ in length, or a row is not a valid range.
+     */
+    public static DateRangeBatch ofEpochDays(
+            final int[] startEpochDays,
+            final int[] endEpochDays
+    ) {
+        requireNonNull(startEpochDays);
+        requireNonNull(endEpochDays);
+        isTrue(startEpochDays.length == endEpochDays.length, "every start needs an end [starts=%d, ends=%d]", startEpochDays.length, endEpochDays.length);
+
+        for (int i = 0; i < startEpochDays.length; i++) {
+            isTrue(startEpochDays[i] != Integer.MIN_VALUE && startEpochDays[i] != INFINITE_END_EPOCH_DAY, "epoch day does not fit in a batch [epochDay=%d]", startEpochDays[i]);
+            isTrue(startEpochDays[i] <= endEpochDays[i], "start must be on or before end [row=%d]", i);
+        }
+
+        return new DateRangeBatch(startEpochDays.clone(), endEpochDays.clone());
+    }
+
+    private static int toInt(
+            final long epochDay
+    ) {
+        isTrue(epochDay > Integer.MIN_VALUE && epochDay < INFINITE_END_EPOCH_DAY, "epoch day does not fit in a batch [epochDay=%d]", epochDay);
+
+        return (int) epochDay;
+    }
+
+    /**
+     * Map the requested epoch day onto the int domain of the rows,
+     * beyond the last int only the infinite rows remain and before the first int none of the rows.
+     */
+    private static long clamp(
+            final long epochDay
+    ) {
+        return Math.clamp(epochDay, Integer.MIN_VALUE, INFINITE_END_EPOCH_DAY);
+    }
+
+    public int size() {
+        return this.startEpochDays.length;
+    }
+
+    public boolean isEmpty() {
+        return this.startEpochDays.length == 0;
+    }
+
+    public DateRange range(
+            final int index
+    ) {
+        final int endEpochDay = this.endEpochDays[index];
+
+        return DateRange.ofEpochDays(
+                this.startEpochDays[index],
+                endEpochDay == INFINITE_END_EPOCH_DAY ? LocalDates.MAX_EPOCH_DAY : endEpochDay
+        );
+    }
+
+    /**
+     * @return A view of the rows as DateRanges, created on access.
+     */
+    public List<DateRange> ranges() {
+        return new AbstractList<>() {
+            @Override
+            public DateRange get(final int index) {
+                return range(index);
+            }
+
+            @Override
+            public int size() {
+                return DateRangeBatch.this.size();
+            }
+        };
+    }
+
+    /**
+     * @return The bitmask of the rows containing the given day.
+     * @throws NullPointerException if day is null.
+     */
+    public long[] maskContainingDay(
+            final LocalDate day
+    ) {
+        requireNonNull(day);
+
+        final long epochDay = clamp(day.toEpochDay());
+
+        return mask(epochDay, epochDay);
+    }
+
+    /**
+     * @return The bitmask of the rows sharing at least one day with the given range.
+     * @throws NullPointerException if range is null.
+     */
+    public long[] maskIntersectingWith(
+            final DateRange range
+    ) {
+        requireNonNull(range);
+
+        return mask(clamp(range.startEpochDay()), clamp(range.endEpochDay()));
+    }
+
+    /**
+     * @return The ascending indices of the rows containing the given day.
+     * @throws NullPointerException if day is null.
+     */
+    public int[] indicesContainingDay(
+            final LocalDate day
+    ) {
+        return indices(maskContainingDay(day));
+    }
+
+    /**
+     * @return The ascending indices of the rows sharing at least one day with the given range.
+     * @throws NullPointerException if range is null.
+     */
+    public int[] indicesIntersectingWith(
+            final DateRange range
+    ) {
+        return indices(maskIntersectingWith(range));
+    }
+
+    /**
+     * @return The number of days of every row, Long.MAX_VALUE for an infinite row.
+     * @see DateRange#length()
+     */
+    public long[] lengths() {
+        final int size = size();
+        final long[] lengths = new long[size];
+
+        for (int i = 0; i < size; i++) {
+            lengths[i] = (long) this.endEpochDays[i] - this.startEpochDays[i] + 1L;
+        }
+
+        for (int i = 0; i < size; i++) {
+            if (this.endEpochDays[i] == INFINITE_END_EPOCH_DAY) {
+                lengths[i] = Long.MAX_VALUE;
+            }
+        }
+
+        return lengths;
+    }
+
+    /**
+     * Intersect every row with the given range, rows without a common day are left out.
+     * Row j of the result belongs to row indicesIntersectingWith(range)[j] of this batch.
+     *
+     * @param range A DateRange.
+     * @return The DateRangeBatch of the intersections.
+     * @throws NullPointerException     if range is null.
+     * @throws IllegalArgumentException if range is finite and ends beyond the epoch days of a batch.
+     * @see DateRange#intersect(DateRange)
+     */
+    public DateRangeBatch intersect(
+            final DateRange range
+    ) {
+        final int[] indices = indicesIntersectingWith(range);
+
+        if (indices.length == 0) {
+            return EMPTY;
+        }
+
+        final int startEpochDay = (int) clamp(range.startEpochDay());
+        final int endEpochDay = range.isFinite()
+                ? toInt(Math.max(range.endEpochDay(), Integer.MIN_VALUE + 1L))
+                : INFINITE_END_EPOCH_DAY;
+        final int[] startEpochDays = new int[indices.length];
+        final int[] endEpochDays = new int[indices.length];
+
+        for (int j = 0; j < indices.length; j++) {
+            startEpochDays[j] = this.startEpochDays[indices[j]];
+            endEpochDays[j] = this.endEpochDays[indices[j]];
+        }
+
+        for (int j = 0; j < indices.length; j++) {
+            startEpochDays[j] = Math.max(startEpochDays[j], startEpochDay);
+            endEpochDays[j] = Math.min(endEpochDays[j], endEpochDay);
+        }
+
+        return new DateRangeBatch(startEpochDays, endEpochDays);
+    }
+
+    /**
+     * A row intersects startEpochDay..endEpochDay iff start <= endEpochDay and startEpochDay <= end,
+     * both differences are computed as longs so they can not overflow, the sign bit of their OR is the mismatch.
+     */
+    private long[] mask(
+            final long startEpochDay,
+            final long endEpochDay
+    ) {
+        final int size = size();
+        final long[] words = new long[(size + Long.SIZE - 1) >>> 6];
+
+        for (int word = 0; word < words.length; word++) {
+            final int offset = word << 6;
+            final int limit = Math.min(Long.SIZE, size - offset);
+            long bits = 0L;
+
+            for (int bit = 0; bit < limit; bit++) {
+                final long mismatch = (endEpochDay - this.startEpochDays[offset + bit])
+                        | (this.endEpochDays[offset + bit] - startEpochDay);
+                bits |= (~mismatch >>> 63) << bit;
+            }
+
+            words[word] = bits;
+        }
+
+        return words;
+    }
+
+    private static int[] indices(
+            final long[] mask
+    ) {
+        final int[] indices = new int[(int) Bitmaps.cardinality(mask)];
+        int count = 0;
+
+        for (int word = 0; word < mask.length; word++) {
+            long bits = mask[word];
+
+            while (bits != 0) {
+                indices[count++] = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+            }
+        }
+
+        return indices;
+    }
+
+    @Override
+    public boolean equals(
+            final Object other
+    ) {
+        return other instanceof DateRangeBatch that
+                && Arrays.equals(this.startEpochDays, that.startEpochDays)
+                && Arrays.equals(this.endEpochDays, that.endEpochDays);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(this.startEpochDays) + Arrays.hashCode(this.endEpochDays);
+    }
+
+    @Override
+    public String toString() {
+        return "DateRangeBatch%s".formatted(
+                ranges().stream()
+                        .map(DateRange::asText)
+                        .toList()
+        );
+    }
+
+}
@@ -0,0 +1,140 @@
+package be.gerard.time;
+
+import be.gerard.time.internal.DateRangeEndInclusive;
+import be.gerard.time.internal.DateRangeOneDay;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Canonical instances of the most common DateRanges: single days, months and years within a window around today.
+ * <p>
+ * The window spans the years from (this year - N) up to (this year + N), both included,
+ * where N is read once from the system property "be.gerard.time.cache.years" (default 20, 0 disables the cache).
+ * <p>
+ * one day -> cached by epoch day
+ * month   -> cached by month, found by binary search on the first day of every month
+ * year    -> cached by year, found by binary search on the first day of every year
+ * <p>
+ * The caches are bounded by the window and filled lazily with compare-and-set, so lookups never block.
+ * Ranges outside the window are not cached, the caller allocates them as before.
+ */
+final class DateRangeCache {
+
+    static final String YEARS_PROPERTY = "be.gerard.time.cache.years";
+    private static final int DEFAULT_YEARS = 20;
+
+    private static final int FIRST_YEAR;
+    private static final long[] YEAR_STARTS;
+    private static final long[] MONTH_STARTS;
+    private static final AtomicReferenceArray<DateRange> DAYS;
+    private static final AtomicReferenceArray<DateRange> MONTHS;
+    private static final AtomicReferenceArray<DateRange> YEARS;
+
+    static {
+        final int years = Math.max(0, Integer.getInteger(YEARS_PROPERTY, DEFAULT_YEARS));
+        final int yearCount = years == 0 ? 0 : 2 * years + 1;
+
+        FIRST_YEAR = LocalDate.now().getYear() - years;
+        YEAR_STARTS = new long[yearCount + 1];
+        MONTH_STARTS = new long[12 * yearCount + 1];
+
+        for (int year = 0; year < YEAR_STARTS.length; year++) {
+            YEAR_STARTS[year] = LocalDate.of(FIRST_YEAR + year, 1, 1).toEpochDay();
+        }
+        for (int month = 0; month < MONTH_STARTS.length; month++) {
+            MONTH_STARTS[month] = LocalDate.of(FIRST_YEAR + month / 12, month % 12 + 1, 1).toEpochDay();
+        }
+
+        DAYS = new AtomicReferenceArray<>((int) (YEAR_STARTS[yearCount] - YEAR_STARTS[0]));
+        MONTHS = new AtomicReferenceArray<>(12 * yearCount);
+        YEARS = new AtomicReferenceArray<>(yearCount);
+    }
+
+    private DateRangeCache() {
+        // no-op
+    }
+
+    /**
+     * @return The canonical instance of the given range, or null if the range is not cached.
+     */
+    static DateRange lookup(
+            final long startEpochDay,
+            final long endEpochDay
+    ) {
+        if (startEpochDay < YEAR_STARTS[0] || endEpochDay >= YEAR_STARTS[YEAR_STARTS.length - 1]) {
+            return null;
+        }
+
+        final long length = endEpochDay - startEpochDay + 1L;
+
+        if (length == 1L) {
+            return get(DAYS, (int) (startEpochDay - YEAR_STARTS[0]), startEpochDay, endEpochDay);
+        } else if (length >= 28L && length <= 31L) {
+            return lookup(MONTH_STARTS, MONTHS, startEpochDay, endEpochDay);
+        } else if (length == 365L || length == 366L) {
+            return lookup(YEAR_STARTS, YEARS, startEpochDay, endEpochDay);
+        }
+
+        return null;
+    }
+
+    /**
+     * @param prolepticMonth The number of months since 0000-01.
+     * @return The canonical range of the given month, or null if the month is not cached.
+     * @see Months#prolepticMonth(LocalDate)
+     */
+    static DateRange month(
+            final long prolepticMonth
+    ) {
+        final long index = prolepticMonth - 12L * FIRST_YEAR;
+
+        if (index < 0 || index >= MONTHS.length()) {
+            return null;
+        }
+
+        final int i = (int) index;
+
+        return get(MONTHS, i, MONTH_STARTS[i], MONTH_STARTS[i + 1] - 1L);
+    }
+
+    private static DateRange lookup(
+            final long[] starts,
+            final AtomicReferenceArray<DateRange> cache,
+            final long startEpochDay,
+            final long endEpochDay
+    ) {
+        final int index = Arrays.binarySearch(starts, startEpochDay);
+
+        if (index < 0 || index + 1 == starts.length || starts[index + 1] != endEpochDay + 1L) {
+            return null;
+        }
+
+        return get(cache, index, startEpochDay, endEpochDay);
+    }
+
+    private static DateRange get(
+            final AtomicReferenceArray<DateRange> cache,
+            final int index,
+            final long startEpochDay,
+            final long endEpochDay
+    ) {
+        final DateRange cached = cache.get(index);
+
+        if (nonNull(cached)) {
+            return cached;
+        }
+
+        final DateRange range = startEpochDay == endEpochDay
+                ? new DateRangeOneDay(startEpochDay)
+                : new DateRangeEndInclusive(startEpochDay, endEpochDay);
+        final DateRange witness = cache.compareAndExchange(index, null, range);
+
+        return isNull(witness) ? range : witness;
+    }
+
+}
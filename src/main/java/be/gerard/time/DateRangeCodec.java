@@ -0,0 +1,370 @@
+package be.gerard.time;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+import static org.apache.commons.lang3.Validate.isTrue;
+
+/**
+ * A compact binary format for DateRange, DateRanges and Days, as an alternative for their text representation.
+ * <p>
+ * Every number is a variable length integer (7 bits per byte, the high bit marks a continuation),
+ * signed numbers are zigzag encoded first so small negative numbers stay small.
+ * <p>
+ * DateRange  -> start (signed), length (0 for an infinite end)
+ * DateRanges -> count, then every range ordered by start: start (signed for the first, delta with the previous start for the others), length (0 for an infinite end)
+ * Days       -> number of runs of subsequent days, then every run: start (signed for the first, delta with the previous end for the others), length - 1
+ * <p>
+ * Days around 1970 take 2 or 3 bytes, a month of subsequent days costs the same as a single day.
+ * Reading restores the same values as the text representation, malformed bytes result in an IllegalArgumentException.
+ * Reading Days expands every run into its days, at most N days in total,
+ * where N is read once from the system property "be.gerard.time.codec.days" (default 1000000, more than 2700 years of days).
+ *
+ * @see DateRangeFile
+ */
+public final class DateRangeCodec {
+
+    private static final int MAX_VAR_LONG_BYTES = 10;
+    private static final long INFINITE_LENGTH = 0L;
+    private static final int MINIMUM_BYTES_PER_RANGE = 2; // start and length
+    private static final int MINIMUM_BYTES_PER_RUN = 2; // start and length
+
+    static final String MAX_DAYS_PROPERTY = "be.gerard.time.codec.days";
+    private static final int DEFAULT_MAX_DAYS = 1_000_000;
+    private static final long MAX_DAYS = Math.max(0, Integer.getInteger(MAX_DAYS_PROPERTY, DEFAULT_MAX_DAYS));
+
+    private DateRangeCodec() {
+        // no-op
+    }
+
+    /**
+     * @return The encoded range.
+     */
+    public static byte[] toBytes(
+            final DateRange range
+    ) {
+        requireNonNull(range);
+
+        final ByteBuffer buffer = ByteBuffer.allocate(2 * MAX_VAR_LONG_BYTES);
+        write(range, buffer);
+        return toBytes(buffer);
+    }
+
+    /**
+     * @return The encoded ranges.
+     */
+    public static byte[] toBytes(
+            final DateRanges ranges
+    ) {
+        requireNonNull(ranges);
+
+        final ByteBuffer buffer = ByteBuffer.allocate(MAX_VAR_LONG_BYTES + 2 * MAX_VAR_LONG_BYTES * ranges.ranges().size());
+        write(ranges, buffer);
+        return toBytes(buffer);
+    }
+
+    /**
+     * @return The encoded days.
+     */
+    public static byte[] toBytes(
+            final Days days
+    ) {
+        requireNonNull(days);
+
+        final ByteBuffer buffer = ByteBuffer.allocate(MAX_VAR_LONG_BYTES + 2 * MAX_VAR_LONG_BYTES * days.dates().size());
+        write(days, buffer);
+        return toBytes(buffer);
+    }
+
+    /**
+     * Write the range at the position of the buffer, advancing its position.
+     *
+     * @throws java.nio.BufferOverflowException if the buffer has not enough remaining bytes.
+     */
+    public static void write(
+            final DateRange range,
+            final ByteBuffer target
+    ) {
+        requireNonNull(range);
+        requireNonNull(target);
+
+        writeRange(target, range, true, 0L);
+    }
+
+    /**
+     * Write the ranges at the position of the buffer, advancing its position.
+     *
+     * @throws java.nio.BufferOverflowException if the buffer has not enough remaining bytes.
+     */
+    public static void write(
+            final DateRanges ranges,
+            final ByteBuffer target
+    ) {
+        requireNonNull(ranges);
+        requireNonNull(target);
+
+        final List<DateRange> sortedRanges = ranges.ranges();
+
+        writeVarLong(target, sortedRanges.size());
+
+        long previousStartEpochDay = 0L;
+        boolean first = true;
+
+        for (final DateRange range : sortedRanges) {
+            writeRange(target, range, first, previousStartEpochDay);
+            previousStartEpochDay = range.startEpochDay();
+            first = false;
+        }
+    }
+
+    /**
+     * Write the days as runs of subsequent days at the position of the buffer, advancing its position.
+     *
+     * @throws java.nio.BufferOverflowException if the buffer has not enough remaining bytes.
+     */
+    public static void write(
+            final Days days,
+            final ByteBuffer target
+    ) {
+        requireNonNull(days);
+        requireNonNull(target);
+
+        final long[] epochDays = days.dates()
+                .stream()
+                .mapToLong(LocalDate::toEpochDay)
+                .sorted()
+                .toArray();
+
+        int runs = 0;
+        for (int i = 0; i < epochDays.length; i++) {
+            if (i == 0 || epochDays[i] != epochDays[i - 1] + 1L) {
+                runs++;
+            }
+        }
+
+        writeVarLong(target, runs);
+
+        int runStart = 0;
+        for (int i = 1; i <= epochDays.length; i++) {
+            if (i == epochDays.length || epochDays[i] != epochDays[i - 1] + 1L) {
+                writeVarLong(target, runStart == 0
+                        ? zigzag(epochDays[runStart])
+                        : epochDays[runStart] - epochDays[runStart - 1]
+                );
+                writeVarLong(target, i - runStart - 1L);
+                runStart = i;
+            }
+        }
+    }
+
+    public static DateRange readRange(
+            final byte[] bytes
+    ) {
+        requireNonNull(bytes);
+
+        return readRange(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Read a range at the position of the buffer, advancing its position.
+     *
+     * @throws IllegalArgumentException         if the bytes do not represent a DateRange.
+     * @throws java.nio.BufferUnderflowException if the buffer ends before the range.
+     */
+    public static DateRange readRange(
+            final ByteBuffer source
+    ) {
+        requireNonNull(source);
+
+        return readRange(source, true, 0L);
+    }
+
+    public static DateRanges readRanges(
+            final byte[] bytes
+    ) {
+        requireNonNull(bytes);
+
+        return readRanges(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Read ranges at the position of the buffer, advancing its position.
+     *
+     * @throws IllegalArgumentException         if the bytes do not represent DateRanges, e.g. a size beyond the remaining bytes.
+     * @throws java.nio.BufferUnderflowException if the buffer ends before the ranges.
+     */
+    public static DateRanges readRanges(
+            final ByteBuffer source
+    ) {
+        requireNonNull(source);
+
+        final int size = readSize(source, MINIMUM_BYTES_PER_RANGE);
+        final List<DateRange> ranges = new ArrayList<>(size);
+
+        long previousStartEpochDay = 0L;
+
+        for (int i = 0; i < size; i++) {
+            final DateRange range = readRange(source, i == 0, previousStartEpochDay);
+            ranges.add(range);
+            previousStartEpochDay = range.startEpochDay();
+        }
+
+        return DateRanges.ofRanges(ranges);
+    }
+
+    public static Days readDays(
+            final byte[] bytes
+    ) {
+        requireNonNull(bytes);
+
+        return readDays(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Read days at the position of the buffer, advancing its position.
+     *
+     * @throws IllegalArgumentException         if the bytes do not represent Days, e.g. a size beyond the remaining bytes,
+     *                                          or if the runs hold more days than the maximum, see the class documentation.
+     * @throws java.nio.BufferUnderflowException if the buffer ends before the days.
+     */
+    public static Days readDays(
+            final ByteBuffer source
+    ) {
+        requireNonNull(source);
+
+        final int runs = readSize(source, MINIMUM_BYTES_PER_RUN);
+        final List<LocalDate> days = new ArrayList<>();
+
+        long previousEndEpochDay = 0L;
+        long dayCount = 0L;
+
+        for (int i = 0; i < runs; i++) {
+            final long startEpochDay = i == 0
+                    ? unzigzag(readVarLong(source))
+                    : previousEndEpochDay + readVarLong(source);
+            final long endEpochDay = startEpochDay + readVarLong(source);
+
+            isTrue(
+                    LocalDates.isValidEpochDay(startEpochDay) && LocalDates.isValidEpochDay(endEpochDay) && endEpochDay >= startEpochDay,
+                    "days are invalid [startEpochDay=%d, endEpochDay=%d]", startEpochDay, endEpochDay
+            );
+
+            dayCount += endEpochDay - startEpochDay + 1L;
+
+            isTrue(dayCount <= MAX_DAYS, "days exceed the maximum [days=%d, maximum=%d]", dayCount, MAX_DAYS);
+
+            for (long epochDay = startEpochDay; epochDay <= endEpochDay; epochDay++) {
+                days.add(LocalDate.ofEpochDay(epochDay));
+            }
+
+            previousEndEpochDay = endEpochDay;
+        }
+
+        return Days.ofDays(days);
+    }
+
+    static void writeRange(
+            final ByteBuffer target,
+            final DateRange range,
+            final boolean first,
+            final long previousStartEpochDay
+    ) {
+        writeVarLong(target, first
+                ? zigzag(range.startEpochDay())
+                : range.startEpochDay() - previousStartEpochDay
+        );
+        writeVarLong(target, range.isFinite()
+                ? range.endEpochDay() - range.startEpochDay() + 1L
+                : INFINITE_LENGTH
+        );
+    }
+
+    static DateRange readRange(
+            final ByteBuffer source,
+            final boolean first,
+            final long previousStartEpochDay
+    ) {
+        final long startEpochDay = first
+                ? unzigzag(readVarLong(source))
+                : previousStartEpochDay + readVarLong(source);
+        final long length = readVarLong(source);
+
+        isTrue(LocalDates.isValidEpochDay(startEpochDay), "dateRange.startDate is invalid [epochDay=%d]", startEpochDay);
+
+        return DateRange.ofEpochDays(
+                startEpochDay,
+                length == INFINITE_LENGTH ? LocalDates.MAX_EPOCH_DAY : startEpochDay + length - 1L
+        );
+    }
+
+    static void writeVarLong(
+            final ByteBuffer target,
+            final long value
+    ) {
+        long remaining = value;
+
+        while ((remaining & ~0x7FL) != 0L) {
+            target.put((byte) ((remaining & 0x7F) | 0x80));
+            remaining >>>= 7;
+        }
+
+        target.put((byte) remaining);
+    }
+
+    static long readVarLong(
+            final ByteBuffer source
+    ) {
+        long value = 0L;
+
+        for (int i = 0; i < MAX_VAR_LONG_BYTES; i++) {
+            final byte b = source.get();
+            value |= (long) (b & 0x7F) << (7 * i);
+
+            if (b >= 0) {
+                return value;
+            }
+        }
+
+        throw new IllegalArgumentException("variable length integer has too many bytes");
+    }
+
+    /**
+     * The size is checked against the remaining bytes before anything is allocated for it, a corrupt size can not exhaust the heap.
+     *
+     * @param minimumBytes The minimal number of bytes of every element.
+     */
+    private static int readSize(
+            final ByteBuffer source,
+            final int minimumBytes
+    ) {
+        final long size = readVarLong(source);
+
+        isTrue(size >= 0 && size <= Integer.MAX_VALUE, "size is invalid [%d]", size);
+        isTrue(size <= source.remaining() / minimumBytes, "size exceeds the remaining bytes [size=%d, remaining=%d]", size, source.remaining());
+
+        return (int) size;
+    }
+
+    private static long zigzag(
+            final long value
+    ) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(
+            final long value
+    ) {
+        return (value >>> 1) ^ -(value & 1L);
+    }
+
+    private static byte[] toBytes(
+            final ByteBuffer buffer
+    ) {
+        return Arrays.copyOf(buffer.array(), buffer.position());
+    }
+
+}
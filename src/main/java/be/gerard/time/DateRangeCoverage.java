@@ -0,0 +1,253 @@
+package be.gerard.time;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import static java.util.Collections.unmodifiableList;
+import static java.util.Objects.requireNonNull;
+import static org.apache.commons.lang3.Validate.isTrue;
+
+/**
+ * The coverage profile of a collection of ranges: how many ranges contain each day.
+ * <p>
+ * Given: ["2000-01-01..2000-01-04", "2000-01-03..2000-01-05", "2000-01-08.."]
+ * runs: ["2000-01-01..2000-01-02" -> 1, "2000-01-03..2000-01-04" -> 2, "2000-01-05" -> 1, "2000-01-08.." -> 1]
+ * <p>
+ * maxDepth   -> 2
+ * atLeast(2) -> ["2000-01-03..2000-01-04"]
+ * <p>
+ * The profile is built by a single sweep over the sorted borders of the ranges, O(n log n), and stored as run-length encoded primitive arrays.
+ * Days not covered by any range have depth 0 and are left out of the runs, subsequent runs always differ in depth.
+ * <p>
+ * depthAt -> O(log n)
+ * atLeast -> O(n)
+ *
+ * @see DateRange#findAllIntersections(Collection)
+ */
+public final class DateRangeCoverage {
+
+    private static final DateRangeCoverage EMPTY = new DateRangeCoverage(new long[0], new long[0], new int[0], 0);
+
+    private final long[] startEpochDays;
+    private final long[] endEpochDays;
+    private final int[] depths;
+    private final int maxDepth;
+
+    private DateRangeCoverage(
+            final long[] startEpochDays,
+            final long[] endEpochDays,
+            final int[] depths,
+            final int maxDepth
+    ) {
+        this.startEpochDays = startEpochDays;
+        this.endEpochDays = endEpochDays;
+        this.depths = depths;
+        this.maxDepth = maxDepth;
+    }
+
+    public static DateRangeCoverage empty() {
+        return EMPTY;
+    }
+
+    /**
+     * @param ranges A Collection of DateRanges, finite or infinite, in any order.
+     * @return The coverage profile of the ranges.
+     * @throws NullPointerException if ranges is null.
+     */
+    public static DateRangeCoverage of(
+            final Collection<? extends DateRange> ranges
+    ) {
+        requireNonNull(ranges);
+
+        if (ranges.isEmpty()) {
+            return EMPTY;
+        }
+
+        final DateRangeSweep sweep = DateRangeSweep.of(ranges);
+
+        if (sweep.size() == 1) {
+            // every range is the single day LocalDate.MAX
+            return new DateRangeCoverage(
+                    new long[]{LocalDates.MAX_EPOCH_DAY},
+                    new long[]{LocalDates.MAX_EPOCH_DAY},
+                    new int[]{ranges.size()},
+                    ranges.size()
+            );
+        }
+
+        final long[] startEpochDays = new long[sweep.size()];
+        final long[] endEpochDays = new long[sweep.size()];
+        final int[] depths = new int[sweep.size()];
+        int count = 0;
+        int maxDepth = 0;
+
+        for (int i = 0; i < sweep.size() - 1; i++) {
+            final int depth = sweep.coverage(i);
+
+            if (depth == 0) {
+                continue;
+            }
+
+            final long endEpochDay = DateRangeSweep.toInclusiveEndEpochDay(sweep.border(i + 1));
+
+            if (count > 0 && depths[count - 1] == depth && endEpochDays[count - 1] + 1L == sweep.border(i)) {
+                endEpochDays[count - 1] = endEpochDay;
+            } else {
+                startEpochDays[count] = sweep.border(i);
+                endEpochDays[count] = endEpochDay;
+                depths[count] = depth;
+                count++;
+            }
+
+            maxDepth = Math.max(maxDepth, depth);
+        }
+
+        return new DateRangeCoverage(
+                Arrays.copyOf(startEpochDays, count),
+                Arrays.copyOf(endEpochDays, count),
+                Arrays.copyOf(depths, count),
+                maxDepth
+        );
+    }
+
+    public boolean isEmpty() {
+        return this.depths.length == 0;
+    }
+
+    /**
+     * @return The number of runs.
+     */
+    public int size() {
+        return this.depths.length;
+    }
+
+    /**
+     * @return The maximal number of ranges containing the same day, 0 if there are no ranges.
+     */
+    public int maxDepth() {
+        return this.maxDepth;
+    }
+
+    /**
+     * @return The number of ranges containing the given day.
+     * @throws NullPointerException if day is null.
+     */
+    public int depthAt(
+            final LocalDate day
+    ) {
+        requireNonNull(day);
+
+        final long epochDay = day.toEpochDay();
+        final int index = indexOfLastStartOnOrBefore(epochDay);
+
+        return index >= 0 && this.endEpochDays[index] >= epochDay
+                ? this.depths[index]
+                : 0;
+    }
+
+    /**
+     * @return The runs of days, ordered by start, each with the number of ranges containing those days.
+     */
+    public List<Run> runs() {
+        final List<Run> result = new ArrayList<>(size());
+
+        for (int i = 0; i < size(); i++) {
+            result.add(new Run(
+                    DateRange.ofEpochDays(this.startEpochDays[i], this.endEpochDays[i]),
+                    this.depths[i]
+            ));
+        }
+
+        return unmodifiableList(result);
+    }
+
+    /**
+     * Given: ["2000-01-01..2000-01-04", "2000-01-03..2000-01-05"], 1
+     * Result: ["2000-01-01..2000-01-05"]
+     *
+     * @param depth The minimal number of ranges containing a day.
+     * @return The maximal ranges of days contained by at least depth ranges, ordered and never adjacent.
+     * @throws IllegalArgumentException if depth is smaller than 1.
+     */
+    public List<DateRange> atLeast(
+            final int depth
+    ) {
+        isTrue(depth >= 1, "depth must be >= 1 [depth=%d]", depth);
+
+        final List<DateRange> result = new ArrayList<>();
+        int i = 0;
+
+        while (i < size()) {
+            if (this.depths[i] < depth) {
+                i++;
+                continue;
+            }
+
+            final long startEpochDay = this.startEpochDays[i];
+            long endEpochDay = this.endEpochDays[i];
+            i++;
+
+            while (i < size() && this.depths[i] >= depth && this.startEpochDays[i] == endEpochDay + 1L) {
+                endEpochDay = this.endEpochDays[i];
+                i++;
+            }
+
+            result.add(DateRange.ofEpochDays(startEpochDay, endEpochDay));
+        }
+
+        return unmodifiableList(result);
+    }
+
+    /**
+     * @return The ranges of days contained by maxDepth ranges.
+     */
+    public List<DateRange> atMaxDepth() {
+        return isEmpty()
+                ? List.of()
+                : atLeast(this.maxDepth);
+    }
+
+    private int indexOfLastStartOnOrBefore(
+            final long epochDay
+    ) {
+        final int index = Arrays.binarySearch(this.startEpochDays, epochDay);
+
+        return index >= 0
+                ? index
+                : -index - 2;
+    }
+
+    @Override
+    public boolean equals(
+            final Object other
+    ) {
+        return other instanceof DateRangeCoverage that
+                && Arrays.equals(this.startEpochDays, that.startEpochDays)
+                && Arrays.equals(this.endEpochDays, that.endEpochDays)
+                && Arrays.equals(this.depths, that.depths);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * Arrays.hashCode(this.startEpochDays) + Arrays.hashCode(this.endEpochDays)) + Arrays.hashCode(this.depths);
+    }
+
+    @Override
+    public String toString() {
+        return "DateRangeCoverage%s".formatted(
+                runs().stream()
+                        .map(run -> "%s=%d".formatted(run.range().asText(), run.depth()))
+                        .toList()
+        );
+    }
+
+    public record Run(
+            DateRange range,
+            int depth
+    ) implements DateRangeBased {
+    }
+
+}
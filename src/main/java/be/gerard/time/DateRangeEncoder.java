@@ -0,0 +1,410 @@
+package be.gerard.time;
+
+import be.gerard.time.internal.DateRangeInfinite;
+import be.gerard.time.internal.DateRangeOneDay;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.util.Objects.requireNonNull;
+import static org.apache.commons.lang3.Validate.isTrue;
+
+/**
+ * A hand-rolled encoder for the text representation of DateRanges, the counterpart of DateRangeParser.
+ * <p>
+ * ONE DAY       -> startDate
+ * INFINITE      -> startDate..
+ * END INCLUSIVE -> startDate..endDate
+ * <p>
+ * Every date is written exactly like LocalDate.toString, so the output equals asText and is accepted by DateRange.parse.
+ * The year, month and day are derived from the epoch days with integer arithmetic and written with a table of digit pairs,
+ * no LocalDate, format string or intermediate String is created per range.
+ *
+ * @see DateRangeParser
+ * @see DateRange#asText()
+ */
+public final class DateRangeEncoder {
+
+    private static final long DAYS_PER_CYCLE = 146097L;
+    private static final long DAYS_0000_TO_1970 = (DAYS_PER_CYCLE * 5L) - (30L * 365L + 7L);
+    private static final int MAX_DATE_LENGTH = 16; // +999999999-12-31
+    private static final int MAX_RANGE_LENGTH = 2 * MAX_DATE_LENGTH + 2;
+    private static final byte[] DIGIT_PAIRS = new byte[200];
+
+    static {
+        for (int i = 0; i < 100; i++) {
+            DIGIT_PAIRS[2 * i] = (byte) ('0' + i / 10);
+            DIGIT_PAIRS[2 * i + 1] = (byte) ('0' + i % 10);
+        }
+    }
+
+    private DateRangeEncoder() {
+        // no-op
+    }
+
+    /**
+     * @return The text representation of the range, equal to range.asText().
+     * @throws NullPointerException if range is null.
+     */
+    public static String toText(
+            final DateRange range
+    ) {
+        requireNonNull(range);
+
+        final byte[] buffer = new byte[MAX_RANGE_LENGTH];
+
+        return new String(buffer, 0, encode(range, ByteBuffer.wrap(buffer), 0), US_ASCII);
+    }
+
+    /**
+     * @return The text representations of the ranges, joined by the separator.
+     * @throws NullPointerException if ranges or separator is null.
+     */
+    public static String toText(
+            final Collection<? extends DateRange> ranges,
+            final CharSequence separator
+    ) {
+        requireNonNull(ranges);
+        requireNonNull(separator);
+
+        final StringBuilder builder = new StringBuilder(ranges.size() * (MAX_RANGE_LENGTH / 2 + separator.length()));
+        appendTo(builder, ranges, separator);
+        return builder.toString();
+    }
+
+    public static StringBuilder appendTo(
+            final StringBuilder builder,
+            final DateRange range
+    ) {
+        requireNonNull(builder);
+        requireNonNull(range);
+
+        final byte[] buffer = new byte[MAX_RANGE_LENGTH];
+        append(builder, buffer, encode(range, ByteBuffer.wrap(buffer), 0));
+
+        return builder;
+    }
+
+    /**
+     * Append the ranges in iteration order, separated by the separator.
+     *
+     * @return The given builder.
+     * @throws NullPointerException if an argument is null.
+     */
+    public static StringBuilder appendTo(
+            final StringBuilder builder,
+            final Collection<? extends DateRange> ranges,
+            final CharSequence separator
+    ) {
+        requireNonNull(builder);
+        requireNonNull(ranges);
+        requireNonNull(separator);
+
+        final byte[] buffer = new byte[MAX_RANGE_LENGTH];
+        final ByteBuffer target = ByteBuffer.wrap(buffer);
+        boolean first = true;
+
+        for (final DateRange range : ranges) {
+            if (!first) {
+                builder.append(separator);
+            }
+            append(builder, buffer, encode(range, target, 0));
+            first = false;
+        }
+
+        return builder;
+    }
+
+    /**
+     * @see #appendTo(StringBuilder, Collection, CharSequence)
+     */
+    public static StringBuilder appendTo(
+            final StringBuilder builder,
+            final DateRanges ranges,
+            final CharSequence separator
+    ) {
+        requireNonNull(ranges);
+
+        return appendTo(builder, ranges.ranges(), separator);
+    }
+
+    /**
+     * @throws UncheckedIOException if the Appendable fails.
+     */
+    public static <A extends Appendable> A appendTo(
+            final A appendable,
+            final DateRange range
+    ) {
+        requireNonNull(appendable);
+        requireNonNull(range);
+
+        final byte[] buffer = new byte[MAX_RANGE_LENGTH];
+        append(appendable, buffer, encode(range, ByteBuffer.wrap(buffer), 0));
+
+        return appendable;
+    }
+
+    /**
+     * Append the ranges in iteration order, separated by the separator, e.g. straight into a Writer.
+     *
+     * @return The given appendable.
+     * @throws NullPointerException if an argument is null.
+     * @throws UncheckedIOException if the Appendable fails.
+     */
+    public static <A extends Appendable> A appendTo(
+            final A appendable,
+            final Collection<? extends DateRange> ranges,
+            final CharSequence separator
+    ) {
+        requireNonNull(appendable);
+        requireNonNull(ranges);
+        requireNonNull(separator);
+
+        final byte[] buffer = new byte[MAX_RANGE_LENGTH];
+        final ByteBuffer target = ByteBuffer.wrap(buffer);
+        boolean first = true;
+
+        try {
+            for (final DateRange range : ranges) {
+                if (!first) {
+                    appendable.append(separator);
+                }
+                append(appendable, buffer, encode(range, target, 0));
+                first = false;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return appendable;
+    }
+
+    /**
+     * @see #appendTo(Appendable, Collection, CharSequence)
+     */
+    public static <A extends Appendable> A appendTo(
+            final A appendable,
+            final DateRanges ranges,
+            final CharSequence separator
+    ) {
+        requireNonNull(ranges);
+
+        return appendTo(appendable, ranges.ranges(), separator);
+    }
+
+    /**
+     * Write the text representation as ASCII bytes at the position of the buffer, advancing the position.
+     * With room for the longest range, the bytes go straight into the buffer,
+     * only close to the limit the range is encoded into a scratch array first.
+     *
+     * @throws NullPointerException            if range or buffer is null.
+     * @throws java.nio.ReadOnlyBufferException if the buffer is read-only.
+     * @throws java.nio.BufferOverflowException if the buffer has not enough remaining bytes, nothing is written.
+     */
+    public static void write(
+            final DateRange range,
+            final ByteBuffer buffer
+    ) {
+        requireNonNull(range);
+        requireNonNull(buffer);
+
+        if (buffer.isReadOnly() || buffer.remaining() < MAX_RANGE_LENGTH) {
+            final byte[] bytes = new byte[MAX_RANGE_LENGTH];
+            buffer.put(bytes, 0, encode(range, ByteBuffer.wrap(bytes), 0));
+            return;
+        }
+
+        buffer.position(encode(range, buffer, buffer.position()));
+    }
+
+    /**
+     * Write the ranges in iteration order as ASCII bytes, separated by the separator, advancing the position.
+     *
+     * @param separator An ASCII separator, e.g. "," or "\n".
+     * @throws NullPointerException             if an argument is null.
+     * @throws IllegalArgumentException         if the separator is not ASCII.
+     * @throws java.nio.BufferOverflowException if the buffer has not enough remaining bytes, the ranges written before remain written.
+     */
+    public static void write(
+            final Collection<? extends DateRange> ranges,
+            final CharSequence separator,
+            final ByteBuffer buffer
+    ) {
+        requireNonNull(ranges);
+        requireNonNull(separator);
+        requireNonNull(buffer);
+        isTrue(US_ASCII.newEncoder().canEncode(separator), "separator must be ASCII [separator=%s]", separator);
+
+        final byte[] separatorBytes = separator.toString().getBytes(US_ASCII);
+        final byte[] bytes = new byte[separatorBytes.length + MAX_RANGE_LENGTH];
+        final ByteBuffer target = ByteBuffer.wrap(bytes);
+        System.arraycopy(separatorBytes, 0, bytes, 0, separatorBytes.length);
+        boolean first = true;
+
+        for (final DateRange range : ranges) {
+            final int end = encode(range, target, separatorBytes.length);
+            final int start = first ? separatorBytes.length : 0;
+            buffer.put(bytes, start, end - start);
+            first = false;
+        }
+    }
+
+    /**
+     * @see #write(Collection, CharSequence, ByteBuffer)
+     */
+    public static void write(
+            final DateRanges ranges,
+            final CharSequence separator,
+            final ByteBuffer buffer
+    ) {
+        requireNonNull(ranges);
+
+        write(ranges.ranges(), separator, buffer);
+    }
+
+    /**
+     * Encode the range into the buffer starting at offset, with absolute writes only.
+     * The form follows the type of the range, like asText, so a one day range and an infinite range starting on LocalDate.MAX differ.
+     *
+     * @return The offset after the last written byte.
+     */
+    static int encode(
+            final DateRange range,
+            final ByteBuffer buffer,
+            final int offset
+    ) {
+        int position = encodeDate(range.startEpochDay(), buffer, offset);
+
+        if (range instanceof DateRangeOneDay) {
+            return position;
+        }
+
+        buffer.put(position++, (byte) '.');
+        buffer.put(position++, (byte) '.');
+
+        return range instanceof DateRangeInfinite
+                ? position
+                : encodeDate(range.endEpochDay(), buffer, position);
+    }
+
+    /**
+     * The conversion from epoch day to year, month and day of LocalDate.ofEpochDay, followed by the layout of LocalDate.toString.
+     */
+    private static int encodeDate(
+            final long epochDay,
+            final ByteBuffer buffer,
+            final int offset
+    ) {
+        long zeroDay = epochDay + DAYS_0000_TO_1970 - 60L; // starting on March 1st of year 0
+        long adjust = 0L;
+
+        if (zeroDay < 0) {
+            final long adjustCycles = (zeroDay + 1L) / DAYS_PER_CYCLE - 1L;
+            adjust = adjustCycles * 400L;
+            zeroDay += -adjustCycles * DAYS_PER_CYCLE;
+        }
+
+        long yearEstimate = (400L * zeroDay + 591L) / DAYS_PER_CYCLE;
+        long dayOfYearEstimate = zeroDay - (365L * yearEstimate + yearEstimate / 4L - yearEstimate / 100L + yearEstimate / 400L);
+
+        if (dayOfYearEstimate < 0) {
+            yearEstimate--;
+            dayOfYearEstimate = zeroDay - (365L * yearEstimate + yearEstimate / 4L - yearEstimate / 100L + yearEstimate / 400L);
+        }
+
+        final int marchDayOfYear = (int) dayOfYearEstimate;
+        final int marchMonth = (marchDayOfYear * 5 + 2) / 153;
+        final int month = (marchMonth + 2) % 12 + 1;
+        final int dayOfMonth = marchDayOfYear - (marchMonth * 306 + 5) / 10 + 1;
+        final int year = (int) (yearEstimate + adjust + marchMonth / 10);
+
+        int position = encodeYear(year, buffer, offset);
+        buffer.put(position++, (byte) '-');
+        position = encodeDigitPair(month, buffer, position);
+        buffer.put(position++, (byte) '-');
+
+        return encodeDigitPair(dayOfMonth, buffer, position);
+    }
+
+    /**
+     * 4 digits for years within -999..9999 (with a '-' for negative years), otherwise all digits with a '+' beyond 9999.
+     */
+    private static int encodeYear(
+            final int year,
+            final ByteBuffer buffer,
+            final int offset
+    ) {
+        int position = offset;
+        int absoluteYear = Math.abs(year);
+
+        if (year < 0) {
+            buffer.put(position++, (byte) '-');
+        } else if (year > 9999) {
+            buffer.put(position++, (byte) '+');
+        }
+
+        if (absoluteYear < 10000) {
+            position = encodeDigitPair(absoluteYear / 100, buffer, position);
+            return encodeDigitPair(absoluteYear % 100, buffer, position);
+        }
+
+        final int digits = digits(absoluteYear);
+
+        for (int i = position + digits - 1; i >= position; i--) {
+            buffer.put(i, (byte) ('0' + absoluteYear % 10));
+            absoluteYear /= 10;
+        }
+
+        return position + digits;
+    }
+
+    private static int encodeDigitPair(
+            final int value,
+            final ByteBuffer buffer,
+            final int offset
+    ) {
+        buffer.put(offset, DIGIT_PAIRS[2 * value]);
+        buffer.put(offset + 1, DIGIT_PAIRS[2 * value + 1]);
+        return offset + 2;
+    }
+
+    private static int digits(
+            final int value
+    ) {
+        int digits = 1;
+
+        for (int remainder = value / 10; remainder != 0; remainder /= 10) {
+            digits++;
+        }
+
+        return digits;
+    }
+
+    private static void append(
+            final StringBuilder builder,
+            final byte[] buffer,
+            final int length
+    ) {
+        for (int i = 0; i < length; i++) {
+            builder.append((char) buffer[i]);
+        }
+    }
+
+    private static void append(
+            final Appendable appendable,
+            final byte[] buffer,
+            final int length
+    ) {
+        try {
+            for (int i = 0; i < length; i++) {
+                appendable.append((char) buffer[i]);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
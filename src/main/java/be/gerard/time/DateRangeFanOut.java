@@ -0,0 +1,273 @@
+package be.gerard.time;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+import static java.util.Collections.unmodifiableMap;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
+import static org.apache.commons.lang3.Validate.isTrue;
+
+/**
+ * Run a range operation independently for many keys, e.g. merge the ranges of every employee.
+ * <p>
+ * Given: {A=["2000-01-01..2000-01-05", "2000-01-03..2000-01-10"], B=["2000-02-01"]}, DateRange::merge
+ * Result: {A=["2000-01-01..2000-01-10"], B=["2000-02-01"]}
+ * <p>
+ * virtualThreads(n) -> a virtual thread per key, at most n keys in progress at once, suits operations that block (e.g. loading the ranges)
+ * forkJoin(n)       -> a dedicated ForkJoinPool with parallelism n, the keys are split recursively, suits pure computations
+ * <p>
+ * apply          -> waits for all keys, the results keep the iteration order of the keys
+ * applyUnordered -> hands every result to a consumer as soon as its key is done, nothing is retained
+ * <p>
+ * A failing key does not stop the others, its RuntimeException is reported for that key.
+ * An Error (or an exception of the consumer) does not stop the others either, it is rethrown once all keys are done, whatever the execution.
+ */
+public final class DateRangeFanOut {
+
+    private DateRangeFanOut() {
+        // no-op
+    }
+
+    /**
+     * @param rangesByKey The ranges per key.
+     * @param operation   The operation to apply to the ranges of each key, it is called concurrently.
+     * @param execution   How to run the keys in parallel.
+     * @param <K>         The type of the keys.
+     * @param <R>         The type of the results.
+     * @return The values of the successful keys and the failures of the others, both in the iteration order of the keys.
+     * @throws NullPointerException  if an argument is null.
+     * @throws IllegalStateException if the calling thread is interrupted while waiting.
+     * @throws Error                 the first Error of the operation (e.g. StackOverflowError), once all keys are done.
+     */
+    public static <K, R> Results<K, R> apply(
+            final Map<K, ? extends Collection<DateRange>> rangesByKey,
+            final Function<? super Collection<DateRange>, ? extends R> operation,
+            final Execution execution
+    ) {
+        requireNonNull(rangesByKey);
+        requireNonNull(operation);
+        requireNonNull(execution);
+
+        final List<? extends Map.Entry<K, ? extends Collection<DateRange>>> entries = new ArrayList<>(rangesByKey.entrySet());
+        final Object[] values = new Object[entries.size()];
+        final RuntimeException[] failures = new RuntimeException[entries.size()];
+
+        run(entries.size(), execution, index -> {
+            try {
+                values[index] = operation.apply(entries.get(index).getValue());
+            } catch (RuntimeException e) {
+                failures[index] = e;
+            }
+        });
+
+        final Map<K, R> successful = new LinkedHashMap<>();
+        final Map<K, RuntimeException> failed = new LinkedHashMap<>();
+
+        for (int i = 0; i < entries.size(); i++) {
+            if (nonNull(failures[i])) {
+                failed.put(entries.get(i).getKey(), failures[i]);
+            } else {
+                @SuppressWarnings("unchecked") final R value = (R) values[i];
+                successful.put(entries.get(i).getKey(), value);
+            }
+        }
+
+        return new Results<>(unmodifiableMap(successful), unmodifiableMap(failed));
+    }
+
+    /**
+     * Like apply, without retaining the results: each one is handed to the consumer as soon as its key is done.
+     * The consumer is called concurrently, from the threads of the execution, in no particular order.
+     *
+     * @throws NullPointerException  if an argument is null.
+     * @throws IllegalStateException if the calling thread is interrupted while waiting.
+     * @throws RuntimeException      the first exception of the consumer, once all keys are done.
+     * @throws Error                 the first Error of the operation or the consumer, once all keys are done.
+     * @see #apply(Map, Function, Execution)
+     */
+    public static <K, R> void applyUnordered(
+            final Map<K, ? extends Collection<DateRange>> rangesByKey,
+            final Function<? super Collection<DateRange>, ? extends R> operation,
+            final Execution execution,
+            final Consumer<? super Result<K, R>> consumer
+    ) {
+        requireNonNull(rangesByKey);
+        requireNonNull(operation);
+        requireNonNull(execution);
+        requireNonNull(consumer);
+
+        final List<? extends Map.Entry<K, ? extends Collection<DateRange>>> entries = new ArrayList<>(rangesByKey.entrySet());
+
+        run(entries.size(), execution, index -> {
+            final Map.Entry<K, ? extends Collection<DateRange>> entry = entries.get(index);
+            Result<K, R> result;
+
+            try {
+                result = new Result<>(entry.getKey(), operation.apply(entry.getValue()), null);
+            } catch (RuntimeException e) {
+                result = new Result<>(entry.getKey(), null, e);
+            }
+
+            consumer.accept(result);
+        });
+    }
+
+    /**
+     * Whatever escapes a task is kept, so both executions finish the other keys and then rethrow it from the calling thread,
+     * instead of losing it in the handler of a virtual thread or wrapping it in the future of the pool.
+     */
+    private static void run(
+            final int size,
+            final Execution execution,
+            final IntConsumer task
+    ) {
+        if (size == 0) {
+            return;
+        }
+
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final IntConsumer guardedTask = index -> {
+            try {
+                task.accept(index);
+            } catch (Throwable e) {
+                if (!failure.compareAndSet(null, e) && failure.get() != e) {
+                    failure.get().addSuppressed(e);
+                }
+            }
+        };
+
+        if (execution.virtualThreads()) {
+            runOnVirtualThreads(size, execution.parallelism(), guardedTask);
+        } else {
+            runOnForkJoinPool(size, execution.parallelism(), guardedTask);
+        }
+
+        if (failure.get() instanceof Error error) {
+            throw error;
+        } else if (failure.get() instanceof RuntimeException exception) {
+            throw exception;
+        } else if (nonNull(failure.get())) {
+            throw new IllegalStateException("failed to apply the operation per key", failure.get());
+        }
+    }
+
+    /**
+     * A permit is taken before a key is started, so at most parallelism keys (and their threads) exist at once.
+     */
+    private static void runOnVirtualThreads(
+            final int size,
+            final int parallelism,
+            final IntConsumer task
+    ) {
+        final Semaphore permits = new Semaphore(parallelism);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < size; i++) {
+                final int index = i;
+                permits.acquire();
+                executor.execute(() -> {
+                    try {
+                        task.accept(index);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while applying the operation per key", e);
+        }
+    }
+
+    private static void runOnForkJoinPool(
+            final int size,
+            final int parallelism,
+            final IntConsumer task
+    ) {
+        final ForkJoinPool pool = new ForkJoinPool(parallelism);
+
+        try {
+            pool.submit(() -> IntStream.range(0, size).parallel().forEach(task)).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while applying the operation per key", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("failed to apply the operation per key", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * @param virtualThreads true to run every key on its own virtual thread, false to use a dedicated ForkJoinPool.
+     * @param parallelism    The maximal number of keys processed at once.
+     */
+    public record Execution(
+            boolean virtualThreads,
+            int parallelism
+    ) {
+
+        public Execution {
+            isTrue(parallelism >= 1, "execution.parallelism must be >= 1 [parallelism=%d]", parallelism);
+        }
+
+        public static Execution virtualThreads(
+                final int parallelism
+        ) {
+            return new Execution(true, parallelism);
+        }
+
+        public static Execution forkJoin(
+                final int parallelism
+        ) {
+            return new Execution(false, parallelism);
+        }
+
+    }
+
+    /**
+     * The outcome of a single key, either a value or a failure.
+     */
+    public record Result<K, R>(
+            K key,
+            R value,
+            RuntimeException failure
+    ) {
+
+        public boolean isSuccessful() {
+            return isNull(this.failure);
+        }
+
+    }
+
+    /**
+     * @param values   The results of the successful keys.
+     * @param failures The failures of the other keys.
+     */
+    public record Results<K, R>(
+            Map<K, R> values,
+            Map<K, RuntimeException> failures
+    ) {
+
+        public boolean isSuccessful() {
+            return this.failures.isEmpty();
+        }
+
+    }
+
+}
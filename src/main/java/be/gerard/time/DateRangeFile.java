@@ -0,0 +1,299 @@
+package be.gerard.time;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static java.util.Collections.unmodifiableList;
+import static java.util.Objects.requireNonNull;
+import static org.apache.commons.lang3.Validate.isTrue;
+
+/**
+ * A read-only file of ranges, memory-mapped and queried without reading the whole file.
+ * <p>
+ * The ranges are ordered by start (then end) and stored in blocks, every block is encoded like DateRangeCodec encodes DateRanges:
+ * the first start of a block is absolute, the next starts are deltas.
+ * A fixed-width index at the end of the file holds per block: its first start, the maximum end up to and including the block and its offset.
+ * <p>
+ * header -> magic, number of ranges, block size, number of blocks, offset of the index
+ * blocks -> encoded ranges, blockSize per block
+ * index  -> firstStartEpochDay, maxEndEpochDay, offset (3 longs per block)
+ * <p>
+ * ranges()                 -> decodes one block at a time
+ * findAllContaining(day)   -> binary search on the index, decodes only the blocks that can hold a match
+ * findAllIntersecting(...) -> idem
+ * <p>
+ * The whole file is mapped at once, so it is limited to 2GB.
+ * The mapping is released by the garbage collector once the DateRangeFile is no longer referenced.
+ */
+public final class DateRangeFile {
+
+    private static final int MAGIC = 0x44524631; // DRF1
+    private static final int DEFAULT_BLOCK_SIZE = 64;
+    private static final int HEADER_BYTES = 4 * Integer.BYTES + Long.BYTES;
+    private static final int INDEX_ENTRY_BYTES = 3 * Long.BYTES;
+    private static final int MAX_RANGE_BYTES = 20;
+
+    private final ByteBuffer buffer;
+    private final int size;
+    private final int blockSize;
+    private final int blockCount;
+    private final int indexOffset;
+
+    private DateRangeFile(
+            final ByteBuffer buffer
+    ) {
+        isTrue(buffer.capacity() >= HEADER_BYTES && buffer.getInt(0) == MAGIC, "not a date range file");
+
+        this.buffer = buffer;
+        this.size = buffer.getInt(Integer.BYTES);
+        this.blockSize = buffer.getInt(2 * Integer.BYTES);
+        this.blockCount = buffer.getInt(3 * Integer.BYTES);
+        this.indexOffset = Math.toIntExact(buffer.getLong(4 * Integer.BYTES));
+
+        isTrue(
+                this.indexOffset + (long) this.blockCount * INDEX_ENTRY_BYTES == buffer.capacity(),
+                "date range file is truncated [size=%d]", buffer.capacity()
+        );
+    }
+
+    /**
+     * Write the ranges, ordered by start then end, into a new file (or replace an existing one).
+     *
+     * @param path   The Path of the file.
+     * @param ranges A Collection of DateRanges.
+     * @throws NullPointerException if path or ranges is null.
+     * @throws UncheckedIOException if the file can not be written.
+     */
+    public static void write(
+            final Path path,
+            final Collection<DateRange> ranges
+    ) {
+        requireNonNull(path);
+        requireNonNull(ranges);
+
+        final ByteBuffer buffer = encode(ranges, DEFAULT_BLOCK_SIZE);
+
+        try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Map the given file into memory.
+     *
+     * @param path The Path of a file written by {@link #write(Path, Collection)}.
+     * @return The DateRangeFile.
+     * @throws NullPointerException     if path is null.
+     * @throws UncheckedIOException     if the file can not be read.
+     * @throws IllegalArgumentException if the file is not a date range file.
+     */
+    public static DateRangeFile open(
+            final Path path
+    ) {
+        requireNonNull(path);
+
+        try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new DateRangeFile(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Read ranges from a buffer holding the content of a date range file.
+     */
+    public static DateRangeFile of(
+            final ByteBuffer buffer
+    ) {
+        requireNonNull(buffer);
+
+        return new DateRangeFile(buffer.slice());
+    }
+
+    static ByteBuffer encode(
+            final Collection<DateRange> ranges,
+            final int blockSize
+    ) {
+        final List<DateRange> sortedRanges = ranges.stream()
+                .sorted(DateRange.startThenEnd())
+                .toList();
+        final int blockCount = (sortedRanges.size() + blockSize - 1) / blockSize;
+        final ByteBuffer blocks = ByteBuffer.allocate(MAX_RANGE_BYTES * sortedRanges.size());
+        final ByteBuffer index = ByteBuffer.allocate(INDEX_ENTRY_BYTES * blockCount);
+
+        long maxEndEpochDay = Long.MIN_VALUE;
+        long previousStartEpochDay = 0L;
+
+        for (int block = 0; block < blockCount; block++) {
+            final int from = block * blockSize;
+            final int to = Math.min(from + blockSize, sortedRanges.size());
+
+            for (int i = from; i < to; i++) {
+                maxEndEpochDay = Math.max(maxEndEpochDay, sortedRanges.get(i).endEpochDay());
+            }
+
+            index.putLong(sortedRanges.get(from).startEpochDay());
+            index.putLong(maxEndEpochDay);
+            index.putLong(HEADER_BYTES + blocks.position());
+
+            for (int i = from; i < to; i++) {
+                final DateRange range = sortedRanges.get(i);
+                DateRangeCodec.writeRange(blocks, range, i == from, previousStartEpochDay);
+                previousStartEpochDay = range.startEpochDay();
+            }
+        }
+
+        final ByteBuffer file = ByteBuffer.allocate(HEADER_BYTES + blocks.position() + index.capacity());
+
+        file.putInt(MAGIC);
+        file.putInt(sortedRanges.size());
+        file.putInt(blockSize);
+        file.putInt(blockCount);
+        file.putLong(HEADER_BYTES + blocks.position());
+        file.put(blocks.flip());
+        file.put(index.flip());
+
+        return file.flip();
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * @return A lazy Stream of all ranges, ordered by start then end.
+     */
+    public Stream<DateRange> ranges() {
+        return IntStream.range(0, this.blockCount)
+                .mapToObj(this::readBlock)
+                .flatMap(List::stream);
+    }
+
+    /**
+     * Find all ranges containing the given day.
+     *
+     * @param day A LocalDate.
+     * @return A List of the ranges containing the given day, ordered by start then end.
+     * @throws NullPointerException if day is null.
+     */
+    public List<DateRange> findAllContaining(
+            final LocalDate day
+    ) {
+        requireNonNull(day);
+
+        final long epochDay = day.toEpochDay();
+
+        return findAllIntersecting(epochDay, epochDay);
+    }
+
+    /**
+     * Find all ranges intersecting with the given range.
+     *
+     * @param range A DateRange.
+     * @return A List of the ranges intersecting with the given range, ordered by start then end.
+     * @throws NullPointerException if range is null.
+     */
+    public List<DateRange> findAllIntersecting(
+            final DateRange range
+    ) {
+        requireNonNull(range);
+
+        return findAllIntersecting(range.startEpochDay(), range.endEpochDay());
+    }
+
+    private List<DateRange> findAllIntersecting(
+            final long startEpochDay,
+            final long endEpochDay
+    ) {
+        final List<DateRange> result = new ArrayList<>();
+
+        for (int block = firstBlockEndingOnOrAfter(startEpochDay); block < this.blockCount && firstStartEpochDay(block) <= endEpochDay; block++) {
+            for (final DateRange candidate : readBlock(block)) {
+                if (candidate.startEpochDay() > endEpochDay) {
+                    break;
+                } else if (candidate.endEpochDay() >= startEpochDay) {
+                    result.add(candidate);
+                }
+            }
+        }
+
+        return unmodifiableList(result);
+    }
+
+    /**
+     * The maximum ends in the index never decrease, so the blocks before this one can not hold a range ending on or after the given day.
+     */
+    private int firstBlockEndingOnOrAfter(
+            final long epochDay
+    ) {
+        int low = 0;
+        int high = this.blockCount;
+
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+
+            if (maxEndEpochDay(mid) < epochDay) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+
+    private List<DateRange> readBlock(
+            final int block
+    ) {
+        final int count = Math.min(this.blockSize, this.size - block * this.blockSize);
+        final ByteBuffer source = this.buffer.duplicate().position(Math.toIntExact(offset(block)));
+        final List<DateRange> ranges = new ArrayList<>(count);
+
+        long previousStartEpochDay = 0L;
+
+        for (int i = 0; i < count; i++) {
+            final DateRange range = DateRangeCodec.readRange(source, i == 0, previousStartEpochDay);
+            ranges.add(range);
+            previousStartEpochDay = range.startEpochDay();
+        }
+
+        return ranges;
+    }
+
+    private long firstStartEpochDay(
+            final int block
+    ) {
+        return this.buffer.getLong(this.indexOffset + block * INDEX_ENTRY_BYTES);
+    }
+
+    private long maxEndEpochDay(
+            final int block
+    ) {
+        return this.buffer.getLong(this.indexOffset + block * INDEX_ENTRY_BYTES + Long.BYTES);
+    }
+
+    private long offset(
+            final int block
+    ) {
+        return this.buffer.getLong(this.indexOffset + block * INDEX_ENTRY_BYTES + 2 * Long.BYTES);
+    }
+
+}
@@ -0,0 +1,237 @@
+package be.gerard.time;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static java.util.Collections.unmodifiableList;
+import static java.util.Comparator.comparing;
+import static java.util.Comparator.comparingLong;
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * An immutable index answering "which items are active on day D" and "which items overlap range R" without scanning all items.
+ * <p>
+ * The items are kept sorted by range (start then end) next to primitive arrays holding their epoch days.
+ * On top of that a centered interval tree is built: every node holds the items containing its center day, once ordered by start and once ordered by end.
+ * <p>
+ * containing(day)     -> O(log n + k)
+ * intersecting(range) -> O(log n + k), all items containing range.startDate plus all items starting within the range
+ * <p>
+ * Infinite ranges end on the epoch day of LocalDate.MAX and need no special treatment.
+ * The order of the returned items is unspecified.
+ *
+ * @param <T> The type of the indexed items.
+ */
+public final class DateRangeIndex<T extends DateRangeBased> {
+
+    private final List<T> items;
+    private final long[] startEpochDays;
+    private final long[] endEpochDays;
+    private final Node root;
+
+    private DateRangeIndex(
+            final List<T> items
+    ) {
+        this.items = items;
+        this.startEpochDays = items.stream()
+                .mapToLong(item -> item.range().startEpochDay())
+                .toArray();
+        this.endEpochDays = items.stream()
+                .mapToLong(item -> item.range().endEpochDay())
+                .toArray();
+        this.root = build(IntStream.range(0, items.size()).toArray());
+    }
+
+    /**
+     * Index the given items by their range.
+     *
+     * @param items A Collection of DateRangeBased items.
+     * @param <T>   The type of the items.
+     * @return The DateRangeIndex of the given items.
+     * @throws NullPointerException if items is null.
+     */
+    public static <T extends DateRangeBased> DateRangeIndex<T> of(
+            final Collection<T> items
+    ) {
+        requireNonNull(items);
+
+        return new DateRangeIndex<>(
+                items.stream()
+                        .sorted(comparing(DateRangeBased::range, DateRange.startThenEnd()))
+                        .toList()
+        );
+    }
+
+    public int size() {
+        return this.items.size();
+    }
+
+    public boolean isEmpty() {
+        return this.items.isEmpty();
+    }
+
+    /**
+     * @return All indexed items, ordered by range (start then end).
+     */
+    public List<T> items() {
+        return this.items;
+    }
+
+    /**
+     * Find all items whose range contains the given day.
+     *
+     * @param day A LocalDate.
+     * @return A List of the items active on the given day.
+     * @throws NullPointerException if day is null.
+     */
+    public List<T> findAllContaining(
+            final LocalDate day
+    ) {
+        requireNonNull(day);
+
+        return findAllContaining(day.toEpochDay());
+    }
+
+    /**
+     * @see #findAllContaining(LocalDate)
+     */
+    public List<T> findAllContaining(
+            final long epochDay
+    ) {
+        final List<T> result = new ArrayList<>();
+        stab(epochDay, result);
+        return unmodifiableList(result);
+    }
+
+    /**
+     * Find all items whose range intersects with the given range.
+     *
+     * @param range A DateRange.
+     * @return A List of the items overlapping the given range.
+     * @throws NullPointerException if range is null.
+     */
+    public List<T> findAllIntersecting(
+            final DateRange range
+    ) {
+        requireNonNull(range);
+
+        final long startEpochDay = range.startEpochDay();
+        final List<T> result = new ArrayList<>();
+
+        stab(startEpochDay, result);
+
+        final int from = upperBound(startEpochDay);
+        final int to = upperBound(range.endEpochDay());
+
+        for (int i = from; i < to; i++) {
+            result.add(this.items.get(i));
+        }
+
+        return unmodifiableList(result);
+    }
+
+    private void stab(
+            final long epochDay,
+            final List<T> result
+    ) {
+        Node node = this.root;
+
+        while (nonNull(node)) {
+            if (epochDay < node.center()) {
+                for (final int i : node.byStart()) {
+                    if (this.startEpochDays[i] > epochDay) {
+                        break;
+                    }
+                    result.add(this.items.get(i));
+                }
+                node = node.left();
+            } else if (epochDay > node.center()) {
+                for (final int i : node.byEnd()) {
+                    if (this.endEpochDays[i] < epochDay) {
+                        break;
+                    }
+                    result.add(this.items.get(i));
+                }
+                node = node.right();
+            } else {
+                for (final int i : node.byStart()) {
+                    result.add(this.items.get(i));
+                }
+                node = null;
+            }
+        }
+    }
+
+    /**
+     * @return The index of the first item starting after the given epoch day.
+     */
+    private int upperBound(
+            final long epochDay
+    ) {
+        int low = 0;
+        int high = this.startEpochDays.length;
+
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+
+            if (this.startEpochDays[mid] <= epochDay) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * @param indices Indices into the items, ordered ascending (and thus by start).
+     */
+    private Node build(
+            final int[] indices
+    ) {
+        if (indices.length == 0) {
+            return null;
+        }
+
+        final long center = this.startEpochDays[indices[indices.length / 2]];
+
+        final int[] left = Arrays.stream(indices)
+                .filter(i -> this.endEpochDays[i] < center)
+                .toArray();
+        final int[] right = Arrays.stream(indices)
+                .filter(i -> this.startEpochDays[i] > center)
+                .toArray();
+        final int[] byStart = Arrays.stream(indices)
+                .filter(i -> this.startEpochDays[i] <= center && this.endEpochDays[i] >= center)
+                .toArray();
+        final int[] byEnd = Arrays.stream(byStart)
+                .boxed()
+                .sorted(comparingLong((Integer i) -> this.endEpochDays[i]).reversed())
+                .mapToInt(Integer::intValue)
+                .toArray();
+
+        return new Node(
+                center,
+                byStart,
+                byEnd,
+                build(left),
+                build(right)
+        );
+    }
+
+    private record Node(
+            long center,
+            int[] byStart,
+            int[] byEnd,
+            Node left,
+            Node right
+    ) {
+    }
+
+}
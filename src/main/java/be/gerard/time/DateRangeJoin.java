@@ -0,0 +1,229 @@
+package be.gerard.time;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableList;
+import static java.util.Comparator.comparing;
+import static java.util.Comparator.comparingLong;
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Sort-merge interval joins between two collections of DateRangeBased items.
+ * <p>
+ * Given: contracts ["2000-01-01..2000-06-30" -> C1, "2000-05-01.." -> C2], prices ["2000-01-01..2000-03-31" -> P1, "2000-04-01.." -> P2]
+ * innerJoin: [(C1, P1, "2000-01-01..2000-03-31"), (C1, P2, "2000-04-01..2000-06-30"), (C2, P2, "2000-05-01..")]
+ * <p>
+ * Both sides are sorted by start once, after which a single sweep pairs every item with the items of the other side that are still active.
+ * Items ending before the current start are dropped from the active items as they are met, so every item is dropped once:
+ * <p>
+ * join -> O((n + m) log(n + m) + k), for k matching pairs
+ * <p>
+ * The matches are ordered by the start of their intersection.
+ */
+public final class DateRangeJoin {
+
+    private DateRangeJoin() {
+        // no-op
+    }
+
+    /**
+     * @param left  A Collection of DateRangeBased items.
+     * @param right A Collection of DateRangeBased items.
+     * @param <L>   The type of the left items.
+     * @param <R>   The type of the right items.
+     * @return A Match for every pair of a left and a right item sharing at least one day.
+     * @throws NullPointerException if left or right is null.
+     */
+    public static <L extends DateRangeBased, R extends DateRangeBased> List<Match<L, R>> innerJoin(
+            final Collection<L> left,
+            final Collection<R> right
+    ) {
+        requireNonNull(left);
+        requireNonNull(right);
+
+        return unmodifiableList(join(left, right, false));
+    }
+
+    /**
+     * Like innerJoin, with an additional Match without right item for every left item that shares no day with any right item.
+     * Such a Match covers the range of the left item.
+     *
+     * @throws NullPointerException if left or right is null.
+     * @see #innerJoin(Collection, Collection)
+     */
+    public static <L extends DateRangeBased, R extends DateRangeBased> List<Match<L, R>> leftOuterJoin(
+            final Collection<L> left,
+            final Collection<R> right
+    ) {
+        requireNonNull(left);
+        requireNonNull(right);
+
+        return unmodifiableList(join(left, right, true));
+    }
+
+    /**
+     * Join only the items sharing the same key, e.g. the contracts and the price periods of the same customer.
+     * The matches are grouped by key, in order of the first left item of each key.
+     *
+     * @param leftKey  The key of a left item.
+     * @param rightKey The key of a right item.
+     * @param <K>      The type of the keys.
+     * @throws NullPointerException if an argument is null.
+     * @see #innerJoin(Collection, Collection)
+     */
+    public static <L extends DateRangeBased, R extends DateRangeBased, K> List<Match<L, R>> innerJoin(
+            final Collection<L> left,
+            final Collection<R> right,
+            final Function<? super L, ? extends K> leftKey,
+            final Function<? super R, ? extends K> rightKey
+    ) {
+        return joinByKey(left, right, leftKey, rightKey, false);
+    }
+
+    /**
+     * @throws NullPointerException if an argument is null.
+     * @see #innerJoin(Collection, Collection, Function, Function)
+     * @see #leftOuterJoin(Collection, Collection)
+     */
+    public static <L extends DateRangeBased, R extends DateRangeBased, K> List<Match<L, R>> leftOuterJoin(
+            final Collection<L> left,
+            final Collection<R> right,
+            final Function<? super L, ? extends K> leftKey,
+            final Function<? super R, ? extends K> rightKey
+    ) {
+        return joinByKey(left, right, leftKey, rightKey, true);
+    }
+
+    private static <L extends DateRangeBased, R extends DateRangeBased, K> List<Match<L, R>> joinByKey(
+            final Collection<L> left,
+            final Collection<R> right,
+            final Function<? super L, ? extends K> leftKey,
+            final Function<? super R, ? extends K> rightKey,
+            final boolean outer
+    ) {
+        requireNonNull(left);
+        requireNonNull(right);
+        requireNonNull(leftKey);
+        requireNonNull(rightKey);
+
+        final Map<K, List<L>> leftByKey = new LinkedHashMap<>();
+        final Map<K, List<R>> rightByKey = new LinkedHashMap<>();
+
+        left.forEach(item -> leftByKey.computeIfAbsent(leftKey.apply(item), key -> new ArrayList<>()).add(item));
+        right.forEach(item -> rightByKey.computeIfAbsent(rightKey.apply(item), key -> new ArrayList<>()).add(item));
+
+        final List<Match<L, R>> result = new ArrayList<>();
+
+        leftByKey.forEach((key, items) -> result.addAll(join(items, rightByKey.getOrDefault(key, emptyList()), outer)));
+
+        return unmodifiableList(result);
+    }
+
+    private static <L extends DateRangeBased, R extends DateRangeBased> List<Match<L, R>> join(
+            final Collection<L> left,
+            final Collection<R> right,
+            final boolean outer
+    ) {
+        final List<L> sortedLeft = left.stream()
+                .sorted(comparing(DateRangeBased::range, DateRange.startThenEnd()))
+                .toList();
+        final List<R> sortedRight = right.stream()
+                .sorted(comparing(DateRangeBased::range, DateRange.startThenEnd()))
+                .toList();
+
+        final List<Match<L, R>> result = new ArrayList<>();
+        final boolean[] matched = new boolean[sortedLeft.size()];
+        final List<R> activeRight = new ArrayList<>();
+        int[] activeLeft = new int[16];
+        int activeLeftCount = 0;
+        int i = 0;
+        int j = 0;
+
+        while (i < sortedLeft.size() || j < sortedRight.size()) {
+            if (j == sortedRight.size() || (i < sortedLeft.size() && sortedLeft.get(i).range().startEpochDay() <= sortedRight.get(j).range().startEpochDay())) {
+                final DateRange range = sortedLeft.get(i).range();
+                int kept = 0;
+
+                for (final R other : activeRight) {
+                    if (other.range().endEpochDay() >= range.startEpochDay()) {
+                        activeRight.set(kept++, other);
+                        result.add(new Match<>(sortedLeft.get(i), other, intersect(range, other.range())));
+                        matched[i] = true;
+                    }
+                }
+
+                activeRight.subList(kept, activeRight.size()).clear();
+
+                if (activeLeftCount == activeLeft.length) {
+                    activeLeft = Arrays.copyOf(activeLeft, 2 * activeLeftCount);
+                }
+
+                activeLeft[activeLeftCount++] = i++;
+            } else {
+                final R item = sortedRight.get(j++);
+                final DateRange range = item.range();
+                int kept = 0;
+
+                for (int a = 0; a < activeLeftCount; a++) {
+                    final L other = sortedLeft.get(activeLeft[a]);
+
+                    if (other.range().endEpochDay() >= range.startEpochDay()) {
+                        result.add(new Match<>(other, item, intersect(other.range(), range)));
+                        matched[activeLeft[a]] = true;
+                        activeLeft[kept++] = activeLeft[a];
+                    }
+                }
+
+                activeLeftCount = kept;
+                activeRight.add(item);
+            }
+        }
+
+        if (outer) {
+            for (int index = 0; index < sortedLeft.size(); index++) {
+                if (!matched[index]) {
+                    result.add(new Match<>(sortedLeft.get(index), null, sortedLeft.get(index).range()));
+                }
+            }
+
+            result.sort(comparingLong((Match<L, R> match) -> match.range().startEpochDay()));
+        }
+
+        return result;
+    }
+
+    private static DateRange intersect(
+            final DateRange range,
+            final DateRange otherRange
+    ) {
+        return DateRange.ofEpochDays(
+                Math.max(range.startEpochDay(), otherRange.startEpochDay()),
+                Math.min(range.endEpochDay(), otherRange.endEpochDay())
+        );
+    }
+
+    /**
+     * A left item together with a right item and the days they share.
+     * A left outer join also yields Matches without right item (null), covering the whole range of the left item.
+     */
+    public record Match<L, R>(
+            L left,
+            R right,
+            DateRange range
+    ) implements DateRangeBased {
+
+        public boolean hasRight() {
+            return nonNull(this.right);
+        }
+
+    }
+
+}
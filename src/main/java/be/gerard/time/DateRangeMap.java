@@ -0,0 +1,459 @@
+package be.gerard.time;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
+import static org.apache.commons.lang3.Validate.isTrue;
+
+/**
+ * An immutable timeline: disjoint ranges, ordered by start, each holding a value.
+ * <p>
+ * Illustrated Example:
+ * 2001-01-01 -> State A
+ * 2001-05-01 -> State B
+ * 2010-01-01 -> State C
+ * <p>
+ * ofTimeline: ["2001-01-01..2001-04-30" -> A, "2001-05-01..2009-12-31" -> B, "2010-01-01.." -> C]
+ * valueAt(2005-06-15) -> B
+ * <p>
+ * Subsequent ranges holding equal values are coalesced into a single range.
+ * The ranges are stored as primitive arrays of epoch days, next to an array of values:
+ * <p>
+ * valueAt -> O(log n)
+ * slice   -> O(log n + k)
+ *
+ * @param <V> The type of the values.
+ * @see Days#asTimeline(java.util.Collection)
+ */
+public final class DateRangeMap<V> {
+
+    private static final DateRangeMap<?> EMPTY = new DateRangeMap<>(new long[0], new long[0], new Object[0]);
+
+    private final long[] startEpochDays;
+    private final long[] endEpochDays;
+    private final Object[] values;
+
+    DateRangeMap(
+            final long[] startEpochDays,
+            final long[] endEpochDays,
+            final Object[] values
+    ) {
+        this.startEpochDays = startEpochDays;
+        this.endEpochDays = endEpochDays;
+        this.values = values;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <V> DateRangeMap<V> empty() {
+        return (DateRangeMap<V>) EMPTY;
+    }
+
+    /**
+     * Create a timeline where each day starts a value that remains in effect until the next day or until the end of time.
+     *
+     * @param values A Map of the days starting a value to that value.
+     * @param <V>    The type of the values.
+     * @return The DateRangeMap covering everything from the first day onwards.
+     * @throws NullPointerException if values, a day or a value is null.
+     */
+    public static <V> DateRangeMap<V> ofTimeline(
+            final Map<LocalDate, ? extends V> values
+    ) {
+        requireNonNull(values);
+
+        final List<? extends Map.Entry<LocalDate, ? extends V>> sortedValues = values.entrySet()
+                .stream()
+                .sorted(Map.Entry.comparingByKey())
+                .toList();
+        final Builder<V> builder = new Builder<>(sortedValues.size());
+
+        for (int i = 0; i < sortedValues.size(); i++) {
+            final long endEpochDay = i + 1 < sortedValues.size()
+                    ? sortedValues.get(i + 1).getKey().toEpochDay() - 1L
+                    : LocalDates.MAX_EPOCH_DAY;
+
+            builder.append(
+                    sortedValues.get(i).getKey().toEpochDay(),
+                    endEpochDay,
+                    requireNonNull(sortedValues.get(i).getValue())
+            );
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Create a timeline from disjoint ranges, leaving the days in between without a value.
+     *
+     * @param values A Map of disjoint ranges to their value.
+     * @param <V>    The type of the values.
+     * @return The DateRangeMap.
+     * @throws NullPointerException     if values, a range or a value is null.
+     * @throws IllegalArgumentException if ranges are overlapping.
+     */
+    public static <V> DateRangeMap<V> ofRanges(
+            final Map<DateRange, ? extends V> values
+    ) {
+        requireNonNull(values);
+
+        final List<? extends Map.Entry<DateRange, ? extends V>> sortedValues = values.entrySet()
+                .stream()
+                .sorted(Map.Entry.comparingByKey(DateRange.startThenEnd()))
+                .toList();
+        final Builder<V> builder = new Builder<>(sortedValues.size());
+
+        DateRange previous = null;
+
+        for (int i = 0; i < sortedValues.size(); i++) {
+            final DateRange range = sortedValues.get(i).getKey();
+
+            if (nonNull(previous)) {
+                isTrue(previous.endEpochDay() < range.startEpochDay(), "ranges are overlapping [%s, %s]", previous.asText(), range.asText());
+            }
+
+            previous = range;
+            builder.append(
+                    range.startEpochDay(),
+                    range.endEpochDay(),
+                    requireNonNull(sortedValues.get(i).getValue())
+            );
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * @return The number of (coalesced) ranges.
+     */
+    public int size() {
+        return this.startEpochDays.length;
+    }
+
+    public boolean isEmpty() {
+        return this.startEpochDays.length == 0;
+    }
+
+    /**
+     * @param day A LocalDate.
+     * @return The value in effect on the given day, if any.
+     * @throws NullPointerException if day is null.
+     */
+    public Optional<V> valueAt(
+            final LocalDate day
+    ) {
+        requireNonNull(day);
+
+        return Optional.ofNullable(valueAt(day.toEpochDay(), null));
+    }
+
+    /**
+     * @param day          A LocalDate.
+     * @param defaultValue The value to return if no value is in effect on the given day.
+     * @return The value in effect on the given day, otherwise the default value.
+     * @throws NullPointerException if day is null.
+     */
+    public V valueAt(
+            final LocalDate day,
+            final V defaultValue
+    ) {
+        requireNonNull(day);
+
+        return valueAt(day.toEpochDay(), defaultValue);
+    }
+
+    /**
+     * @see #valueAt(LocalDate, Object)
+     */
+    public V valueAt(
+            final long epochDay,
+            final V defaultValue
+    ) {
+        final int index = indexOfLastStartOnOrBefore(epochDay);
+
+        return index >= 0 && this.endEpochDays[index] >= epochDay
+                ? value(index)
+                : defaultValue;
+    }
+
+    /**
+     * Restrict the timeline to the given range, the first and last ranges are cut to fit.
+     *
+     * @param range A DateRange.
+     * @return A DateRangeMap holding only the days within the given range.
+     * @throws NullPointerException if range is null.
+     */
+    public DateRangeMap<V> slice(
+            final DateRange range
+    ) {
+        requireNonNull(range);
+
+        final long startEpochDay = range.startEpochDay();
+        final long endEpochDay = range.endEpochDay();
+        final int from = Math.max(indexOfLastStartOnOrBefore(startEpochDay), 0);
+        final Builder<V> builder = new Builder<>(4);
+
+        for (int i = from; i < size() && this.startEpochDays[i] <= endEpochDay; i++) {
+            if (this.endEpochDays[i] >= startEpochDay) {
+                builder.append(
+                        Math.max(this.startEpochDays[i], startEpochDay),
+                        Math.min(this.endEpochDays[i], endEpochDay),
+                        value(i)
+                );
+            }
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Put the value on every day of the given range, overwriting the values in effect on those days.
+     * Ranges partially overlapping the given range are cut, like DateRange.subtract would.
+     * <p>
+     * Given: ["2000-01-01..2000-01-31" -> A], put("2000-01-10..2000-01-19", B)
+     * Result: ["2000-01-01..2000-01-09" -> A, "2000-01-10..2000-01-19" -> B, "2000-01-20..2000-01-31" -> A]
+     *
+     * @param range A DateRange.
+     * @param value The value in effect on the given range.
+     * @return A new DateRangeMap, this one is left untouched.
+     * @throws NullPointerException if range or value is null.
+     */
+    public DateRangeMap<V> with(
+            final DateRange range,
+            final V value
+    ) {
+        requireNonNull(range);
+        requireNonNull(value);
+
+        return replace(range.startEpochDay(), range.endEpochDay(), value);
+    }
+
+    /**
+     * Remove the values on every day of the given range.
+     * Ranges partially overlapping the given range are cut, like DateRange.subtract would.
+     *
+     * @param range A DateRange.
+     * @return A new DateRangeMap, this one is left untouched.
+     * @throws NullPointerException if range is null.
+     */
+    public DateRangeMap<V> without(
+            final DateRange range
+    ) {
+        requireNonNull(range);
+
+        return replace(range.startEpochDay(), range.endEpochDay(), null);
+    }
+
+    /**
+     * A single pass: copy the ranges before, cut the ranges overlapping, insert the value and copy the ranges after.
+     */
+    private DateRangeMap<V> replace(
+            final long startEpochDay,
+            final long endEpochDay,
+            final V value
+    ) {
+        final Builder<V> builder = new Builder<>(size() + 2);
+        int i = 0;
+
+        while (i < size() && this.endEpochDays[i] < startEpochDay) {
+            builder.append(this.startEpochDays[i], this.endEpochDays[i], value(i));
+            i++;
+        }
+
+        if (i < size() && this.startEpochDays[i] < startEpochDay) {
+            builder.append(this.startEpochDays[i], startEpochDay - 1L, value(i));
+        }
+
+        if (nonNull(value)) {
+            builder.append(startEpochDay, endEpochDay, value);
+        }
+
+        while (i < size() && this.endEpochDays[i] <= endEpochDay) {
+            i++;
+        }
+
+        if (i < size() && this.startEpochDays[i] <= endEpochDay) {
+            builder.append(endEpochDay + 1L, this.endEpochDays[i], value(i));
+            i++;
+        }
+
+        while (i < size()) {
+            builder.append(this.startEpochDays[i], this.endEpochDays[i], value(i));
+            i++;
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * @return The ranges and their values, ordered by start.
+     */
+    public List<Entry<V>> entries() {
+        return IntStream.range(0, size())
+                .mapToObj(this::entry)
+                .toList();
+    }
+
+    /**
+     * @return The ranges, ordered by start.
+     */
+    public List<DateRange> ranges() {
+        return IntStream.range(0, size())
+                .mapToObj(this::range)
+                .toList();
+    }
+
+    Entry<V> entry(
+            final int index
+    ) {
+        return new Entry<>(range(index), value(index));
+    }
+
+    DateRange range(
+            final int index
+    ) {
+        return DateRange.ofEpochDays(this.startEpochDays[index], this.endEpochDays[index]);
+    }
+
+    @SuppressWarnings("unchecked")
+    V value(
+            final int index
+    ) {
+        return (V) this.values[index];
+    }
+
+    long startEpochDay(
+            final int index
+    ) {
+        return this.startEpochDays[index];
+    }
+
+    long endEpochDay(
+            final int index
+    ) {
+        return this.endEpochDays[index];
+    }
+
+    /**
+     * @return The index of the last range starting on or before the given day, -1 if none.
+     */
+    int indexOfLastStartOnOrBefore(
+            final long epochDay
+    ) {
+        int low = 0;
+        int high = this.startEpochDays.length;
+
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+
+            if (this.startEpochDays[mid] <= epochDay) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        return low - 1;
+    }
+
+    @Override
+    public boolean equals(
+            final Object other
+    ) {
+        return other instanceof DateRangeMap<?> that
+                && Arrays.equals(this.startEpochDays, that.startEpochDays)
+                && Arrays.equals(this.endEpochDays, that.endEpochDays)
+                && Arrays.equals(this.values, that.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(
+                Arrays.hashCode(this.startEpochDays),
+                Arrays.hashCode(this.endEpochDays),
+                Arrays.hashCode(this.values)
+        );
+    }
+
+    @Override
+    public String toString() {
+        return "DateRangeMap%s".formatted(
+                entries().stream()
+                        .map(entry -> "%s=%s".formatted(entry.range().asText(), entry.value()))
+                        .toList()
+        );
+    }
+
+    /**
+     * A range of the timeline and the value in effect during that range.
+     */
+    public record Entry<V>(
+            DateRange range,
+            V value
+    ) implements DateRangeBased {
+    }
+
+    /**
+     * Collects ranges appended in order of their start, coalescing adjacent ranges holding equal values.
+     */
+    static final class Builder<V> {
+
+        private long[] startEpochDays;
+        private long[] endEpochDays;
+        private Object[] values;
+        private int size;
+
+        Builder(
+                final int expectedSize
+        ) {
+            this.startEpochDays = new long[Math.max(expectedSize, 1)];
+            this.endEpochDays = new long[Math.max(expectedSize, 1)];
+            this.values = new Object[Math.max(expectedSize, 1)];
+        }
+
+        void append(
+                final long startEpochDay,
+                final long endEpochDay,
+                final V value
+        ) {
+            if (this.size > 0
+                    && this.endEpochDays[this.size - 1] != LocalDates.MAX_EPOCH_DAY
+                    && this.endEpochDays[this.size - 1] + 1L == startEpochDay
+                    && Objects.equals(this.values[this.size - 1], value)) {
+                this.endEpochDays[this.size - 1] = endEpochDay;
+                return;
+            }
+
+            if (this.size == this.startEpochDays.length) {
+                this.startEpochDays = Arrays.copyOf(this.startEpochDays, this.size * 2);
+                this.endEpochDays = Arrays.copyOf(this.endEpochDays, this.size * 2);
+                this.values = Arrays.copyOf(this.values, this.size * 2);
+            }
+
+            this.startEpochDays[this.size] = startEpochDay;
+            this.endEpochDays[this.size] = endEpochDay;
+            this.values[this.size] = value;
+            this.size++;
+        }
+
+        DateRangeMap<V> build() {
+            if (this.size == 0) {
+                return empty();
+            }
+
+            return new DateRangeMap<>(
+                    Arrays.copyOf(this.startEpochDays, this.size),
+                    Arrays.copyOf(this.endEpochDays, this.size),
+                    Arrays.copyOf(this.values, this.size)
+            );
+        }
+
+    }
+
+}
@@ -0,0 +1,252 @@
+package be.gerard.time;
+
+import jdk.jfr.EventType;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Opt-in instrumentation of the expensive operations on collections of ranges and days.
+ * <p>
+ * Every instrumented call reports its operation, input size, output size, span (in days) and elapsed time to:
+ * <p>
+ * JFR       -> a DateRangeOperation event, when a recording enables be.gerard.time.DateRangeOperation
+ * listeners -> every Listener added with addListener or provided through ServiceLoader
+ * <p>
+ * Without a listener and without an enabled recording, an instrumented call only checks an empty array and a volatile flag,
+ * neither the clock nor the span is read, nothing is allocated.
+ * <p>
+ * The metrics never fail an instrumented call: a provider that can not be loaded, or a listener that throws, is logged and skipped.
+ */
+public final class DateRangeMetrics {
+
+    private static final System.Logger LOGGER = System.getLogger(DateRangeMetrics.class.getName());
+    private static final Listener[] NO_LISTENERS = new Listener[0];
+    private static final EventType EVENT_TYPE = EventType.getEventType(DateRangeOperationEvent.class);
+
+    private static volatile Listener[] listeners = loadListeners();
+
+    private DateRangeMetrics() {
+        // no-op
+    }
+
+    public static synchronized void addListener(
+            final Listener listener
+    ) {
+        requireNonNull(listener);
+
+        final Listener[] current = listeners;
+        final Listener[] next = Arrays.copyOf(current, current.length + 1);
+        next[current.length] = listener;
+        listeners = next;
+    }
+
+    public static synchronized void removeListener(
+            final Listener listener
+    ) {
+        requireNonNull(listener);
+
+        final Listener[] next = Arrays.stream(listeners)
+                .filter(current -> current != listener)
+                .toArray(Listener[]::new);
+        listeners = next.length == 0 ? NO_LISTENERS : next;
+    }
+
+    /**
+     * The providers are loaded one at a time, so a provider that can not be loaded does not prevent the others.
+     */
+    private static Listener[] loadListeners() {
+        final List<Listener> loaded = new ArrayList<>();
+        final Iterator<Listener> iterator = ServiceLoader.load(Listener.class).iterator();
+
+        while (true) {
+            try {
+                if (!iterator.hasNext()) {
+                    break;
+                }
+
+                loaded.add(iterator.next());
+            } catch (ServiceConfigurationError e) {
+                LOGGER.log(System.Logger.Level.WARNING, "skipped a DateRangeMetrics.Listener that could not be loaded", e);
+            }
+        }
+
+        return loaded.isEmpty() ? NO_LISTENERS : loaded.toArray(Listener[]::new);
+    }
+
+    /**
+     * @return The Measurement of an instrumented call, null if nobody is interested.
+     */
+    static Measurement start() {
+        final boolean eventEnabled = EVENT_TYPE.isEnabled();
+
+        if (listeners.length == 0 && !eventEnabled) {
+            return null;
+        }
+
+        final DateRangeOperationEvent event = eventEnabled ? new DateRangeOperationEvent() : null;
+
+        if (nonNull(event)) {
+            event.begin();
+        }
+
+        return new Measurement(System.nanoTime(), event);
+    }
+
+    static void record(
+            final Operation operation,
+            final Measurement measurement,
+            final Collection<? extends DateRange> input,
+            final int outputSize
+    ) {
+        if (isNull(measurement)) {
+            return;
+        }
+
+        final long elapsed = stop(measurement);
+        long minEpochDay = Long.MAX_VALUE;
+        long maxEpochDay = Long.MIN_VALUE;
+
+        for (final DateRange range : input) {
+            minEpochDay = Math.min(minEpochDay, range.startEpochDay());
+            maxEpochDay = Math.max(maxEpochDay, range.endEpochDay());
+        }
+
+        publish(operation, measurement, input.size(), outputSize, span(minEpochDay, maxEpochDay), elapsed);
+    }
+
+    static void recordDays(
+            final Operation operation,
+            final Measurement measurement,
+            final Collection<LocalDate> input,
+            final int outputSize
+    ) {
+        if (isNull(measurement)) {
+            return;
+        }
+
+        final long elapsed = stop(measurement);
+        long minEpochDay = Long.MAX_VALUE;
+        long maxEpochDay = Long.MIN_VALUE;
+
+        for (final LocalDate day : input) {
+            final long epochDay = day.toEpochDay();
+            minEpochDay = Math.min(minEpochDay, epochDay);
+            maxEpochDay = Math.max(maxEpochDay, epochDay);
+        }
+
+        publish(operation, measurement, input.size(), outputSize, span(minEpochDay, maxEpochDay), elapsed);
+    }
+
+    /**
+     * Ends the measurement before the span is computed and the listeners are notified, so neither counts as the elapsed time of the operation.
+     *
+     * @return The elapsed nanos since the start.
+     */
+    private static long stop(
+            final Measurement measurement
+    ) {
+        final long elapsed = System.nanoTime() - measurement.startNanos();
+        final DateRangeOperationEvent event = measurement.event();
+
+        if (nonNull(event)) {
+            event.end();
+        }
+
+        return elapsed;
+    }
+
+    private static long span(
+            final long minEpochDay,
+            final long maxEpochDay
+    ) {
+        if (minEpochDay > maxEpochDay) {
+            return 0L;
+        } else if (maxEpochDay == LocalDates.MAX_EPOCH_DAY) {
+            return Long.MAX_VALUE;
+        }
+
+        return maxEpochDay - minEpochDay + 1L;
+    }
+
+    private static void publish(
+            final Operation operation,
+            final Measurement measurement,
+            final int inputSize,
+            final int outputSize,
+            final long span,
+            final long elapsed
+    ) {
+        for (final Listener listener : listeners) {
+            try {
+                listener.onOperation(operation, inputSize, outputSize, span, elapsed);
+            } catch (Exception e) {
+                LOGGER.log(System.Logger.Level.WARNING, "a DateRangeMetrics.Listener failed [operation=%s]".formatted(operation), e);
+            }
+        }
+
+        final DateRangeOperationEvent event = measurement.event();
+
+        if (nonNull(event) && event.shouldCommit()) {
+            event.operation = operation.name();
+            event.inputSize = inputSize;
+            event.outputSize = outputSize;
+            event.span = span;
+            event.elapsed = elapsed;
+            event.commit();
+        }
+    }
+
+    /**
+     * The start of an instrumented call, with its JFR event when a recording enables it (begun at the start).
+     */
+    record Measurement(
+            long startNanos,
+            DateRangeOperationEvent event
+    ) {
+    }
+
+    public enum Operation {
+        MERGE,
+        FIND_ALL_INTERSECTIONS,
+        SUBTRACT,
+        AS_DAYS,
+        DATE_RANGES,
+        DAYS
+    }
+
+    /**
+     * Receives every instrumented call, on the calling thread, implementations should be fast and thread-safe (e.g. counters and timers).
+     * Implementations can be registered through addListener, or as a provider of this service (META-INF/services or module-info).
+     */
+    @FunctionalInterface
+    public interface Listener {
+
+        /**
+         * @param operation    The instrumented operation.
+         * @param inputSize    The number of ranges or days in the input.
+         * @param outputSize   The number of ranges or days in the output.
+         * @param span         The days from the first to the last day of the input, Long.MAX_VALUE if the input is infinite.
+         * @param elapsedNanos The duration of the call.
+         */
+        void onOperation(
+                Operation operation,
+                int inputSize,
+                int outputSize,
+                long span,
+                long elapsedNanos
+        );
+
+    }
+
+}
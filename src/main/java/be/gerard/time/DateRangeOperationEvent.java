@@ -0,0 +1,44 @@
+package be.gerard.time;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * A JDK Flight Recorder event for every instrumented operation, disabled unless a recording enables it:
+ * <p>
+ * jcmd PID JFR.start settings=profile +be.gerard.time.DateRangeOperation#enabled=true
+ *
+ * @see DateRangeMetrics
+ */
+@Name("be.gerard.time.DateRangeOperation")
+@Label("Date Range Operation")
+@Category("Time")
+@Description("An operation on a collection of ranges or days")
+@Enabled(false)
+@StackTrace(false)
+final class DateRangeOperationEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Input Size")
+    int inputSize;
+
+    @Label("Output Size")
+    int outputSize;
+
+    @Label("Span")
+    @Description("Days from the first to the last day of the input, Long.MAX_VALUE if the input is infinite")
+    long span;
+
+    @Label("Elapsed")
+    @Timespan(Timespan.NANOSECONDS)
+    long elapsed;
+
+}
@@ -0,0 +1,358 @@
+package be.gerard.time;
+
+import be.gerard.time.internal.DateRangeEndInclusive;
+import be.gerard.time.internal.DateRangeInfinite;
+import be.gerard.time.internal.DateRangeOneDay;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Year;
+import java.time.format.DateTimeParseException;
+import java.util.Objects;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A hand-rolled parser for the text representation of DateRanges, without regular expressions, DateTimeFormatters or intermediate Strings.
+ * <p>
+ * startDate          -> ONE DAY
+ * startDate..        -> INFINITE
+ * startDate..endDate -> END INCLUSIVE
+ * <p>
+ * Every date is strict ISO-8601 (yyyy-MM-dd), exactly like LocalDate.parse:
+ * - 4 digit years without sign (2000-01-01)
+ * - 4 to 10 digit years with a '-' sign (-2000-01-01)
+ * - 5 to 10 digit years with a '+' sign (+10000-01-01)
+ * <p>
+ * Malformed input results in a DateTimeParseException whose error index points at the offending character within the parsed text, counted from offset.
+ */
+public final class DateRangeParser {
+
+    private static final long DAYS_0000_TO_1970 = (146097L * 5L) - (30L * 365L + 7L);
+    private static final long MAX_YEAR = Year.MAX_VALUE;
+    private static final int MAX_YEAR_DIGITS = 10;
+
+    private DateRangeParser() {
+        // no-op
+    }
+
+    /**
+     * @see #parse(CharSequence, int, int)
+     */
+    public static DateRange parse(
+            final CharSequence value
+    ) {
+        requireNonNull(value);
+
+        return parse(value, 0, value.length());
+    }
+
+    /**
+     * Parse the characters from offset (included) to offset + length (excluded) into the corresponding DateRange.
+     *
+     * @param value  A CharSequence containing a DateRange.
+     * @param offset The index of the first character of the DateRange.
+     * @param length The number of characters of the DateRange.
+     * @return DateRange
+     * @throws NullPointerException      if value is null.
+     * @throws IndexOutOfBoundsException if offset and length do not fit value.
+     * @throws DateTimeParseException    if the characters do not represent a DateRange.
+     * @throws IllegalArgumentException  if the end date is before the start date.
+     */
+    public static DateRange parse(
+            final CharSequence value,
+            final int offset,
+            final int length
+    ) {
+        requireNonNull(value);
+        Objects.checkFromIndexSize(offset, length, value.length());
+
+        return parseRange(value, offset, length);
+    }
+
+    /**
+     * Parse the remaining ASCII bytes of the buffer (position to limit) into the corresponding DateRange.
+     * The position of the buffer is not changed.
+     *
+     * @see #parse(ByteBuffer, int, int)
+     */
+    public static DateRange parse(
+            final ByteBuffer ascii
+    ) {
+        requireNonNull(ascii);
+
+        return parse(ascii, ascii.position(), ascii.remaining());
+    }
+
+    /**
+     * Parse the ASCII bytes from offset (included) to offset + length (excluded) into the corresponding DateRange.
+     * Only absolute reads are used, the position of the buffer is not changed.
+     *
+     * @param ascii  A ByteBuffer containing a DateRange in ASCII.
+     * @param offset The absolute index of the first byte of the DateRange.
+     * @param length The number of bytes of the DateRange.
+     * @return DateRange
+     * @throws NullPointerException      if ascii is null.
+     * @throws IndexOutOfBoundsException if offset and length do not fit the limit of the buffer.
+     * @throws DateTimeParseException    if the bytes do not represent a DateRange.
+     * @throws IllegalArgumentException  if the end date is before the start date.
+     */
+    public static DateRange parse(
+            final ByteBuffer ascii,
+            final int offset,
+            final int length
+    ) {
+        requireNonNull(ascii);
+        Objects.checkFromIndexSize(offset, length, ascii.limit());
+
+        return parseRange(ascii, offset, length);
+    }
+
+    /**
+     * Parse the characters from offset (included) to offset + length (excluded) as a single ISO-8601 date.
+     *
+     * @return The epoch day of the date.
+     * @throws NullPointerException      if value is null.
+     * @throws IndexOutOfBoundsException if offset and length do not fit value.
+     * @throws DateTimeParseException    if the characters do not represent a date.
+     * @see java.time.LocalDate#toEpochDay()
+     */
+    public static long parseEpochDay(
+            final CharSequence value,
+            final int offset,
+            final int length
+    ) {
+        requireNonNull(value);
+        Objects.checkFromIndexSize(offset, length, value.length());
+
+        return parseEpochDay(value, offset, offset + length, offset, offset + length);
+    }
+
+    /**
+     * The source is either a CharSequence or a ByteBuffer of ASCII bytes, read through charAt without a wrapper per call.
+     * The text for an error message is only created once the input turns out to be invalid.
+     */
+    private static DateRange parseRange(
+            final Object source,
+            final int offset,
+            final int length
+    ) {
+        final int end = offset + length;
+        final int dot = indexOfDot(source, offset, end);
+
+        if (dot < 0) {
+            return new DateRangeOneDay(parseEpochDay(source, offset, end, offset, end));
+        }
+
+        if (dot + 1 == end || charAt(source, dot + 1) != '.') {
+            throw invalid(source, offset, end, dot + 1, "expected '..'");
+        }
+
+        final long startEpochDay = parseEpochDay(source, offset, dot, offset, end);
+
+        if (dot + 2 == end) {
+            return new DateRangeInfinite(startEpochDay);
+        }
+
+        return new DateRangeEndInclusive(
+                startEpochDay,
+                parseEpochDay(source, dot + 2, end, offset, end)
+        );
+    }
+
+    private static int indexOfDot(
+            final Object source,
+            final int from,
+            final int to
+    ) {
+        for (int i = from; i < to; i++) {
+            if (charAt(source, i) == '.') {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Parse [from, to) as yyyy-MM-dd, see the class documentation for the allowed years.
+     */
+    private static long parseEpochDay(
+            final Object source,
+            final int from,
+            final int to,
+            final int textStart,
+            final int textEnd
+    ) {
+        int i = from;
+
+        if (i == to) {
+            throw invalid(source, textStart, textEnd, i, "expected a date");
+        }
+
+        final char sign = charAt(source, i);
+        if (sign == '+' || sign == '-') {
+            i++;
+        }
+
+        final int yearStart = i;
+        long year = 0L;
+
+        while (i < to && isDigit(charAt(source, i))) {
+            if (i - yearStart == MAX_YEAR_DIGITS) {
+                throw invalid(source, textStart, textEnd, i, "year has too many digits");
+            }
+            year = year * 10L + (charAt(source, i) - '0');
+            i++;
+        }
+
+        final int yearDigits = i - yearStart;
+
+        if (yearDigits < 4) {
+            throw invalid(source, textStart, textEnd, i, "expected a digit");
+        } else if (sign == '+' && yearDigits == 4) {
+            throw invalid(source, textStart, textEnd, from, "a '+' sign requires a year of more than 4 digits");
+        } else if (sign != '+' && sign != '-' && yearDigits > 4) {
+            throw invalid(source, textStart, textEnd, yearStart + 4, "a year of more than 4 digits requires a '+' sign");
+        } else if (sign == '-' && year == 0L) {
+            throw invalid(source, textStart, textEnd, from, "negative zero year");
+        } else if (year > MAX_YEAR) {
+            throw invalid(source, textStart, textEnd, from, "year out of range");
+        }
+
+        if (sign == '-') {
+            year = -year;
+        }
+
+        i = expect(source, i, to, '-', textStart, textEnd);
+        final int monthIndex = i;
+        final int month = twoDigits(source, i, to, textStart, textEnd);
+        i = expect(source, i + 2, to, '-', textStart, textEnd);
+        final int dayIndex = i;
+        final int day = twoDigits(source, i, to, textStart, textEnd);
+        i += 2;
+
+        if (i != to) {
+            throw invalid(source, textStart, textEnd, i, "unparsed text found");
+        } else if (month < 1 || month > 12) {
+            throw invalid(source, textStart, textEnd, monthIndex, "invalid month");
+        } else if (day < 1 || day > lengthOfMonth(year, month)) {
+            throw invalid(source, textStart, textEnd, dayIndex, "invalid day of month");
+        }
+
+        return toEpochDay(year, month, day);
+    }
+
+    private static int expect(
+            final Object source,
+            final int index,
+            final int to,
+            final char expected,
+            final int textStart,
+            final int textEnd
+    ) {
+        if (index >= to || charAt(source, index) != expected) {
+            throw invalid(source, textStart, textEnd, index, "expected '%s'".formatted(expected));
+        }
+
+        return index + 1;
+    }
+
+    private static int twoDigits(
+            final Object source,
+            final int index,
+            final int to,
+            final int textStart,
+            final int textEnd
+    ) {
+        for (int i = index; i < index + 2; i++) {
+            if (i >= to || !isDigit(charAt(source, i))) {
+                throw invalid(source, textStart, textEnd, i, "expected a digit");
+            }
+        }
+
+        return (charAt(source, index) - '0') * 10 + (charAt(source, index + 1) - '0');
+    }
+
+    private static boolean isDigit(
+            final char c
+    ) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static int lengthOfMonth(
+            final long year,
+            final int month
+    ) {
+        return switch (month) {
+            case 2 -> Year.isLeap(year) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    /**
+     * @see java.time.LocalDate#toEpochDay()
+     */
+    private static long toEpochDay(
+            final long year,
+            final long month,
+            final long day
+    ) {
+        long total = 365L * year;
+
+        if (year >= 0) {
+            total += (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400;
+        } else {
+            total -= year / -4 - year / -100 + year / -400;
+        }
+
+        total += (367 * month - 362) / 12;
+        total += day - 1;
+
+        if (month > 2) {
+            total--;
+            if (!Year.isLeap(year)) {
+                total--;
+            }
+        }
+
+        return total - DAYS_0000_TO_1970;
+    }
+
+    private static char charAt(
+            final Object source,
+            final int index
+    ) {
+        return source instanceof CharSequence value
+                ? value.charAt(index)
+                : (char) (((ByteBuffer) source).get(index) & 0xFF);
+    }
+
+    private static DateTimeParseException invalid(
+            final Object source,
+            final int textStart,
+            final int textEnd,
+            final int index,
+            final String reason
+    ) {
+        final CharSequence parsedData = source instanceof CharSequence value
+                ? value.subSequence(textStart, textEnd)
+                : asText((ByteBuffer) source, textStart, textEnd - textStart);
+        final int errorIndex = index - textStart;
+        return new DateTimeParseException(
+                "Text '%s' could not be parsed at index %d: %s".formatted(parsedData, errorIndex, reason),
+                parsedData,
+                errorIndex
+        );
+    }
+
+    private static CharSequence asText(
+            final ByteBuffer ascii,
+            final int offset,
+            final int length
+    ) {
+        return StandardCharsets.US_ASCII.decode(ascii.slice(offset, length));
+    }
+
+}
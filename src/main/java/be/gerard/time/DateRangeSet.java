@@ -0,0 +1,410 @@
+package be.gerard.time;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static java.util.Objects.requireNonNull;
+import static org.apache.commons.lang3.Validate.isTrue;
+
+/**
+ * An immutable set of days, always normalized into ranges that are sorted, disjoint and never adjacent.
+ * <p>
+ * Given: ["2000-01-05..2000-01-10", "2000-01-01..2000-01-03", "2000-01-04", "2000-01-08..2000-01-12"]
+ * Result: ["2000-01-01..2000-01-12"]
+ * <p>
+ * The ranges are stored as two primitive arrays of epoch days (start and end, both included).
+ * Since both operands are normalized, all set algebra is a single linear merge of both arrays:
+ * <p>
+ * containsDay / containsRange          -> O(log n)
+ * union / intersect / subtract         -> O(n + m)
+ * complement                           -> O(n), within LocalDate.MIN..LocalDate.MAX
+ * <p>
+ * Infinite ranges end on the epoch day of LocalDate.MAX.
+ */
+public final class DateRangeSet {
+
+    private static final DateRangeSet EMPTY = new DateRangeSet(new long[0], new long[0]);
+
+    private final long[] startEpochDays;
+    private final long[] endEpochDays;
+
+    private DateRangeSet(
+            final long[] startEpochDays,
+            final long[] endEpochDays
+    ) {
+        this.startEpochDays = startEpochDays;
+        this.endEpochDays = endEpochDays;
+    }
+
+    public static DateRangeSet empty() {
+        return EMPTY;
+    }
+
+    public static DateRangeSet of(
+            final DateRange... ranges
+    ) {
+        return ofRanges(Arrays.asList(ranges));
+    }
+
+    /**
+     * @throws NullPointerException if ranges is null.
+     */
+    public static DateRangeSet ofRanges(
+            final Collection<DateRange> ranges
+    ) {
+        requireNonNull(ranges);
+
+        final Builder builder = new Builder(ranges.size());
+
+        ranges.stream()
+                .sorted(DateRange.startThenEnd())
+                .forEachOrdered(range -> builder.append(range.startEpochDay(), range.endEpochDay()));
+
+        return builder.build();
+    }
+
+    public static DateRangeSet of(
+            final DateRanges ranges
+    ) {
+        requireNonNull(ranges);
+
+        return ofRanges(ranges.ranges());
+    }
+
+    /**
+     * @throws NullPointerException if days is null.
+     */
+    public static DateRangeSet ofDays(
+            final Collection<LocalDate> days
+    ) {
+        requireNonNull(days);
+
+        final long[] epochDays = days.stream()
+                .mapToLong(LocalDate::toEpochDay)
+                .sorted()
+                .toArray();
+        final Builder builder = new Builder(epochDays.length);
+
+        for (final long epochDay : epochDays) {
+            builder.append(epochDay, epochDay);
+        }
+
+        return builder.build();
+    }
+
+    public static DateRangeSet of(
+            final Days days
+    ) {
+        requireNonNull(days);
+
+        return ofDays(days.dates());
+    }
+
+    /**
+     * @return The number of (normalized) ranges.
+     */
+    public int size() {
+        return this.startEpochDays.length;
+    }
+
+    public boolean isEmpty() {
+        return this.startEpochDays.length == 0;
+    }
+
+    public boolean isFinite() {
+        return isEmpty() || this.endEpochDays[this.endEpochDays.length - 1] != LocalDates.MAX_EPOCH_DAY;
+    }
+
+    /**
+     * @return The number of days within this set, Long.MAX_VALUE if infinite.
+     * @see DateRange#length()
+     */
+    public long length() {
+        if (!isFinite()) {
+            return Long.MAX_VALUE;
+        }
+
+        long length = 0L;
+
+        for (int i = 0; i < this.startEpochDays.length; i++) {
+            length += this.endEpochDays[i] - this.startEpochDays[i] + 1L;
+        }
+
+        return length;
+    }
+
+    public boolean containsDay(
+            final LocalDate day
+    ) {
+        requireNonNull(day);
+
+        return containsDay(day.toEpochDay());
+    }
+
+    public boolean containsDay(
+            final long epochDay
+    ) {
+        final int index = indexOfLastStartOnOrBefore(epochDay);
+
+        return index >= 0 && this.endEpochDays[index] >= epochDay;
+    }
+
+    public boolean containsRange(
+            final DateRange range
+    ) {
+        requireNonNull(range);
+
+        final int index = indexOfLastStartOnOrBefore(range.startEpochDay());
+
+        return index >= 0 && this.endEpochDays[index] >= range.endEpochDay();
+    }
+
+    public DateRangeSet union(
+            final DateRangeSet other
+    ) {
+        requireNonNull(other);
+
+        final Builder builder = new Builder(size() + other.size());
+        int i = 0;
+        int j = 0;
+
+        while (i < size() || j < other.size()) {
+            if (j == other.size() || (i < size() && this.startEpochDays[i] <= other.startEpochDays[j])) {
+                builder.append(this.startEpochDays[i], this.endEpochDays[i]);
+                i++;
+            } else {
+                builder.append(other.startEpochDays[j], other.endEpochDays[j]);
+                j++;
+            }
+        }
+
+        return builder.build();
+    }
+
+    public DateRangeSet intersect(
+            final DateRangeSet other
+    ) {
+        requireNonNull(other);
+
+        final Builder builder = new Builder(Math.min(size(), other.size()));
+        int i = 0;
+        int j = 0;
+
+        while (i < size() && j < other.size()) {
+            final long start = Math.max(this.startEpochDays[i], other.startEpochDays[j]);
+            final long end = Math.min(this.endEpochDays[i], other.endEpochDays[j]);
+
+            if (start <= end) {
+                builder.append(start, end);
+            }
+
+            if (this.endEpochDays[i] < other.endEpochDays[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+
+        return builder.build();
+    }
+
+    public DateRangeSet subtract(
+            final DateRangeSet other
+    ) {
+        requireNonNull(other);
+
+        final Builder builder = new Builder(size() + other.size());
+        int j = 0;
+
+        for (int i = 0; i < size(); i++) {
+            final long end = this.endEpochDays[i];
+            long current = this.startEpochDays[i];
+            boolean exhausted = false;
+
+            while (j < other.size() && other.endEpochDays[j] < current) {
+                j++;
+            }
+
+            for (int k = j; k < other.size() && other.startEpochDays[k] <= end; k++) {
+                if (other.startEpochDays[k] > current) {
+                    builder.append(current, other.startEpochDays[k] - 1L);
+                }
+                if (other.endEpochDays[k] >= end) {
+                    exhausted = true;
+                    break;
+                }
+                current = other.endEpochDays[k] + 1L;
+            }
+
+            if (!exhausted) {
+                builder.append(current, end);
+            }
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * @return All days from LocalDate.MIN up to LocalDate.MAX that are not within this set.
+     */
+    public DateRangeSet complement() {
+        final Builder builder = new Builder(size() + 1);
+        long current = LocalDates.MIN_EPOCH_DAY;
+
+        for (int i = 0; i < size(); i++) {
+            if (this.startEpochDays[i] > current) {
+                builder.append(current, this.startEpochDays[i] - 1L);
+            }
+            if (this.endEpochDays[i] == LocalDates.MAX_EPOCH_DAY) {
+                return builder.build();
+            }
+            current = this.endEpochDays[i] + 1L;
+        }
+
+        builder.append(current, LocalDates.MAX_EPOCH_DAY);
+
+        return builder.build();
+    }
+
+    /**
+     * @return The normalized ranges, ordered.
+     */
+    public List<DateRange> asRanges() {
+        return IntStream.range(0, size())
+                .mapToObj(i -> DateRange.ofEpochDays(this.startEpochDays[i], this.endEpochDays[i]))
+                .toList();
+    }
+
+    /**
+     * @throws IllegalArgumentException if this set is empty.
+     */
+    public DateRanges asDateRanges() {
+        return DateRanges.ofRanges(asRanges());
+    }
+
+    /**
+     * @return A lazy, ordered view on the epoch days within this set.
+     * @see DateRange#epochDays()
+     */
+    public LongStream epochDays() {
+        return IntStream.range(0, size())
+                .mapToObj(i -> LongStream.rangeClosed(this.startEpochDays[i], this.endEpochDays[i]))
+                .flatMapToLong(epochDays -> epochDays);
+    }
+
+    /**
+     * @return A lazy, ordered view on the days within this set.
+     */
+    public Stream<LocalDate> days() {
+        return epochDays().mapToObj(LocalDate::ofEpochDay);
+    }
+
+    /**
+     * @throws IllegalArgumentException if this set is empty or infinite.
+     */
+    public Days asDays() {
+        isTrue(isFinite(), "infinite range to days conversion is not supported");
+
+        return Days.ofDays(days().toList());
+    }
+
+    private int indexOfLastStartOnOrBefore(
+            final long epochDay
+    ) {
+        int low = 0;
+        int high = this.startEpochDays.length;
+
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+
+            if (this.startEpochDays[mid] <= epochDay) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        return low - 1;
+    }
+
+    @Override
+    public boolean equals(
+            final Object other
+    ) {
+        return other instanceof DateRangeSet that
+                && Arrays.equals(this.startEpochDays, that.startEpochDays)
+                && Arrays.equals(this.endEpochDays, that.endEpochDays);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(this.startEpochDays) + Arrays.hashCode(this.endEpochDays);
+    }
+
+    @Override
+    public String toString() {
+        return "DateRangeSet%s".formatted(
+                asRanges().stream()
+                        .map(DateRange::asText)
+                        .toList()
+        );
+    }
+
+    /**
+     * Collects ranges appended in order of their start, merging overlapping and adjacent ranges on the fly.
+     */
+    private static final class Builder {
+
+        private long[] startEpochDays;
+        private long[] endEpochDays;
+        private int size;
+
+        private Builder(
+                final int expectedSize
+        ) {
+            this.startEpochDays = new long[Math.max(expectedSize, 1)];
+            this.endEpochDays = new long[Math.max(expectedSize, 1)];
+        }
+
+        private void append(
+                final long startEpochDay,
+                final long endEpochDay
+        ) {
+            if (this.size > 0) {
+                final long lastEndEpochDay = this.endEpochDays[this.size - 1];
+
+                if (lastEndEpochDay == LocalDates.MAX_EPOCH_DAY || startEpochDay <= lastEndEpochDay + 1L) {
+                    this.endEpochDays[this.size - 1] = Math.max(lastEndEpochDay, endEpochDay);
+                    return;
+                }
+            }
+
+            if (this.size == this.startEpochDays.length) {
+                this.startEpochDays = Arrays.copyOf(this.startEpochDays, this.size * 2);
+                this.endEpochDays = Arrays.copyOf(this.endEpochDays, this.size * 2);
+            }
+
+            this.startEpochDays[this.size] = startEpochDay;
+            this.endEpochDays[this.size] = endEpochDay;
+            this.size++;
+        }
+
+        private DateRangeSet build() {
+            if (this.size == 0) {
+                return EMPTY;
+            }
+
+            return new DateRangeSet(
+                    Arrays.copyOf(this.startEpochDays, this.size),
+                    Arrays.copyOf(this.endEpochDays, this.size)
+            );
+        }
+
+    }
+
+}
@@ -0,0 +1,651 @@
+package be.gerard.time;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.time.LocalDate;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.IntConsumer;
+
+import static java.util.Objects.checkIndex;
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
+import static org.apache.commons.lang3.Validate.isTrue;
+import static org.apache.commons.lang3.Validate.validState;
+
+/**
+ * A growable, columnar store of ranges kept off-heap, for datasets too large to keep as DateRange objects.
+ * <p>
+ * Row i holds the start and end epoch day of a range as ints, and optionally a long payload (e.g. the id of an assignment).
+ * The columns live in direct ByteBuffers of CHUNK_SIZE rows each, so the garbage collector neither copies nor scans them.
+ * Like DateRangeBatch, an infinite range ends on Integer.MAX_VALUE and every other epoch day must fit strictly within an int.
+ * <p>
+ * append             -> adds a row at the end, the store remembers whether the rows are still sorted by start, then end
+ * sort               -> sorts the rows in place by start, then end, the payloads move along (not stable)
+ * merge              -> a new store of the merged ranges of a sorted store, the same ranges as DateRange.merge
+ * containing/intersecting a day or window -> the matching rows, in ascending order
+ * ranges             -> a List view creating a DateRange per accessed row, nothing is copied up front
+ * <p>
+ * Every chunk keeps the smallest start and the largest end of its rows, queries skip the chunks that can not match.
+ * On a sorted store, a query also stops at the first row starting after the day or window.
+ * <p>
+ * A store is not thread-safe. Closing it drops the columns, their memory is released once the buffers are collected.
+ */
+public final class DateRangeStore implements AutoCloseable {
+
+    static final int CHUNK_SIZE = 1 << 16;
+
+    private static final int CHUNK_SHIFT = 16;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int INFINITE_END_EPOCH_DAY = Integer.MAX_VALUE;
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    private final boolean payloads;
+    private Chunk[] chunks = new Chunk[0];
+    private int size;
+    private boolean sorted = true;
+    private boolean closed;
+
+    private DateRangeStore(
+            final boolean payloads
+    ) {
+        this.payloads = payloads;
+    }
+
+    /**
+     * @return An empty store without a payload column.
+     */
+    public static DateRangeStore create() {
+        return new DateRangeStore(false);
+    }
+
+    /**
+     * @return An empty store with a long payload per row.
+     */
+    public static DateRangeStore createWithPayloads() {
+        return new DateRangeStore(true);
+    }
+
+    private static int toInt(
+            final long epochDay
+    ) {
+        isTrue(epochDay > Integer.MIN_VALUE && epochDay < INFINITE_END_EPOCH_DAY, "epoch day does not fit in a store [epochDay=%d]", epochDay);
+
+        return (int) epochDay;
+    }
+
+    private static int toEndInt(
+            final DateRange range
+    ) {
+        return range.isFinite()
+                ? toInt(range.endEpochDay())
+                : INFINITE_END_EPOCH_DAY;
+    }
+
+    /**
+     * Map the requested epoch day onto the int domain of the rows, see DateRangeBatch.
+     */
+    private static int clamp(
+            final long epochDay
+    ) {
+        return Math.clamp(epochDay, Integer.MIN_VALUE, INFINITE_END_EPOCH_DAY);
+    }
+
+    /**
+     * The start in the high and the end in the low half, the sign bit of the end flipped so the low half orders like an int.
+     */
+    private static long key(
+            final int startEpochDay,
+            final int endEpochDay
+    ) {
+        return ((long) startEpochDay << 32) | ((endEpochDay ^ Integer.MIN_VALUE) & 0xFFFFFFFFL);
+    }
+
+    /**
+     * @return The index of the new row.
+     * @throws NullPointerException     if range is null.
+     * @throws IllegalArgumentException if an epoch day does not fit in an int.
+     * @throws IllegalStateException    if the store has a payload column, or is closed.
+     */
+    public int append(
+            final DateRange range
+    ) {
+        requireNonNull(range);
+        validState(!this.payloads, "the store has payloads, append a range with its payload");
+
+        return appendRow(toInt(range.startEpochDay()), toEndInt(range), 0L);
+    }
+
+    /**
+     * @return The index of the new row.
+     * @throws NullPointerException     if range is null.
+     * @throws IllegalArgumentException if an epoch day does not fit in an int.
+     * @throws IllegalStateException    if the store has no payload column, or is closed.
+     */
+    public int append(
+            final DateRange range,
+            final long payload
+    ) {
+        requireNonNull(range);
+        validState(this.payloads, "the store has no payloads, append a range without payload");
+
+        return appendRow(toInt(range.startEpochDay()), toEndInt(range), payload);
+    }
+
+    /**
+     * Append the ranges in iteration order.
+     *
+     * @throws NullPointerException     if ranges is null or contains null.
+     * @throws IllegalArgumentException if an epoch day does not fit in an int, the ranges before remain appended.
+     * @throws IllegalStateException    if the store has a payload column, or is closed.
+     */
+    public void appendAll(
+            final Collection<? extends DateRange> ranges
+    ) {
+        requireNonNull(ranges);
+
+        for (final DateRange range : ranges) {
+            append(range);
+        }
+    }
+
+    private int appendRow(
+            final int startEpochDay,
+            final int endEpochDay,
+            final long payload
+    ) {
+        checkOpen();
+        validState(this.size < Integer.MAX_VALUE, "the store is full [size=%d]", this.size);
+
+        final int row = this.size;
+
+        if ((row >>> CHUNK_SHIFT) == this.chunks.length) {
+            this.chunks = Arrays.copyOf(this.chunks, this.chunks.length + 1);
+            this.chunks[this.chunks.length - 1] = new Chunk(this.payloads);
+        }
+
+        if (row > 0 && this.sorted) {
+            this.sorted = key(startAt(row - 1), endAt(row - 1)) <= key(startEpochDay, endEpochDay);
+        }
+
+        final Chunk chunk = this.chunks[row >>> CHUNK_SHIFT];
+        chunk.set(row & CHUNK_MASK, startEpochDay, endEpochDay, payload);
+        chunk.include(startEpochDay, endEpochDay);
+        this.size++;
+
+        return row;
+    }
+
+    public int size() {
+        checkOpen();
+
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public boolean hasPayloads() {
+        return this.payloads;
+    }
+
+    /**
+     * @return true if the rows are sorted by start, then end, e.g. after sort or after appending in that order.
+     */
+    public boolean isSorted() {
+        checkOpen();
+
+        return this.sorted;
+    }
+
+    public long startEpochDay(
+            final int row
+    ) {
+        return startAt(checkRow(row));
+    }
+
+    /**
+     * @return The end epoch day of the row, LocalDates.MAX_EPOCH_DAY for an infinite range.
+     */
+    public long endEpochDay(
+            final int row
+    ) {
+        final int endEpochDay = endAt(checkRow(row));
+
+        return endEpochDay == INFINITE_END_EPOCH_DAY ? LocalDates.MAX_EPOCH_DAY : endEpochDay;
+    }
+
+    /**
+     * @throws IllegalStateException if the store has no payload column, or is closed.
+     */
+    public long payload(
+            final int row
+    ) {
+        validState(this.payloads, "the store has no payloads");
+
+        final int index = checkRow(row);
+
+        return this.chunks[index >>> CHUNK_SHIFT].payloads.get(index & CHUNK_MASK);
+    }
+
+    public DateRange range(
+            final int row
+    ) {
+        return DateRange.ofEpochDays(startEpochDay(row), endEpochDay(row));
+    }
+
+    /**
+     * DateRange is sealed, so a row can not be a DateRange itself: every access creates one (one-days near today are shared instances).
+     *
+     * @return A view of the rows as DateRanges, reflecting later appends and sorts.
+     */
+    public List<DateRange> ranges() {
+        return new RangesView();
+    }
+
+    /**
+     * Sort the rows in place by start, then end (DateRange.startThenEnd), without copying them to the heap.
+     * Rows with the same range may end up in any order.
+     *
+     * @throws IllegalStateException if the store is closed.
+     */
+    public void sort() {
+        checkOpen();
+
+        if (this.sorted) {
+            return;
+        }
+
+        sort(0, this.size, 2 * (Integer.SIZE - Integer.numberOfLeadingZeros(this.size)));
+
+        for (int c = 0; c < this.chunks.length; c++) {
+            this.chunks[c].resetBounds();
+
+            final int end = Math.min(this.size, (c + 1) << CHUNK_SHIFT);
+
+            for (int row = c << CHUNK_SHIFT; row < end; row++) {
+                this.chunks[c].include(startAt(row), endAt(row));
+            }
+        }
+
+        this.sorted = true;
+    }
+
+    /**
+     * Merge the overlapping and adjacent ranges of a sorted store in a single pass.
+     *
+     * @return A new, sorted store without payloads holding the merged ranges.
+     * @throws IllegalStateException if the store is not sorted, or is closed.
+     * @see DateRange#merge(Collection)
+     */
+    public DateRangeStore merge() {
+        validState(isSorted(), "the store must be sorted to merge, see sort()");
+
+        final DateRangeStore merged = create();
+
+        if (this.size == 0) {
+            return merged;
+        }
+
+        int currentStart = startAt(0);
+        int currentEnd = endAt(0);
+
+        for (int row = 1; row < this.size; row++) {
+            final int startEpochDay = startAt(row);
+
+            if (startEpochDay <= (long) currentEnd + 1L) {
+                currentEnd = Math.max(currentEnd, endAt(row));
+            } else {
+                merged.appendRow(currentStart, currentEnd, 0L);
+                currentStart = startEpochDay;
+                currentEnd = endAt(row);
+            }
+        }
+
+        merged.appendRow(currentStart, currentEnd, 0L);
+
+        return merged;
+    }
+
+    /**
+     * @param day    A LocalDate.
+     * @param action Called with every row containing the day, in ascending order.
+     * @throws NullPointerException  if an argument is null.
+     * @throws IllegalStateException if the store is closed.
+     */
+    public void forEachContainingDay(
+            final LocalDate day,
+            final IntConsumer action
+    ) {
+        requireNonNull(day);
+
+        final int epochDay = clamp(day.toEpochDay());
+
+        forEachIntersecting(epochDay, epochDay, requireNonNull(action));
+    }
+
+    /**
+     * @param range  A DateRange.
+     * @param action Called with every row sharing at least one day with the range, in ascending order.
+     * @throws NullPointerException  if an argument is null.
+     * @throws IllegalStateException if the store is closed.
+     */
+    public void forEachIntersectingWith(
+            final DateRange range,
+            final IntConsumer action
+    ) {
+        requireNonNull(range);
+
+        forEachIntersecting(clamp(range.startEpochDay()), clamp(range.endEpochDay()), requireNonNull(action));
+    }
+
+    /**
+     * @return The ascending rows containing the given day.
+     * @see #forEachContainingDay(LocalDate, IntConsumer)
+     */
+    public int[] indicesContainingDay(
+            final LocalDate day
+    ) {
+        final Indices indices = new Indices();
+        forEachContainingDay(day, indices);
+        return indices.toArray();
+    }
+
+    /**
+     * @return The ascending rows sharing at least one day with the given range.
+     * @see #forEachIntersectingWith(DateRange, IntConsumer)
+     */
+    public int[] indicesIntersectingWith(
+            final DateRange range
+    ) {
+        final Indices indices = new Indices();
+        forEachIntersectingWith(range, indices);
+        return indices.toArray();
+    }
+
+    /**
+     * Drop the columns, every later call except hasPayloads fails.
+     */
+    @Override
+    public void close() {
+        this.chunks = new Chunk[0];
+        this.size = 0;
+        this.closed = true;
+    }
+
+    private void forEachIntersecting(
+            final int startEpochDay,
+            final int endEpochDay,
+            final IntConsumer action
+    ) {
+        checkOpen();
+
+        for (int c = 0; c < this.chunks.length; c++) {
+            final Chunk chunk = this.chunks[c];
+
+            if (this.sorted && chunk.minStartEpochDay > endEpochDay) {
+                return;
+            } else if (chunk.minStartEpochDay > endEpochDay || chunk.maxEndEpochDay < startEpochDay) {
+                continue;
+            }
+
+            final int limit = Math.min(CHUNK_SIZE, this.size - (c << CHUNK_SHIFT));
+
+            for (int i = 0; i < limit; i++) {
+                final int rowStartEpochDay = chunk.starts.get(i);
+
+                if (rowStartEpochDay <= endEpochDay) {
+                    if (chunk.ends.get(i) >= startEpochDay) {
+                        action.accept((c << CHUNK_SHIFT) + i);
+                    }
+                } else if (this.sorted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * An introsort on the packed keys: quicksort with a median of three, heapsort beyond the depth limit and insertion sort for short ranges.
+     */
+    private void sort(
+            final int fromRow,
+            final int toRow,
+            final int depthLimit
+    ) {
+        int from = fromRow;
+        int to = toRow;
+        int depth = depthLimit;
+
+        while (to - from > INSERTION_SORT_THRESHOLD) {
+            if (depth-- == 0) {
+                heapSort(from, to);
+                return;
+            }
+
+            final long pivot = medianOfThree(key(from), key(from + (to - from) / 2), key(to - 1));
+            int i = from;
+            int j = to - 1;
+
+            while (i <= j) {
+                while (key(i) < pivot) {
+                    i++;
+                }
+                while (key(j) > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(i++, j--);
+                }
+            }
+
+            if (j - from < to - i) {
+                sort(from, j + 1, depth);
+                from = i;
+            } else {
+                sort(i, to, depth);
+                to = j + 1;
+            }
+        }
+
+        for (int i = from + 1; i < to; i++) {
+            for (int j = i; j > from && key(j - 1) > key(j); j--) {
+                swap(j - 1, j);
+            }
+        }
+    }
+
+    private void heapSort(
+            final int from,
+            final int to
+    ) {
+        final int length = to - from;
+
+        for (int i = length / 2 - 1; i >= 0; i--) {
+            siftDown(from, i, length);
+        }
+
+        for (int last = length - 1; last > 0; last--) {
+            swap(from, from + last);
+            siftDown(from, 0, last);
+        }
+    }
+
+    private void siftDown(
+            final int from,
+            final int index,
+            final int length
+    ) {
+        int parent = index;
+
+        while (2 * parent + 1 < length) {
+            int child = 2 * parent + 1;
+
+            if (child + 1 < length && key(from + child + 1) > key(from + child)) {
+                child++;
+            }
+            if (key(from + parent) >= key(from + child)) {
+                return;
+            }
+
+            swap(from + parent, from + child);
+            parent = child;
+        }
+    }
+
+    private static long medianOfThree(
+            final long a,
+            final long b,
+            final long c
+    ) {
+        return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+    }
+
+    private long key(
+            final int row
+    ) {
+        return key(startAt(row), endAt(row));
+    }
+
+    private void swap(
+            final int row,
+            final int otherRow
+    ) {
+        final Chunk chunk = this.chunks[row >>> CHUNK_SHIFT];
+        final Chunk otherChunk = this.chunks[otherRow >>> CHUNK_SHIFT];
+        final int index = row & CHUNK_MASK;
+        final int otherIndex = otherRow & CHUNK_MASK;
+
+        final int startEpochDay = chunk.starts.get(index);
+        final int endEpochDay = chunk.ends.get(index);
+        final long payload = this.payloads ? chunk.payloads.get(index) : 0L;
+
+        chunk.set(index, otherChunk.starts.get(otherIndex), otherChunk.ends.get(otherIndex), this.payloads ? otherChunk.payloads.get(otherIndex) : 0L);
+        otherChunk.set(otherIndex, startEpochDay, endEpochDay, payload);
+    }
+
+    private int startAt(
+            final int row
+    ) {
+        return this.chunks[row >>> CHUNK_SHIFT].starts.get(row & CHUNK_MASK);
+    }
+
+    private int endAt(
+            final int row
+    ) {
+        return this.chunks[row >>> CHUNK_SHIFT].ends.get(row & CHUNK_MASK);
+    }
+
+    private int checkRow(
+            final int row
+    ) {
+        checkOpen();
+
+        return checkIndex(row, this.size);
+    }
+
+    private void checkOpen() {
+        validState(!this.closed, "the store is closed");
+    }
+
+    @Override
+    public String toString() {
+        return "DateRangeStore[size=%d, payloads=%s, sorted=%s]".formatted(this.size, this.payloads, this.sorted);
+    }
+
+    /**
+     * The columns of CHUNK_SIZE rows, each in its own direct buffer in native byte order.
+     */
+    private static final class Chunk {
+
+        private final IntBuffer starts = ByteBuffer.allocateDirect(CHUNK_SIZE * Integer.BYTES).order(ByteOrder.nativeOrder()).asIntBuffer();
+        private final IntBuffer ends = ByteBuffer.allocateDirect(CHUNK_SIZE * Integer.BYTES).order(ByteOrder.nativeOrder()).asIntBuffer();
+        private final LongBuffer payloads;
+        private int minStartEpochDay = Integer.MAX_VALUE;
+        private int maxEndEpochDay = Integer.MIN_VALUE;
+
+        private Chunk(
+                final boolean payloads
+        ) {
+            this.payloads = payloads
+                    ? ByteBuffer.allocateDirect(CHUNK_SIZE * Long.BYTES).order(ByteOrder.nativeOrder()).asLongBuffer()
+                    : null;
+        }
+
+        private void set(
+                final int index,
+                final int startEpochDay,
+                final int endEpochDay,
+                final long payload
+        ) {
+            this.starts.put(index, startEpochDay);
+            this.ends.put(index, endEpochDay);
+
+            if (nonNull(this.payloads)) {
+                this.payloads.put(index, payload);
+            }
+        }
+
+        private void include(
+                final int startEpochDay,
+                final int endEpochDay
+        ) {
+            this.minStartEpochDay = Math.min(this.minStartEpochDay, startEpochDay);
+            this.maxEndEpochDay = Math.max(this.maxEndEpochDay, endEpochDay);
+        }
+
+        private void resetBounds() {
+            this.minStartEpochDay = Integer.MAX_VALUE;
+            this.maxEndEpochDay = Integer.MIN_VALUE;
+        }
+
+    }
+
+    private final class RangesView extends AbstractList<DateRange> implements RandomAccess {
+
+        @Override
+        public DateRange get(
+                final int index
+        ) {
+            return range(index);
+        }
+
+        @Override
+        public int size() {
+            return DateRangeStore.this.size();
+        }
+
+    }
+
+    /**
+     * Collects the matching rows of a query into a growing int[].
+     */
+    private static final class Indices implements IntConsumer {
+
+        private int[] indices = new int[16];
+        private int count;
+
+        @Override
+        public void accept(
+                final int index
+        ) {
+            if (this.count == this.indices.length) {
+                this.indices = Arrays.copyOf(this.indices, 2 * this.count);
+            }
+
+            this.indices[this.count++] = index;
+        }
+
+        private int[] toArray() {
+            return Arrays.copyOf(this.indices, this.count);
+        }
+
+    }
+
+}
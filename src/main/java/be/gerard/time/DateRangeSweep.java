@@ -0,0 +1,236 @@
+package be.gerard.time;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * A single sweep over the borders of a collection of ranges.
+ * <p>
+ * A border is a start day or an exclusive end day of one of the ranges (LocalDate.MAX stays LocalDate.MAX).
+ * Between two subsequent borders the coverage (number of ranges containing a day) does not change.
+ * <p>
+ * Given: ["2000-01-01..2000-01-04", "2000-01-03..2000-01-05", "2000-01-08"]
+ * borders:  2000-01-01, 2000-01-03, 2000-01-05, 2000-01-06, 2000-01-08, 2000-01-09
+ * coverage: 1,          2,          1,          0,          1,          0
+ * <p>
+ * Building the sweep sorts the start and end days once, O(n log n), which is linear for input that is already sorted.
+ * A SortedDateRanges skips sorting the start days, and the end days as well if it is disjoint (their ends increase too).
+ * Every derived operation is a single pass over the borders.
+ */
+final class DateRangeSweep {
+
+    private final long[] borders;
+    private final int[] coverage;
+
+    private DateRangeSweep(
+            final long[] borders,
+            final int[] coverage
+    ) {
+        this.borders = borders;
+        this.coverage = coverage;
+    }
+
+    static DateRangeSweep of(
+            final Collection<? extends DateRange> ranges
+    ) {
+        final int size = ranges.size();
+        final long[] startEpochDays = new long[size];
+        final long[] exclusiveEndEpochDays = new long[size];
+
+        int index = 0;
+        for (final DateRange range : ranges) {
+            startEpochDays[index] = range.startEpochDay();
+            exclusiveEndEpochDays[index] = toExclusiveEndEpochDay(range.endEpochDay());
+            index++;
+        }
+
+        if (!(ranges instanceof SortedDateRanges)) {
+            Arrays.sort(startEpochDays);
+        }
+        if (!(ranges instanceof SortedDateRanges sortedRanges && sortedRanges.isDisjoint())) {
+            Arrays.sort(exclusiveEndEpochDays);
+        }
+
+        final long[] borders = new long[2 * size];
+        final int[] coverage = new int[2 * size];
+
+        int count = 0;
+        int depth = 0;
+        int i = 0;
+        int j = 0;
+
+        while (i < size || j < size) {
+            final long border = j == size || (i < size && startEpochDays[i] < exclusiveEndEpochDays[j])
+                    ? startEpochDays[i]
+                    : exclusiveEndEpochDays[j];
+
+            while (i < size && startEpochDays[i] == border) {
+                depth++;
+                i++;
+            }
+            while (j < size && exclusiveEndEpochDays[j] == border) {
+                depth--;
+                j++;
+            }
+
+            borders[count] = border;
+            coverage[count] = depth;
+            count++;
+        }
+
+        return new DateRangeSweep(
+                Arrays.copyOf(borders, count),
+                Arrays.copyOf(coverage, count)
+        );
+    }
+
+    static long toExclusiveEndEpochDay(
+            final long endEpochDay
+    ) {
+        return endEpochDay == LocalDates.MAX_EPOCH_DAY
+                ? LocalDates.MAX_EPOCH_DAY
+                : endEpochDay + 1L;
+    }
+
+    static long toInclusiveEndEpochDay(
+            final long exclusiveEndEpochDay
+    ) {
+        return exclusiveEndEpochDay == LocalDates.MAX_EPOCH_DAY
+                ? LocalDates.MAX_EPOCH_DAY
+                : exclusiveEndEpochDay - 1L;
+    }
+
+    int size() {
+        return this.borders.length;
+    }
+
+    long border(
+            final int index
+    ) {
+        return this.borders[index];
+    }
+
+    /**
+     * @return The number of ranges containing every day from border(index) up to border(index + 1).
+     */
+    int coverage(
+            final int index
+    ) {
+        return this.coverage[index];
+    }
+
+    /**
+     * @return The range from border(index) up to border(index + 1).
+     */
+    DateRange segment(
+            final int index
+    ) {
+        return DateRange.ofEpochDays(
+                this.borders[index],
+                toInclusiveEndEpochDay(this.borders[index + 1])
+        );
+    }
+
+    /**
+     * All ranges start and end on the same border, which can only be the one day range of LocalDate.MAX.
+     */
+    private boolean isSingleBorder() {
+        return this.borders.length == 1;
+    }
+
+    List<DateRange> allIntersections() {
+        if (this.borders.length == 0) {
+            return emptyList();
+        } else if (isSingleBorder()) {
+            return List.of(DateRange.ofEpochDays(this.borders[0], this.borders[0]));
+        }
+
+        final List<DateRange> result = new ArrayList<>(this.borders.length - 1);
+
+        for (int i = 0; i < this.borders.length - 1; i++) {
+            result.add(segment(i));
+        }
+
+        return unmodifiableList(result);
+    }
+
+    List<DateRange> usedIntersections() {
+        if (this.borders.length == 0) {
+            return emptyList();
+        } else if (isSingleBorder()) {
+            return List.of(DateRange.ofEpochDays(this.borders[0], this.borders[0]));
+        }
+
+        final List<DateRange> result = new ArrayList<>();
+
+        for (int i = 0; i < this.borders.length - 1; i++) {
+            if (this.coverage[i] > 0) {
+                result.add(segment(i));
+            }
+        }
+
+        return unmodifiableList(result);
+    }
+
+    /**
+     * @return The maximal runs of days covered by at least one range.
+     */
+    List<DateRange> merged() {
+        if (this.borders.length == 0) {
+            return emptyList();
+        } else if (isSingleBorder()) {
+            return List.of(DateRange.ofEpochDays(this.borders[0], this.borders[0]));
+        }
+
+        final List<DateRange> result = new ArrayList<>();
+        long runStart = 0L;
+        boolean inRun = false;
+
+        for (int i = 0; i < this.borders.length; i++) {
+            final boolean covered = this.coverage[i] > 0;
+
+            if (covered && !inRun) {
+                runStart = this.borders[i];
+                inRun = true;
+            } else if (!covered && inRun) {
+                result.add(DateRange.ofEpochDays(runStart, toInclusiveEndEpochDay(this.borders[i])));
+                inRun = false;
+            }
+        }
+
+        return unmodifiableList(result);
+    }
+
+    /**
+     * @return The maximal runs of days not covered by any range, in between the first and the last covered day.
+     */
+    List<DateRange> gaps() {
+        final List<DateRange> result = new ArrayList<>();
+        long gapStart = 0L;
+        boolean inGap = false;
+        boolean seenCovered = false;
+
+        for (int i = 0; i < this.borders.length - 1; i++) {
+            final boolean covered = this.coverage[i] > 0;
+
+            if (covered) {
+                if (inGap) {
+                    result.add(DateRange.ofEpochDays(gapStart, this.borders[i] - 1L));
+                    inGap = false;
+                }
+                seenCovered = true;
+            } else if (seenCovered && !inGap) {
+                gapStart = this.borders[i];
+                inGap = true;
+            }
+        }
+
+        return unmodifiableList(result);
+    }
+
+}
@@ -6,7 +6,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Stream;
 
-import static java.util.Comparator.comparing;
 import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.partitioningBy;
 import static java.util.stream.Collectors.toUnmodifiableList;
@@ -21,9 +20,9 @@ public record DateRanges(
     ) {
         notEmpty(ranges);
 
-        this.ranges = ranges.stream()
-                .sorted(comparing(DateRange::startDate).thenComparing(DateRange::endDate))
-                .toList();
+        final DateRangeMetrics.Measurement measurement = DateRangeMetrics.start();
+        this.ranges = SortedDateRanges.of(ranges);
+        DateRangeMetrics.record(DateRangeMetrics.Operation.DATE_RANGES, measurement, ranges, this.ranges.size());
     }
 
     static DateRanges ofRanges(
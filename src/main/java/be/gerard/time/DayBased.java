@@ -1,10 +1,15 @@
 package be.gerard.time;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
+import static java.util.Collections.unmodifiableList;
 import static java.util.Map.Entry.comparingByKey;
+import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.groupingBy;
 
 public interface DayBased {
@@ -16,14 +21,100 @@ public interface DayBased {
                 .collect(groupingBy(DayBased::day));
     }
 
+    /**
+     * Group the items by day, ordered by day, each group holding its items in input order.
+     * <p>
+     * The items are bucketed by epoch day offset with a counting sort into a single backing array,
+     * without hashing or boxing a LocalDate per item:
+     * <p>
+     * dense span  (days between the first and last day at most 8 per item, up to 2^20) -> O(n + span)
+     * sparse span                                                                         -> hash grouping, then sorting the days
+     *
+     * @param dayBasedItems A List of DayBased items.
+     * @param <T>           The type of the items.
+     * @return The groups of items sharing the same day, ordered by day.
+     * @throws NullPointerException if dayBasedItems is null or an item has no day.
+     */
     static <T extends DayBased> List<List<T>> groupByDaySorted(
             final List<T> dayBasedItems
     ) {
-        return groupByDay(dayBasedItems).entrySet()
-                .stream()
-                .sorted(comparingByKey())
-                .map(Map.Entry::getValue)
-                .toList();
+        requireNonNull(dayBasedItems);
+
+        if (dayBasedItems.isEmpty()) {
+            return List.of();
+        }
+
+        final int size = dayBasedItems.size();
+        final long[] epochDays = new long[size];
+        long minEpochDay = Long.MAX_VALUE;
+        long maxEpochDay = Long.MIN_VALUE;
+
+        for (int i = 0; i < size; i++) {
+            final long epochDay = requireNonNull(dayBasedItems.get(i).day(), "element cannot be mapped to a null key").toEpochDay();
+            epochDays[i] = epochDay;
+            minEpochDay = Math.min(minEpochDay, epochDay);
+            maxEpochDay = Math.max(maxEpochDay, epochDay);
+        }
+
+        final long span = maxEpochDay - minEpochDay + 1;
+
+        if (span > 1L << 20 || span > 8L * size) {
+            return groupByDay(dayBasedItems).entrySet()
+                    .stream()
+                    .sorted(comparingByKey())
+                    .map(Map.Entry::getValue)
+                    .map(Collections::unmodifiableList)
+                    .toList();
+        }
+
+        return groupByEpochDayOffset(dayBasedItems, epochDays, minEpochDay, (int) span);
+    }
+
+    private static <T extends DayBased> List<List<T>> groupByEpochDayOffset(
+            final List<T> dayBasedItems,
+            final long[] epochDays,
+            final long minEpochDay,
+            final int span
+    ) {
+        final int[] offsets = new int[span + 1];
+
+        for (final long epochDay : epochDays) {
+            offsets[(int) (epochDay - minEpochDay) + 1]++;
+        }
+
+        int groupCount = 0;
+
+        for (int i = 1; i <= span; i++) {
+            if (offsets[i] != 0) {
+                groupCount++;
+            }
+            offsets[i] += offsets[i - 1];
+        }
+
+        final int[] groupStarts = new int[groupCount + 1];
+
+        for (int i = 0, group = 0; i < span; i++) {
+            if (offsets[i] != offsets[i + 1]) {
+                groupStarts[group++] = offsets[i];
+            }
+        }
+
+        groupStarts[groupCount] = epochDays.length;
+
+        final Object[] backing = new Object[epochDays.length];
+
+        for (int i = 0; i < epochDays.length; i++) {
+            backing[offsets[(int) (epochDays[i] - minEpochDay)]++] = dayBasedItems.get(i);
+        }
+
+        @SuppressWarnings("unchecked") final List<T> sortedItems = unmodifiableList((List<T>) (List<?>) Arrays.asList(backing));
+        final List<List<T>> result = new ArrayList<>(groupCount);
+
+        for (int group = 0; group < groupCount; group++) {
+            result.add(sortedItems.subList(groupStarts[group], groupStarts[group + 1]));
+        }
+
+        return unmodifiableList(result);
     }
 
     LocalDate day();
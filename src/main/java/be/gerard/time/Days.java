@@ -8,6 +8,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
 import static java.time.DayOfWeek.MONDAY;
@@ -29,7 +30,9 @@ public record Days(
     ) {
         notEmpty(dates);
 
+        final DateRangeMetrics.Measurement measurement = DateRangeMetrics.start();
         this.dates = Set.copyOf(dates);
+        DateRangeMetrics.recordDays(DateRangeMetrics.Operation.DAYS, measurement, dates, this.dates.size());
     }
 
     static Days ofDays(
@@ -210,13 +213,44 @@ public record Days(
             final Collection<DateRange> ranges
     ) {
         requireNonNull(ranges);
+        isTrue(ranges.stream().allMatch(DateRange::isFinite), "infinite range to days conversion is not supported");
 
-        return ranges.stream()
-                .map(Days::within)
-                .flatMap(List::stream)
-                .distinct()
-                .sorted()
-                .toList();
+        return streamWithin(ranges).toList();
+    }
+
+    /**
+     * A lazy view on the epoch days within multiple ranges.
+     * The resulting epoch days are ordered and without repetition, without buffering and sorting all days.
+     * The ranges are merged upfront, the days are only generated when consumed.
+     * Infinite ranges are supported, it is up to the caller to short-circuit (limit, takeWhile, findFirst, ...).
+     *
+     * @param ranges A Collection of DateRanges.
+     * @return An ordered LongStream of distinct epoch days.
+     * @throws NullPointerException if ranges is null.
+     */
+    public static LongStream epochDaysWithin(
+            final Collection<DateRange> ranges
+    ) {
+        requireNonNull(ranges);
+
+        return DateRange.merge(ranges)
+                .stream()
+                .flatMapToLong(DateRange::epochDays);
+    }
+
+    /**
+     * A lazy view on the days within multiple ranges.
+     *
+     * @param ranges A Collection of DateRanges.
+     * @return An ordered Stream of distinct LocalDates.
+     * @throws NullPointerException if ranges is null.
+     * @see #epochDaysWithin(Collection)
+     */
+    public static Stream<LocalDate> streamWithin(
+            final Collection<DateRange> ranges
+    ) {
+        return epochDaysWithin(ranges)
+                .mapToObj(LocalDate::ofEpochDay);
     }
 
     /**
@@ -298,7 +332,7 @@ public record Days(
     }
 
     private static TemporalAdjuster adjusterForStartOf(final int years) {
-        return ofDateAdjuster(day -> LocalDate.of((day.getYear() / years) * years, 1, 1));
+        return ofDateAdjuster(day -> LocalDate.of(Math.floorDiv(day.getYear(), years) * years, 1, 1));
     }
 
 }
@@ -0,0 +1,198 @@
+package be.gerard.time;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.function.ToLongFunction;
+
+import static java.util.Objects.requireNonNull;
+import static org.apache.commons.lang3.Validate.isTrue;
+
+/**
+ * Hours as a fixed-point long of hundredths of an hour, 7.50 hours -> 750.
+ * <p>
+ * Summing BigDecimals allocates on every addition, hundredths are plain longs:
+ * <p>
+ * add/subtract/compare/sum -> no allocation, overflow throws an ArithmeticException
+ * of/toBigDecimal/toHours  -> conversion from and to the BigDecimal form
+ * sumByDay/Week/Month      -> a single pass over DayBased items, dense per unit
+ * <p>
+ * Unlike Hours, hundredths are not limited to 0..24, a sum over a week or a month easily exceeds a day.
+ *
+ * @see Hours
+ */
+public final class HourHundredths {
+
+    private static final int SCALE = 2;
+
+    private HourHundredths() {
+        // no-op
+    }
+
+    /**
+     * @throws NullPointerException     if hours is null.
+     * @throws IllegalArgumentException if hours has more than 2 decimals.
+     */
+    public static long of(
+            final BigDecimal hours
+    ) {
+        requireNonNull(hours, "hours is invalid [null]");
+        isTrue(hours.scale() <= SCALE || hours.stripTrailingZeros().scale() <= SCALE, "hours can not have more than 2 decimals [hours=%s]", hours);
+
+        return hours.movePointRight(SCALE).longValueExact();
+    }
+
+    /**
+     * @throws NullPointerException if hours is null.
+     */
+    public static long of(
+            final Hours hours
+    ) {
+        requireNonNull(hours, "hours is invalid [null]");
+
+        return of(hours.value());
+    }
+
+    public static BigDecimal toBigDecimal(
+            final long hundredths
+    ) {
+        return BigDecimal.valueOf(hundredths, SCALE);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the hundredths are not within 0.00 and 24.00 hours.
+     */
+    public static Hours toHours(
+            final long hundredths
+    ) {
+        return Hours.of(toBigDecimal(hundredths));
+    }
+
+    public static long add(
+            final long hundredths,
+            final long otherHundredths
+    ) {
+        return Math.addExact(hundredths, otherHundredths);
+    }
+
+    public static long subtract(
+            final long hundredths,
+            final long otherHundredths
+    ) {
+        return Math.subtractExact(hundredths, otherHundredths);
+    }
+
+    public static int compare(
+            final long hundredths,
+            final long otherHundredths
+    ) {
+        return Long.compare(hundredths, otherHundredths);
+    }
+
+    public static long sum(
+            final long... hundredths
+    ) {
+        requireNonNull(hundredths);
+
+        long sum = 0L;
+
+        for (final long value : hundredths) {
+            sum = Math.addExact(sum, value);
+        }
+
+        return sum;
+    }
+
+    /**
+     * @param items      A List of items.
+     * @param hundredths The hundredths of an item.
+     * @param <T>        The type of the items.
+     * @return The sum of the hundredths of all items.
+     */
+    public static <T> long sum(
+            final List<T> items,
+            final ToLongFunction<? super T> hundredths
+    ) {
+        requireNonNull(items);
+        requireNonNull(hundredths);
+
+        long sum = 0L;
+
+        for (final T item : items) {
+            sum = Math.addExact(sum, hundredths.applyAsLong(item));
+        }
+
+        return sum;
+    }
+
+    /**
+     * Given: [2000-01-01=7.50, 2000-01-01=0.50, 2000-01-03=8.00]
+     * Result: {2000-01-01=800, 2000-01-03=800}
+     *
+     * @see #sumBy(List, ToLongFunction, ChronoUnit)
+     */
+    public static <T extends DayBased> SortedMap<LocalDate, Long> sumByDay(
+            final List<T> items,
+            final ToLongFunction<? super T> hundredths
+    ) {
+        return sumBy(items, hundredths, ChronoUnit.DAYS);
+    }
+
+    /**
+     * Weeks start on Monday.
+     *
+     * @see #sumBy(List, ToLongFunction, ChronoUnit)
+     */
+    public static <T extends DayBased> SortedMap<LocalDate, Long> sumByWeek(
+            final List<T> items,
+            final ToLongFunction<? super T> hundredths
+    ) {
+        return sumBy(items, hundredths, ChronoUnit.WEEKS);
+    }
+
+    /**
+     * @see #sumBy(List, ToLongFunction, ChronoUnit)
+     */
+    public static <T extends DayBased> SortedMap<LocalDate, Long> sumByMonth(
+            final List<T> items,
+            final ToLongFunction<? super T> hundredths
+    ) {
+        return sumBy(items, hundredths, ChronoUnit.MONTHS);
+    }
+
+    /**
+     * Sum the hundredths of the items per unit, in a single pass without boxing per item.
+     *
+     * @param items      A List of DayBased items.
+     * @param hundredths The hundredths of an item.
+     * @param unit       A supported calendar unit.
+     * @param <T>        The type of the items.
+     * @return The sum of the hundredths per unit, keyed by the first day of the unit, units without items are left out.
+     * @throws IllegalArgumentException if the unit is not supported.
+     * @throws ArithmeticException      if a sum overflows a long.
+     * @see CalendarUnits#isSupported(java.time.temporal.TemporalUnit)
+     */
+    public static <T extends DayBased> SortedMap<LocalDate, Long> sumBy(
+            final List<T> items,
+            final ToLongFunction<? super T> hundredths,
+            final ChronoUnit unit
+    ) {
+        requireNonNull(items);
+        requireNonNull(hundredths);
+
+        final int size = items.size();
+        final long[] epochDays = new long[size];
+        final long[] values = new long[size];
+
+        for (int i = 0; i < size; i++) {
+            final T item = items.get(i);
+            epochDays[i] = item.day().toEpochDay();
+            values[i] = hundredths.applyAsLong(item);
+        }
+
+        return CalendarUnits.sum(epochDays, values, unit);
+    }
+
+}
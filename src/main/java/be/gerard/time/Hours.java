@@ -26,4 +26,25 @@ public record Hours(
         return of(BigDecimal.valueOf(value));
     }
 
+    /**
+     * Given: 750
+     * Result: 7.50
+     *
+     * @see HourHundredths
+     */
+    public static Hours ofHundredths(final long hundredths) {
+        return of(HourHundredths.toBigDecimal(hundredths));
+    }
+
+    /**
+     * Given: 7.5
+     * Result: 750
+     *
+     * @throws IllegalArgumentException if the value has more than 2 decimals.
+     * @see HourHundredths
+     */
+    public long toHundredths() {
+        return HourHundredths.of(this.value);
+    }
+
 }
@@ -4,6 +4,9 @@ import java.time.LocalDate;
 
 public final class LocalDates {
 
+    public static final long MIN_EPOCH_DAY = LocalDate.MIN.toEpochDay();
+    public static final long MAX_EPOCH_DAY = LocalDate.MAX.toEpochDay();
+
     private LocalDates() {
         // no-op
     }
@@ -22,4 +25,16 @@ public final class LocalDates {
         return day1.isAfter(day2) ? day1 : day2;
     }
 
+    /**
+     * Evaluate if the given epoch day can be represented as a LocalDate.
+     *
+     * @param epochDay A long representing a day as the number of days since 1970-01-01.
+     * @return true if epochDay lies between LocalDate.MIN and LocalDate.MAX (both included).
+     */
+    public static boolean isValidEpochDay(
+            final long epochDay
+    ) {
+        return epochDay >= MIN_EPOCH_DAY && epochDay <= MAX_EPOCH_DAY;
+    }
+
 }
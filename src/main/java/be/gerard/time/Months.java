@@ -1,14 +1,17 @@
 package be.gerard.time;
 
+import java.time.LocalDate;
 import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.stream.IntStream;
 import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
+import static java.util.Collections.unmodifiableList;
+import static java.util.Objects.nonNull;
 import static java.util.Objects.requireNonNull;
-import static java.util.function.Predicate.not;
-import static java.util.stream.Collectors.collectingAndThen;
-import static java.util.stream.Collectors.toUnmodifiableSet;
 import static org.apache.commons.lang3.Validate.isTrue;
 
 public final class Months {
@@ -16,21 +19,64 @@ public final class Months {
         // no-op
     }
 
+    /**
+     * @return The range of the given month, a shared instance for months near today (see DateRangeCache).
+     */
     public static DateRange asRange(
             final YearMonth month
     ) {
+        final DateRange cached = DateRangeCache.month(prolepticMonth(month));
+
+        if (nonNull(cached)) {
+            return cached;
+        }
+
         return DateRange.of(month.atDay(1), month.atEndOfMonth());
     }
 
+    /**
+     * Convert the months into merged ranges.
+     * The months are sorted as primitives and every run of subsequent months becomes a single range,
+     * without creating a range per month first.
+     *
+     * @param months A Collection of YearMonths.
+     * @return An ordered List of DateRanges, never adjacent.
+     */
     public static List<DateRange> asRanges(
             final Collection<YearMonth> months) {
-        return months.stream()
+        final long[] prolepticMonths = months.stream()
+                .mapToLong(Months::prolepticMonth)
+                .sorted()
                 .distinct()
-                .map(Months::asRange)
-                .collect(collectingAndThen(
-                        toUnmodifiableSet(),
-                        DateRange::merge
-                ));
+                .toArray();
+        final List<DateRange> result = new ArrayList<>();
+
+        int runStart = 0;
+        for (int i = 1; i <= prolepticMonths.length; i++) {
+            if (i == prolepticMonths.length || prolepticMonths[i] != prolepticMonths[i - 1] + 1) {
+                result.add(asRange(prolepticMonths[runStart], prolepticMonths[i - 1]));
+                runStart = i;
+            }
+        }
+
+        return unmodifiableList(result);
+    }
+
+    /**
+     * @return The range from the first day of the start month up to the last day of the end month.
+     */
+    static DateRange asRange(
+            final long startProlepticMonth,
+            final long endProlepticMonth
+    ) {
+        if (startProlepticMonth == endProlepticMonth) {
+            return asRange(toYearMonth(startProlepticMonth));
+        }
+
+        return DateRange.of(
+                toYearMonth(startProlepticMonth).atDay(1),
+                toYearMonth(endProlepticMonth).atEndOfMonth()
+        );
     }
 
     public static List<YearMonth> within(
@@ -39,24 +85,91 @@ public final class Months {
         requireNonNull(range);
         isTrue(range.isFinite(), "infinite range to months conversion is not supported");
 
-        final YearMonth startMonth = YearMonth.from(range.startDate());
-        final YearMonth endMonth = YearMonth.from(range.endDate());
-        return LongStream.iterate(0, i -> i + 1)
-                .mapToObj(startMonth::plusMonths)
-                .takeWhile(not(endMonth::isBefore))
-                .toList();
+        return range.months().toList();
     }
 
     public static List<YearMonth> within(
             final Collection<DateRange> ranges
     ) {
         requireNonNull(ranges);
+        isTrue(ranges.stream().allMatch(DateRange::isFinite), "infinite range to months conversion is not supported");
 
-        return ranges.stream()
-                .map(Months::within)
-                .flatMap(List::stream)
-                .distinct()
-                .sorted()
-                .toList();
+        return streamWithin(ranges).toList();
+    }
+
+    /**
+     * A lazy view on the months touched by multiple ranges.
+     * The resulting months are ordered and without repetition, without buffering and sorting all months.
+     * The ranges are merged upfront, the months are only generated when consumed.
+     * Infinite ranges are supported, it is up to the caller to short-circuit.
+     *
+     * @param ranges A Collection of DateRanges.
+     * @return An ordered Stream of distinct YearMonths.
+     * @throws NullPointerException if ranges is null.
+     */
+    public static Stream<YearMonth> streamWithin(
+            final Collection<DateRange> ranges
+    ) {
+        requireNonNull(ranges);
+
+        final List<DateRange> mergedRanges = DateRange.merge(ranges);
+        final long[] startMonths = new long[mergedRanges.size()];
+        final long[] endMonths = new long[mergedRanges.size()];
+        int count = 0;
+
+        for (final DateRange range : mergedRanges) {
+            final long startMonth = prolepticMonth(range.startDate());
+            final long endMonth = prolepticMonth(range.endDate());
+
+            if (count > 0 && startMonth <= endMonths[count - 1]) {
+                endMonths[count - 1] = endMonth;
+            } else {
+                startMonths[count] = startMonth;
+                endMonths[count] = endMonth;
+                count++;
+            }
+        }
+
+        return IntStream.range(0, count)
+                .boxed()
+                .flatMap(i -> between(startMonths[i], endMonths[i]));
+    }
+
+    /**
+     * @return The number of months since 0000-01.
+     */
+    static long prolepticMonth(
+            final LocalDate day
+    ) {
+        return day.getYear() * 12L + day.getMonthValue() - 1;
+    }
+
+    /**
+     * @return The number of months since 0000-01.
+     */
+    static long prolepticMonth(
+            final YearMonth month
+    ) {
+        return month.getYear() * 12L + month.getMonthValue() - 1;
+    }
+
+    /**
+     * @return A lazy Stream of the months from startProlepticMonth up to endProlepticMonth (both included).
+     */
+    static Stream<YearMonth> between(
+            final long startProlepticMonth,
+            final long endProlepticMonth
+    ) {
+        return LongStream.rangeClosed(startProlepticMonth, endProlepticMonth)
+                .mapToObj(Months::toYearMonth);
+    }
+
+    static YearMonth toYearMonth(
+            final long prolepticMonth
+    ) {
+        return YearMonth.of(
+                Math.toIntExact(Math.floorDiv(prolepticMonth, 12L)),
+                (int) Math.floorMod(prolepticMonth, 12L) + 1
+        );
     }
 }
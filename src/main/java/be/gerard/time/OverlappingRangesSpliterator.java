@@ -0,0 +1,80 @@
+package be.gerard.time;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+import static java.util.Collections.unmodifiableList;
+import static java.util.Objects.isNull;
+
+/**
+ * Emits the clusters of overlapping ranges one at a time from items sorted by range start.
+ * Only the cluster under construction and one item of lookahead are kept in memory.
+ *
+ * @param <T> The type of the items.
+ * @see DateRangeBased#streamOverlappingRanges(java.util.stream.Stream)
+ */
+final class OverlappingRangesSpliterator<T extends DateRangeBased> extends Spliterators.AbstractSpliterator<List<T>> {
+
+    private final Iterator<T> sortedItems;
+    private T next;
+    private long previousStartEpochDay = Long.MIN_VALUE;
+
+    OverlappingRangesSpliterator(
+            final Iterator<T> sortedItems
+    ) {
+        super(Long.MAX_VALUE, ORDERED | NONNULL | IMMUTABLE);
+        this.sortedItems = sortedItems;
+    }
+
+    @Override
+    public boolean tryAdvance(
+            final Consumer<? super List<T>> action
+    ) {
+        if (isNull(this.next)) {
+            if (!this.sortedItems.hasNext()) {
+                return false;
+            }
+            this.next = checkOrder(this.sortedItems.next());
+        }
+
+        final List<T> cluster = new ArrayList<>();
+        long clusterEndEpochDay = this.next.range().endEpochDay();
+        cluster.add(this.next);
+        this.next = null;
+
+        while (this.sortedItems.hasNext()) {
+            final T item = checkOrder(this.sortedItems.next());
+            final DateRange range = item.range();
+
+            if (range.startEpochDay() > clusterEndEpochDay) {
+                this.next = item;
+                break;
+            }
+
+            cluster.add(item);
+            clusterEndEpochDay = Math.max(clusterEndEpochDay, range.endEpochDay());
+        }
+
+        action.accept(unmodifiableList(cluster));
+        return true;
+    }
+
+    private T checkOrder(
+            final T item
+    ) {
+        final long startEpochDay = item.range().startEpochDay();
+
+        if (startEpochDay < this.previousStartEpochDay) {
+            throw new IllegalArgumentException(
+                    "streamOverlappingRanges requires items sorted by range start [item=%s]".formatted(item.range().asText())
+            );
+        }
+
+        this.previousStartEpochDay = startEpochDay;
+        return item;
+    }
+
+}
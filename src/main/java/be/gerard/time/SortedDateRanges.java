@@ -0,0 +1,209 @@
+package be.gerard.time;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.RandomAccess;
+import java.util.function.Predicate;
+
+import static java.util.Objects.requireNonNull;
+import static org.apache.commons.lang3.Validate.isTrue;
+
+/**
+ * An immutable List of DateRanges that is known to be sorted by start, then end (DateRange.startThenEnd).
+ * <p>
+ * of       -> checks the order in a single pass, a copy is only sorted if it is not in order yet
+ * ofSorted -> checks the order in a single pass, unsorted input is rejected
+ * <p>
+ * isDisjoint -> no two ranges share a day, every range starts after its predecessor ends (adjacent ranges are disjoint)
+ * <p>
+ * Operations receiving a SortedDateRanges skip their sort, any other input is still sorted as before:
+ * DateRanges, DateRange.sort, merge, findAllIntersections, findAllGaps, subtract(Collection), DateRangeBased.groupOverlappingRanges and DateRangeCoverage.
+ * DateRanges.ranges() is a SortedDateRanges itself, so a chain of operations on DateRanges sorts at most once.
+ */
+public final class SortedDateRanges extends AbstractList<DateRange> implements RandomAccess {
+
+    private static final SortedDateRanges EMPTY = new SortedDateRanges(new DateRange[0], true);
+
+    private final DateRange[] ranges;
+    private final boolean disjoint;
+
+    private SortedDateRanges(
+            final DateRange[] ranges,
+            final boolean disjoint
+    ) {
+        this.ranges = ranges;
+        this.disjoint = disjoint;
+    }
+
+    public static SortedDateRanges empty() {
+        return EMPTY;
+    }
+
+    /**
+     * @param ranges A Collection of DateRanges, in any order.
+     * @return The ranges sorted by start, then end, ranges with the same start and end keep their order.
+     * @throws NullPointerException if ranges is null or contains null.
+     */
+    public static SortedDateRanges of(
+            final Collection<? extends DateRange> ranges
+    ) {
+        requireNonNull(ranges);
+
+        if (ranges instanceof SortedDateRanges sortedRanges) {
+            return sortedRanges;
+        }
+
+        final DateRange[] array = toArray(ranges);
+
+        if (indexOfFirstUnsorted(array) >= 0) {
+            Arrays.sort(array, DateRange.startThenEnd());
+        }
+
+        return of(array);
+    }
+
+    /**
+     * @param ranges A Collection of DateRanges, already sorted by start, then end.
+     * @return The ranges, in the same order.
+     * @throws NullPointerException     if ranges is null or contains null.
+     * @throws IllegalArgumentException if a range comes before its predecessor.
+     */
+    public static SortedDateRanges ofSorted(
+            final Collection<? extends DateRange> ranges
+    ) {
+        requireNonNull(ranges);
+
+        if (ranges instanceof SortedDateRanges sortedRanges) {
+            return sortedRanges;
+        }
+
+        final DateRange[] array = toArray(ranges);
+        final int index = indexOfFirstUnsorted(array);
+
+        isTrue(index < 0, "ranges must be sorted by start, then end [index=%d]", index);
+
+        return of(array);
+    }
+
+    private static SortedDateRanges of(
+            final DateRange[] sortedRanges
+    ) {
+        return sortedRanges.length == 0
+                ? EMPTY
+                : new SortedDateRanges(sortedRanges, isDisjoint(sortedRanges));
+    }
+
+    private static DateRange[] toArray(
+            final Collection<? extends DateRange> ranges
+    ) {
+        final DateRange[] array = ranges.toArray(new DateRange[0]);
+
+        for (final DateRange range : array) {
+            requireNonNull(range);
+        }
+
+        return array;
+    }
+
+    private static int indexOfFirstUnsorted(
+            final DateRange[] ranges
+    ) {
+        for (int i = 1; i < ranges.length; i++) {
+            if (isBefore(ranges[i], ranges[i - 1])) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Sorted ranges are disjoint iff every range starts after its predecessor ends, their ends then increase as well.
+     */
+    private static boolean isDisjoint(
+            final DateRange[] sortedRanges
+    ) {
+        for (int i = 1; i < sortedRanges.length; i++) {
+            if (sortedRanges[i].startEpochDay() <= sortedRanges[i - 1].endEpochDay()) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean isBefore(
+            final DateRange range,
+            final DateRange otherRange
+    ) {
+        return range.startEpochDay() < otherRange.startEpochDay()
+                || (range.startEpochDay() == otherRange.startEpochDay() && range.endEpochDay() < otherRange.endEpochDay());
+    }
+
+    /**
+     * A single pass to tell whether the ranges of the items are already sorted by start, then end.
+     */
+    static boolean isSorted(
+            final Collection<? extends DateRangeBased> items
+    ) {
+        if (items instanceof SortedDateRanges) {
+            return true;
+        }
+
+        final Iterator<? extends DateRangeBased> iterator = items.iterator();
+        DateRange previous = iterator.hasNext() ? iterator.next().range() : null;
+
+        while (iterator.hasNext()) {
+            final DateRange current = iterator.next().range();
+
+            if (isBefore(current, previous)) {
+                return false;
+            }
+
+            previous = current;
+        }
+
+        return true;
+    }
+
+    /**
+     * Leaving out ranges keeps the order, and the disjointness.
+     */
+    SortedDateRanges filter(
+            final Predicate<? super DateRange> predicate
+    ) {
+        final DateRange[] filtered = Arrays.stream(this.ranges)
+                .filter(predicate)
+                .toArray(DateRange[]::new);
+
+        if (filtered.length == this.ranges.length) {
+            return this;
+        }
+
+        return filtered.length == 0
+                ? EMPTY
+                : new SortedDateRanges(filtered, this.disjoint || isDisjoint(filtered));
+    }
+
+    /**
+     * @return true if no two ranges share a day.
+     */
+    public boolean isDisjoint() {
+        return this.disjoint;
+    }
+
+    @Override
+    public DateRange get(
+            final int index
+    ) {
+        return this.ranges[index];
+    }
+
+    @Override
+    public int size() {
+        return this.ranges.length;
+    }
+
+}
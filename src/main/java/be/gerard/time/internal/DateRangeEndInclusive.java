@@ -1,6 +1,8 @@
 package be.gerard.time.internal;
 
+import be.gerard.time.CalendarUnits;
 import be.gerard.time.DateRange;
+import be.gerard.time.LocalDates;
 
 import java.time.LocalDate;
 import java.time.YearMonth;
@@ -17,48 +19,58 @@ import static java.util.function.Predicate.not;
 import static org.apache.commons.lang3.Validate.isTrue;
 
 public record DateRangeEndInclusive(
-        LocalDate startDate,
-        LocalDate endDate
+        long startEpochDay,
+        long endEpochDay
 ) implements DateRange {
 
     public DateRangeEndInclusive {
-        requireNonNull(startDate, "dateRange.startDate is invalid [null]");
-        requireNonNull(endDate, "dateRange.endDate is invalid [null]");
+        isTrue(LocalDates.isValidEpochDay(startEpochDay), "dateRange.startDate is invalid [epochDay=%d]", startEpochDay);
+        isTrue(LocalDates.isValidEpochDay(endEpochDay), "dateRange.endDate is invalid [epochDay=%d]", endEpochDay);
 
-        isTrue(!startDate.isAfter(endDate), "dateRange.endDate should be after dateRange.startDate");
+        isTrue(startEpochDay <= endEpochDay, "dateRange.endDate should be after dateRange.startDate");
+    }
+
+    public DateRangeEndInclusive(
+            final LocalDate startDate,
+            final LocalDate endDate
+    ) {
+        this(
+                requireNonNull(startDate, "dateRange.startDate is invalid [null]").toEpochDay(),
+                requireNonNull(endDate, "dateRange.endDate is invalid [null]").toEpochDay()
+        );
     }
 
     @Override
     public long length() {
-        return ChronoUnit.DAYS.between(this.startDate, this.endDate) + 1;
+        return this.endEpochDay - this.startEpochDay + 1;
     }
 
     @Override
-    public boolean containsDay(final LocalDate day) {
-        return !day.isBefore(this.startDate) && !day.isAfter(this.endDate);
+    public boolean containsDay(final long epochDay) {
+        return epochDay >= this.startEpochDay && epochDay <= this.endEpochDay;
     }
 
     @Override
     public boolean containsRange(final DateRange range) {
-        return !this.startDate.isAfter(range.startDate())
-                && !this.endDate.isBefore(range.endDate());
+        return this.startEpochDay <= range.startEpochDay()
+                && this.endEpochDay >= range.endEpochDay();
     }
 
     @Override
     public boolean isIntersectingWith(final DateRange otherRange) {
-        return !otherRange.endDate().isBefore(this.startDate)
-                && !otherRange.startDate().isAfter(this.endDate);
+        return otherRange.endEpochDay() >= this.startEpochDay
+                && otherRange.startEpochDay() <= this.endEpochDay;
     }
 
     @Override
     public List<LocalDate> asDays() {
-        return this.startDate.datesUntil(endDate().plusDays(1L)).toList();
+        return startDate().datesUntil(endDate().plusDays(1L)).toList();
     }
 
     @Override
     public List<YearMonth> asMonths() {
-        final YearMonth startMonth = YearMonth.from(this.startDate);
-        final YearMonth endMonth = YearMonth.from(this.endDate);
+        final YearMonth startMonth = YearMonth.from(startDate());
+        final YearMonth endMonth = YearMonth.from(endDate());
         return LongStream.iterate(0, i -> i + 1)
                 .mapToObj(startMonth::plusMonths)
                 .takeWhile(not(endMonth::isBefore))
@@ -67,19 +79,26 @@ public record DateRangeEndInclusive(
 
     @Override
     public String asText() {
-        return "%s..%s".formatted(this.startDate, this.endDate);
+        return "%s..%s".formatted(startDate(), endDate());
     }
 
     @Override
     public List<DateRange> splitByTemporalUnit(final TemporalUnit temporalUnit) {
         isTrue(temporalUnit.isDateBased(), "dateRange.splitByTemporalUnit only allows date based units");
 
-        final LocalDate start = this.startDate.with(firstDayOfYear());
+        if (CalendarUnits.isSupported(temporalUnit)) {
+            return CalendarUnits.split(this, (ChronoUnit) temporalUnit);
+        }
+
+        // other units (e.g. IsoFields.QUARTER_YEARS) are stepped from the first day of the year
+        final LocalDate startDate = startDate();
+        final LocalDate endDate = endDate();
+        final LocalDate start = startDate.with(firstDayOfYear());
 
         final List<LocalDate> startDaysBetween = LongStream.iterate(0, i -> i + 1)
                 .mapToObj(i -> start.plus(i, temporalUnit))
-                .filter(day -> day.isAfter(this.startDate))
-                .takeWhile(day -> !day.isAfter(this.endDate))
+                .filter(day -> day.isAfter(startDate))
+                .takeWhile(day -> !day.isAfter(endDate))
                 .toList();
 
         if (startDaysBetween.isEmpty()) {
@@ -87,7 +106,7 @@ public record DateRangeEndInclusive(
         }
 
         final List<LocalDate> allStartDays = Stream.concat(
-                        Stream.of(this.startDate),
+                        Stream.of(startDate),
                         startDaysBetween.stream()
                 )
                 .toList();
@@ -100,7 +119,7 @@ public record DateRangeEndInclusive(
                                 )),
                         Stream.of(DateRange.of(
                                 allStartDays.getLast(),
-                                this.endDate
+                                endDate
                         ))
                 )
                 .toList();
@@ -1,6 +1,7 @@
 package be.gerard.time.internal;
 
 import be.gerard.time.DateRange;
+import be.gerard.time.LocalDates;
 
 import java.time.LocalDate;
 import java.time.YearMonth;
@@ -8,13 +9,25 @@ import java.time.temporal.TemporalUnit;
 import java.util.List;
 
 import static java.util.Objects.requireNonNull;
+import static org.apache.commons.lang3.Validate.isTrue;
 
 public record DateRangeInfinite(
-        LocalDate startDate
+        long startEpochDay
 ) implements DateRange {
 
     public DateRangeInfinite {
-        requireNonNull(startDate, "dateRange.startDate is invalid [null]");
+        isTrue(LocalDates.isValidEpochDay(startEpochDay), "dateRange.startDate is invalid [epochDay=%d]", startEpochDay);
+    }
+
+    public DateRangeInfinite(
+            final LocalDate startDate
+    ) {
+        this(requireNonNull(startDate, "dateRange.startDate is invalid [null]").toEpochDay());
+    }
+
+    @Override
+    public long endEpochDay() {
+        return LocalDates.MAX_EPOCH_DAY;
     }
 
     @Override
@@ -33,18 +46,18 @@ public record DateRangeInfinite(
     }
 
     @Override
-    public boolean containsDay(final LocalDate day) {
-        return !day.isBefore(startDate());
+    public boolean containsDay(final long epochDay) {
+        return epochDay >= this.startEpochDay;
     }
 
     @Override
     public boolean containsRange(final DateRange range) {
-        return !this.startDate.isAfter(range.startDate());
+        return this.startEpochDay <= range.startEpochDay();
     }
 
     @Override
     public boolean isIntersectingWith(final DateRange otherRange) {
-        return !this.startDate.isAfter(otherRange.endDate());
+        return this.startEpochDay <= otherRange.endEpochDay();
     }
 
     @Override
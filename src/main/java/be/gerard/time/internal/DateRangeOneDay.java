@@ -1,6 +1,7 @@
 package be.gerard.time.internal;
 
 import be.gerard.time.DateRange;
+import be.gerard.time.LocalDates;
 
 import java.time.LocalDate;
 import java.time.YearMonth;
@@ -9,18 +10,25 @@ import java.util.List;
 import java.util.Set;
 
 import static java.util.Objects.requireNonNull;
+import static org.apache.commons.lang3.Validate.isTrue;
 
 public record DateRangeOneDay(
-        LocalDate startDate
+        long startEpochDay
 ) implements DateRange {
 
     public DateRangeOneDay {
-        requireNonNull(startDate, "dateRange.startDate is invalid [null]");
+        isTrue(LocalDates.isValidEpochDay(startEpochDay), "dateRange.startDate is invalid [epochDay=%d]", startEpochDay);
+    }
+
+    public DateRangeOneDay(
+            final LocalDate startDate
+    ) {
+        this(requireNonNull(startDate, "dateRange.startDate is invalid [null]").toEpochDay());
     }
 
     @Override
-    public LocalDate endDate() {
-        return startDate;
+    public long endEpochDay() {
+        return startEpochDay;
     }
 
     @Override
@@ -34,34 +42,34 @@ public record DateRangeOneDay(
     }
 
     @Override
-    public boolean containsDay(final LocalDate day) {
-        return this.startDate.isEqual(day);
+    public boolean containsDay(final long epochDay) {
+        return this.startEpochDay == epochDay;
     }
 
     @Override
     public boolean containsRange(final DateRange range) {
-        return this.startDate.isEqual(range.startDate())
-                && this.startDate.isEqual(range.endDate());
+        return this.startEpochDay == range.startEpochDay()
+                && this.startEpochDay == range.endEpochDay();
     }
 
     @Override
     public boolean isIntersectingWith(final DateRange otherRange) {
-        return otherRange.containsDay(this.startDate);
+        return otherRange.containsDay(this.startEpochDay);
     }
 
     @Override
     public List<LocalDate> asDays() {
-        return List.of(this.startDate);
+        return List.of(startDate());
     }
 
     @Override
     public List<YearMonth> asMonths() {
-        return List.of(YearMonth.from(this.startDate));
+        return List.of(YearMonth.from(startDate()));
     }
 
     @Override
     public String asText() {
-        return "%s".formatted(this.startDate);
+        return "%s".formatted(startDate());
     }
 
     @Override
@@ -1,5 +1,8 @@
 module be.gerard.time {
     exports be.gerard.time;
 
+    requires jdk.jfr;
     requires org.apache.commons.lang3;
+
+    uses be.gerard.time.DateRangeMetrics.Listener;
 }
\ No newline at end of file
@@ -0,0 +1,98 @@
+package be.gerard.time
+
+import spock.lang.Specification
+import spock.lang.Title
+
+import static be.gerard.time.DateRangeTestUtils.day
+import static be.gerard.time.DateRangeTestUtils.ranges
+import static org.assertj.core.api.Assertions.assertThat
+import static org.assertj.core.api.Assertions.assertThatThrownBy
+
+@Title("BitmapDays")
+class BitmapDaysSpecification extends Specification {
+
+    def "as ranges"() {
+
+        when:
+        final List<DateRange> ranges = BitmapDays.ofDays(Days.parse(daysAsStrings)).asRanges()
+
+        then:
+        assertThat(ranges).containsExactlyElementsOf(ranges(expectedRanges))
+
+        where:
+        daysAsStrings                                                          | expectedRanges
+        []                                                                     | []
+        ["2000-01-01"]                                                         | ["2000-01-01"]
+        ["2000-01-02", "2000-01-01"]                                           | ["2000-01-01..2000-01-02"]
+        ["2000-01-01", "2000-01-03"]                                           | ["2000-01-01", "2000-01-03"]
+        ["2000-01-01", "2000-01-02", "2000-01-04", "2000-01-06", "2000-01-07"] | ["2000-01-01..2000-01-02", "2000-01-04", "2000-01-06..2000-01-07"]
+        ["1969-12-31", "1970-01-01"]                                           | ["1969-12-31..1970-01-01"]
+
+    }
+
+    def "of ranges"() {
+
+        when:
+        final BitmapDays days = BitmapDays.ofRanges(ranges(rangesAsStrings))
+
+        then:
+        assertThat(days.asRanges()).containsExactlyElementsOf(ranges(expectedRanges))
+        assertThat(days.size()).isEqualTo(expectedSize)
+
+        where:
+        rangesAsStrings                                      | expectedRanges                                       | expectedSize
+        []                                                   | []                                                   | 0
+        ["2000-01-01..2000-12-31"]                           | ["2000-01-01..2000-12-31"]                           | 366
+        ["2000-01-01..2000-01-02", "2000-01-03..2000-01-07"] | ["2000-01-01..2000-01-07"]                           | 7
+        ["2000-01-01..2000-01-04", "2000-01-03..2000-01-07"] | ["2000-01-01..2000-01-07"]                           | 7
+        ["2000-03-01..2000-03-31", "2000-01-01..2000-01-31"] | ["2000-01-01..2000-01-31", "2000-03-01..2000-03-31"] | 62
+
+    }
+
+    def "of infinite ranges"() {
+        expect:
+        assertThatThrownBy(() -> BitmapDays.ofRanges(ranges(["2000-01-01.."])))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("infinite range to days conversion is not supported")
+    }
+
+    def "contains day"() {
+
+        given:
+        final BitmapDays days = BitmapDays.ofRanges(ranges(["2000-01-01..2000-01-31", "2000-03-01"]))
+
+        expect:
+        days.containsDay(day(dayAsString)) == isContained
+
+        where:
+        dayAsString  | isContained
+        "1999-12-31" | false
+        "2000-01-01" | true
+        "2000-01-31" | true
+        "2000-02-01" | false
+        "2000-03-01" | true
+        "2000-03-02" | false
+
+    }
+
+    def "union / intersect / subtract"() {
+
+        given:
+        final BitmapDays days1 = BitmapDays.ofRanges(ranges(ranges1AsStrings))
+        final BitmapDays days2 = BitmapDays.ofRanges(ranges(ranges2AsStrings))
+
+        expect:
+        assertThat(days1.union(days2).asRanges()).containsExactlyElementsOf(ranges(expectedUnion))
+        assertThat(days1.intersect(days2).asRanges()).containsExactlyElementsOf(ranges(expectedIntersection))
+        assertThat(days1.subtract(days2).asRanges()).containsExactlyElementsOf(ranges(expectedDifference))
+
+        where:
+        ranges1AsStrings           | ranges2AsStrings           | expectedUnion                                        | expectedIntersection       | expectedDifference
+        ["2000-01-01..2000-01-10"] | []                         | ["2000-01-01..2000-01-10"]                           | []                         | ["2000-01-01..2000-01-10"]
+        ["2000-01-01..2000-01-10"] | ["2000-01-05..2000-01-15"] | ["2000-01-01..2000-01-15"]                           | ["2000-01-05..2000-01-10"] | ["2000-01-01..2000-01-04"]
+        ["2000-01-01..2000-01-10"] | ["2000-01-03..2000-01-04"] | ["2000-01-01..2000-01-10"]                           | ["2000-01-03..2000-01-04"] | ["2000-01-01..2000-01-02", "2000-01-05..2000-01-10"]
+        ["2000-01-01..2000-01-10"] | ["2001-01-01..2001-01-10"] | ["2000-01-01..2000-01-10", "2001-01-01..2001-01-10"] | []                         | ["2000-01-01..2000-01-10"]
+
+    }
+
+}
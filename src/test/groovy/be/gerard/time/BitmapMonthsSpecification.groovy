@@ -0,0 +1,72 @@
+package be.gerard.time
+
+import spock.lang.Specification
+import spock.lang.Title
+
+import static be.gerard.time.DateRangeTestUtils.month
+import static be.gerard.time.DateRangeTestUtils.ranges
+import static org.assertj.core.api.Assertions.assertThat
+import static org.assertj.core.api.Assertions.assertThatThrownBy
+
+@Title("BitmapMonths")
+class BitmapMonthsSpecification extends Specification {
+
+    def "of ranges"() {
+
+        when:
+        final BitmapMonths months = BitmapMonths.ofRanges(ranges(rangesAsStrings))
+
+        then:
+        assertThat(months.months().toList()).containsExactlyElementsOf(expectedMonths.collect { month(it) })
+        assertThat(months.asRanges()).containsExactlyElementsOf(ranges(expectedRanges))
+
+        where:
+        rangesAsStrings                                      | expectedMonths                              | expectedRanges
+        []                                                   | []                                          | []
+        ["2000-01-15"]                                       | ["2000-01"]                                 | ["2000-01-01..2000-01-31"]
+        ["2000-01-15..2000-03-15"]                           | ["2000-01", "2000-02", "2000-03"]           | ["2000-01-01..2000-03-31"]
+        ["2000-05-01", "2000-01-31..2000-02-01"]             | ["2000-01", "2000-02", "2000-05"]           | ["2000-01-01..2000-02-29", "2000-05-01..2000-05-31"]
+        ["1999-12-31..2000-01-01", "2000-01-01..2000-01-31"] | ["1999-12", "2000-01"]                      | ["1999-12-01..2000-01-31"]
+
+    }
+
+    def "of infinite ranges"() {
+        expect:
+        assertThatThrownBy(() -> BitmapMonths.ofRanges(ranges(["2000-01-01.."])))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("infinite range to months conversion is not supported")
+    }
+
+    def "contains month"() {
+
+        given:
+        final BitmapMonths months = BitmapMonths.ofMonths([month("2000-01"), month("2000-02"), month("2010-12")])
+
+        expect:
+        months.containsMonth(month(monthAsString)) == isContained
+
+        where:
+        monthAsString | isContained
+        "1999-12"     | false
+        "2000-01"     | true
+        "2000-02"     | true
+        "2000-03"     | false
+        "2010-12"     | true
+
+    }
+
+    def "union / intersect / subtract"() {
+
+        given:
+        final BitmapMonths left = BitmapMonths.ofRanges(ranges(["2000-01-01..2000-06-30"]))
+        final BitmapMonths right = BitmapMonths.ofRanges(ranges(["2000-05-01..2000-08-31"]))
+
+        expect:
+        assertThat(left.union(right).asRanges()).containsExactlyElementsOf(ranges(["2000-01-01..2000-08-31"]))
+        assertThat(left.intersect(right).asRanges()).containsExactlyElementsOf(ranges(["2000-05-01..2000-06-30"]))
+        assertThat(left.subtract(right).asRanges()).containsExactlyElementsOf(ranges(["2000-01-01..2000-04-30"]))
+        left.union(right).size() == 8
+
+    }
+
+}
@@ -0,0 +1,75 @@
+package be.gerard.time
+
+import spock.lang.Specification
+import spock.lang.Title
+
+import java.time.LocalDate
+import java.time.temporal.ChronoUnit
+
+import static be.gerard.time.DateRangeTestUtils.day
+import static be.gerard.time.DateRangeTestUtils.ranges
+import static org.assertj.core.api.Assertions.assertThat
+import static org.assertj.core.api.Assertions.assertThatThrownBy
+
+@Title("CalendarUnits")
+class CalendarUnitsSpecification extends Specification {
+
+    def "start of unit"() {
+
+        expect:
+        CalendarUnits.startEpochDay(CalendarUnits.ordinal(day(dayAsString).toEpochDay(), unit), unit) == day(expectedStart).toEpochDay()
+
+        where:
+        dayAsString   | unit                 | expectedStart
+        "1951-02-11"  | ChronoUnit.DAYS      | "1951-02-11"
+        "1951-02-11"  | ChronoUnit.WEEKS     | "1951-02-05"
+        "1951-02-11"  | ChronoUnit.MONTHS    | "1951-02-01"
+        "1951-02-11"  | ChronoUnit.YEARS     | "1951-01-01"
+        "1951-02-11"  | ChronoUnit.DECADES   | "1950-01-01"
+        "1951-02-11"  | ChronoUnit.CENTURIES | "1900-01-01"
+        "1951-02-11"  | ChronoUnit.MILLENNIA | "1000-01-01"
+        "-0005-06-01" | ChronoUnit.DECADES   | "-0010-01-01"
+
+    }
+
+    def "count days"() {
+
+        when:
+        final SortedMap<LocalDate, Long> counts = CalendarUnits.countDays(Days.parse(daysAsStrings), unit)
+
+        then:
+        assertThat(counts).isEqualTo(expectedCounts.collectEntries { key, value -> [(day(key)): value] })
+
+        where:
+        daysAsStrings                              | unit              | expectedCounts
+        []                                         | ChronoUnit.MONTHS | [:]
+        ["2000-01-30", "2000-01-31", "2000-02-01"] | ChronoUnit.MONTHS | ["2000-01-01": 2L, "2000-02-01": 1L]
+        ["2000-01-30", "2000-01-31", "2000-02-01"] | ChronoUnit.WEEKS  | ["2000-01-24": 1L, "2000-01-31": 2L]
+
+    }
+
+    def "count ranges / covered days"() {
+
+        given:
+        final List<DateRange> ranges = ranges(rangesAsStrings)
+
+        expect:
+        assertThat(CalendarUnits.countRanges(ranges, unit)).isEqualTo(expectedRanges.collectEntries { key, value -> [(day(key)): value] })
+        assertThat(CalendarUnits.countCoveredDays(ranges, unit)).isEqualTo(expectedDays.collectEntries { key, value -> [(day(key)): value] })
+
+        where:
+        rangesAsStrings                                                      | unit              | expectedRanges                                                                               | expectedDays
+        ["2000-01-15..2000-03-15", "2000-02-01"]                             | ChronoUnit.MONTHS | ["2000-01-01": 1L, "2000-02-01": 2L, "2000-03-01": 1L]                                       | ["2000-01-01": 17L, "2000-02-01": 30L, "2000-03-01": 15L]
+        ["1999-12-01..2001-01-31", "2000-06-01"]                             | ChronoUnit.YEARS  | ["1999-01-01": 1L, "2000-01-01": 2L, "2001-01-01": 1L]                                       | ["1999-01-01": 31L, "2000-01-01": 367L, "2001-01-01": 31L]
+        ["-1000-01-01..-1000-01-02", "2000-01-01..2000-01-03", "2000-01-02"] | ChronoUnit.DAYS   | ["-1000-01-01": 1L, "-1000-01-02": 1L, "2000-01-01": 1L, "2000-01-02": 2L, "2000-01-03": 1L] | ["-1000-01-01": 1L, "-1000-01-02": 1L, "2000-01-01": 1L, "2000-01-02": 2L, "2000-01-03": 1L]
+
+    }
+
+    def "infinite ranges"() {
+        expect:
+        assertThatThrownBy(() -> CalendarUnits.countRanges(ranges(["2000-01-01.."]), ChronoUnit.MONTHS))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("infinite range can not be bucketed by Months")
+    }
+
+}
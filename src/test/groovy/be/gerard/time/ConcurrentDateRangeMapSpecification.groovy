@@ -0,0 +1,54 @@
+package be.gerard.time
+
+import spock.lang.Specification
+import spock.lang.Title
+
+import java.util.concurrent.Executors
+import java.util.concurrent.Future
+
+import static be.gerard.time.DateRangeTestUtils.day
+import static be.gerard.time.DateRangeTestUtils.range
+import static org.assertj.core.api.Assertions.assertThat
+
+@Title("ConcurrentDateRangeMap")
+class ConcurrentDateRangeMapSpecification extends Specification {
+
+    def "put / remove"() {
+
+        given:
+        final ConcurrentDateRangeMap<String> map = new ConcurrentDateRangeMap<>()
+
+        when:
+        map.put(range("2026-01-01.."), "A")
+        final DateRangeMap<String> before = map.snapshot()
+        map.put(range("2026-03-01..2026-06-30"), "B")
+        map.remove(range("2026-12-25"))
+
+        then:
+        assertThat(map.toString()).isEqualTo("DateRangeMap[2026-01-01..2026-02-28=A, 2026-03-01..2026-06-30=B, 2026-07-01..2026-12-24=A, 2026-12-26..=A]")
+        map.valueAt(day("2026-04-01")) == Optional.of("B")
+        map.valueAt(day("2026-12-25"), "none") == "none"
+        before.valueAt(day("2026-04-01")) == Optional.of("A")
+
+    }
+
+    def "concurrent writers"() {
+
+        given:
+        final ConcurrentDateRangeMap<Integer> map = new ConcurrentDateRangeMap<>()
+        final def executor = Executors.newFixedThreadPool(4)
+
+        when:
+        final List<Future<?>> futures = (0..<100).collect { i ->
+            executor.submit({ map.put(DateRange.ofEpochDays(i * 10, i * 10 + 9), i) } as Runnable)
+        }
+        futures*.get()
+        executor.shutdown()
+
+        then:
+        (0..<100).every { i -> map.snapshot().valueAt(i * 10L + 5L, -1) == i }
+        map.snapshot().size() == 100
+
+    }
+
+}
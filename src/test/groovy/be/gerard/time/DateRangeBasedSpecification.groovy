@@ -41,5 +41,38 @@ class DateRangeBasedSpecification extends Specification {
 
     }
 
+    def "group overlapping ranges in parallel / streaming"() {
 
-}
\ No newline at end of file
+        given:
+        final List<DateRange> ranges = ranges(rangesAsStrings)
+        final List<List<DateRange>> expectedOverlappingRanges = DateRangeBased.groupOverlappingRanges(ranges)
+
+        when:
+        final List<List<DateRange>> parallelOverlappingRanges = DateRangeBased.groupOverlappingRangesInParallel(ranges)
+        final List<List<DateRange>> streamedOverlappingRanges = DateRangeBased.streamOverlappingRanges(DateRange.sort(ranges).stream()).toList()
+
+        then:
+        assertThat(parallelOverlappingRanges).containsExactlyElementsOf(expectedOverlappingRanges)
+        assertThat(streamedOverlappingRanges).containsExactlyElementsOf(expectedOverlappingRanges)
+
+        where:
+        rangesAsStrings                                                                              | comment
+        []                                                                                           | ""
+        ["2000-01-01"]                                                                               | ""
+        ["2000-01-01", "2000-01-01", "2000-01-02"]                                                   | ""
+        ["2000-01-02..2000-01-05", "2000-01-01..2000-01-06", "2000-01-08"]                           | ""
+        ["2000-01-01..2000-01-31", "2000-01-02", "2000-01-05..2000-01-06", "2000-01-31..2000-02-02"] | "long first range"
+        ["2000-01-03..", "2000-01-01", "2001-01-01..2001-01-03"]                                     | "infinite"
+
+    }
+
+    def "stream overlapping ranges requires sorted input"() {
+
+        when:
+        DateRangeBased.streamOverlappingRanges(ranges(["2000-01-02", "2000-01-01"]).stream()).toList()
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+}
@@ -0,0 +1,94 @@
+package be.gerard.time
+
+import spock.lang.Specification
+import spock.lang.Title
+
+import java.time.LocalDate
+
+import static be.gerard.time.DateRangeTestUtils.day
+import static be.gerard.time.DateRangeTestUtils.range
+import static be.gerard.time.DateRangeTestUtils.ranges
+import static org.assertj.core.api.Assertions.assertThat
+import static org.assertj.core.api.Assertions.assertThatThrownBy
+
+@Title("DateRangeBatch")
+class DateRangeBatchSpecification extends Specification {
+
+    static final List<String> ROWS = ["2000-01-01..2000-01-03", "2000-01-05..", "2000-01-02", "2000-01-10..2000-01-20"]
+
+    def "indices containing day"() {
+
+        given:
+        final DateRangeBatch batch = DateRangeBatch.of(ranges(ROWS))
+
+        expect:
+        assertThat(batch.indicesContainingDay(probe)).containsExactly(expectedIndices as int[])
+        Bitmaps.cardinality(batch.maskContainingDay(probe)) == expectedIndices.size()
+
+        where:
+        probe             | expectedIndices
+        day("1999-12-31") | []
+        day("2000-01-02") | [0, 2]
+        day("2000-01-04") | []
+        day("2000-01-12") | [1, 3]
+        LocalDate.MAX     | [1]
+
+    }
+
+    def "indices intersecting with"() {
+
+        given:
+        final DateRangeBatch batch = DateRangeBatch.of(ranges(ROWS))
+
+        expect:
+        assertThat(batch.indicesIntersectingWith(range(rangeAsString))).containsExactly(expectedIndices as int[])
+
+        where:
+        rangeAsString            | expectedIndices
+        "1999-01-01..1999-12-31" | []
+        "2000-01-03..2000-01-05" | [0, 1]
+        "2000-01-04"             | []
+        "2000-01-20.."           | [1, 3]
+        "1999-01-01.."           | [0, 1, 2, 3]
+
+    }
+
+    def "lengths"() {
+        expect:
+        assertThat(DateRangeBatch.of(ranges(ROWS)).lengths()).containsExactly(3L, Long.MAX_VALUE, 1L, 11L)
+    }
+
+    def "intersect"() {
+
+        when:
+        final DateRangeBatch intersections = DateRangeBatch.of(ranges(ROWS)).intersect(range(rangeAsString))
+
+        then:
+        assertThat(intersections.ranges()).containsExactlyElementsOf(ranges(expectedRanges))
+
+        where:
+        rangeAsString            | expectedRanges
+        "2000-01-03..2000-01-11" | ["2000-01-03", "2000-01-05..2000-01-11", "2000-01-10..2000-01-11"]
+        "2000-01-15.."           | ["2000-01-15..", "2000-01-15..2000-01-20"]
+        "2000-01-04"             | []
+
+    }
+
+    def "of epoch days"() {
+        expect:
+        DateRangeBatch.ofEpochDays([10957, 10961] as int[], [10959, Integer.MAX_VALUE] as int[]) == DateRangeBatch.of(ranges(["2000-01-01..2000-01-03", "2000-01-05.."]))
+
+        and:
+        assertThatThrownBy(() -> DateRangeBatch.ofEpochDays([10959] as int[], [10957] as int[]))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("start must be on or before end [row=0]")
+    }
+
+    def "epoch day beyond an int"() {
+        expect:
+        assertThatThrownBy(() -> DateRangeBatch.of([DateRange.ofOneDay(LocalDate.MIN)]))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("epoch day does not fit in a batch [epochDay=-365243219162]")
+    }
+
+}
@@ -0,0 +1,103 @@
+package be.gerard.time
+
+import spock.lang.Specification
+import spock.lang.Title
+
+import static be.gerard.time.DateRangeTestUtils.range
+import static be.gerard.time.DateRangeTestUtils.ranges
+import static org.assertj.core.api.Assertions.assertThat
+import static org.assertj.core.api.Assertions.assertThatThrownBy
+
+@Title("DateRangeCodec")
+class DateRangeCodecSpecification extends Specification {
+
+    def "range"() {
+
+        given:
+        final DateRange range = range(rangeAsString)
+
+        when:
+        final byte[] bytes = DateRangeCodec.toBytes(range)
+
+        then:
+        assertThat(bytes).hasSize(expectedBytes)
+        DateRangeCodec.readRange(bytes) == range
+
+        where:
+        rangeAsString                            | expectedBytes | comment
+        "1970-01-01"                             | 2             | ""
+        "2000-01-01"                             | 4             | ""
+        "2000-01-01..2000-12-31"                 | 5             | ""
+        "2000-01-01.."                           | 4             | "infinite"
+        "1900-01-01"                             | 4             | "before 1970"
+        "-999999999-01-01..+999999999-12-31"     | 12            | ""
+
+    }
+
+    def "ranges"() {
+
+        given:
+        final DateRanges ranges = DateRanges.ofRanges(ranges(rangesAsStrings))
+
+        expect:
+        DateRangeCodec.readRanges(DateRangeCodec.toBytes(ranges)) == ranges
+
+        where:
+        rangesAsStrings                                                        | comment
+        ["2000-01-01"]                                                         | ""
+        ["2000-03-01..2000-03-31", "2000-01-01..2000-01-31", "2000-02-01.."]   | "unsorted"
+        ["2000-01-01..2000-01-31", "2000-01-01..2000-01-31"]                   | "duplicate"
+
+    }
+
+    def "days"() {
+
+        given:
+        final Days days = Days.ofDays(Days.parse(daysAsStrings))
+
+        when:
+        final byte[] bytes = DateRangeCodec.toBytes(days)
+
+        then:
+        assertThat(bytes).hasSize(expectedBytes)
+        DateRangeCodec.readDays(bytes) == days
+
+        where:
+        daysAsStrings                                                          | expectedBytes | comment
+        ["2000-01-01"]                                                         | 5             | ""
+        ["2000-01-01", "2000-01-02", "2000-01-03"]                             | 5             | "one run"
+        ["2000-01-01", "2000-01-02", "2000-01-04", "2000-01-06", "2000-01-07"] | 9             | "three runs"
+
+    }
+
+    def "malformed"() {
+        expect:
+        assertThatThrownBy(() -> DateRangeCodec.readRange([0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0x01] as byte[]))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("variable length integer has too many bytes")
+    }
+
+    def "size beyond the remaining bytes"() {
+        expect:
+        assertThatThrownBy(() -> DateRangeCodec.readRanges([0xFE, 0xFF, 0xFF, 0xFF, 0x07, 0x00, 0x02] as byte[]))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("size exceeds the remaining bytes [size=2147483646, remaining=2]")
+        assertThatThrownBy(() -> DateRangeCodec.readDays([0xFE, 0xFF, 0xFF, 0xFF, 0x07, 0x00, 0x02] as byte[]))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("size exceeds the remaining bytes [size=2147483646, remaining=2]")
+    }
+
+    def "days beyond the maximum"() {
+        expect:
+        assertThatThrownBy(() -> DateRangeCodec.readDays(bytes as byte[]))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage(expectedMessage)
+
+        where:
+        bytes                                                                          | expectedMessage                                                | comment
+        [0x01, 0xB3, 0xF3, 0x89, 0xA3, 0xA1, 0x15, 0xD1, 0x8B, 0xB2, 0xA2, 0xA1, 0x15] | "days exceed the maximum [days=730484999634, maximum=1000000]" | "one run from LocalDate.MIN to LocalDate.MAX"
+        [0x02, 0x00, 0xBF, 0x84, 0x3D, 0x02, 0x00]                                     | "days exceed the maximum [days=1000001, maximum=1000000]"      | "two runs, together one day too many"
+
+    }
+
+}
@@ -0,0 +1,83 @@
+package be.gerard.time
+
+import spock.lang.Specification
+import spock.lang.Title
+
+import static be.gerard.time.DateRangeTestUtils.day
+import static be.gerard.time.DateRangeTestUtils.range
+import static be.gerard.time.DateRangeTestUtils.ranges
+import static org.assertj.core.api.Assertions.assertThat
+import static org.assertj.core.api.Assertions.assertThatThrownBy
+
+@Title("DateRangeCoverage")
+class DateRangeCoverageSpecification extends Specification {
+
+    def "runs"() {
+
+        when:
+        final DateRangeCoverage coverage = DateRangeCoverage.of(ranges(rangesAsStrings))
+
+        then:
+        assertThat(coverage.runs()).containsExactlyElementsOf(expectedRuns.collect { new DateRangeCoverage.Run(range(it.key), it.value) })
+        coverage.maxDepth() == expectedMaxDepth
+
+        where:
+        rangesAsStrings                                                    | expectedRuns                                                                               | expectedMaxDepth | comment
+        []                                                                 | [:]                                                                                        | 0                | ""
+        ["2000-01-01..2000-01-03"]                                         | ["2000-01-01..2000-01-03": 1]                                                              | 1                | ""
+        ["2000-01-01..2000-01-03", "2000-01-04..2000-01-06"]               | ["2000-01-01..2000-01-06": 1]                                                              | 1                | "adjacent runs of the same depth are coalesced"
+        ["2000-01-01..2000-01-04", "2000-01-03..2000-01-05", "2000-01-08"] | ["2000-01-01..2000-01-02": 1, "2000-01-03..2000-01-04": 2, "2000-01-05": 1, "2000-01-08": 1] | 2                | ""
+        ["2000-01-01..", "2000-01-03..", "2000-01-02..2000-01-04"]         | ["2000-01-01": 1, "2000-01-02": 2, "2000-01-03..2000-01-04": 3, "2000-01-05..": 2]          | 3                | "infinite"
+
+    }
+
+    def "depth at"() {
+
+        given:
+        final DateRangeCoverage coverage = DateRangeCoverage.of(ranges(["2000-01-01..2000-01-04", "2000-01-03..", "2000-01-03"]))
+
+        expect:
+        coverage.depthAt(day(dayAsString)) == expectedDepth
+
+        where:
+        dayAsString        | expectedDepth
+        "1999-12-31"       | 0
+        "2000-01-01"       | 1
+        "2000-01-03"       | 3
+        "2000-01-04"       | 2
+        "2000-01-05"       | 1
+        "+999999999-12-31" | 1
+
+    }
+
+    def "at least"() {
+
+        given:
+        final DateRangeCoverage coverage = DateRangeCoverage.of(ranges(["2000-01-01..2000-01-04", "2000-01-03..2000-01-05", "2000-01-04..2000-01-10", "2000-01-12"]))
+
+        expect:
+        assertThat(coverage.atLeast(depth)).containsExactlyElementsOf(ranges(expectedRanges))
+
+        where:
+        depth | expectedRanges
+        1     | ["2000-01-01..2000-01-10", "2000-01-12"]
+        2     | ["2000-01-03..2000-01-05"]
+        3     | ["2000-01-04"]
+        4     | []
+
+    }
+
+    def "at max depth"() {
+        expect:
+        assertThat(DateRangeCoverage.of(ranges(["2000-01-01..2000-01-04", "2000-01-03..2000-01-05", "2000-01-05.."])).atMaxDepth())
+                .containsExactlyElementsOf(ranges(["2000-01-03..2000-01-05"]))
+    }
+
+    def "at least with an invalid depth"() {
+        expect:
+        assertThatThrownBy(() -> DateRangeCoverage.empty().atLeast(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("depth must be >= 1 [depth=0]")
+    }
+
+}
@@ -0,0 +1,77 @@
+package be.gerard.time
+
+import spock.lang.Specification
+import spock.lang.Title
+
+import java.nio.ByteBuffer
+import java.nio.charset.StandardCharsets
+
+import static be.gerard.time.DateRangeTestUtils.range
+import static be.gerard.time.DateRangeTestUtils.ranges
+import static org.assertj.core.api.Assertions.assertThat
+import static org.assertj.core.api.Assertions.assertThatThrownBy
+
+@Title("DateRangeEncoder")
+class DateRangeEncoderSpecification extends Specification {
+
+    def "to text"() {
+
+        given:
+        final DateRange range = range(rangeAsString)
+
+        expect:
+        DateRangeEncoder.toText(range) == rangeAsString
+        DateRangeEncoder.toText(range) == range.asText()
+        DateRangeEncoder.appendTo(new StringBuilder(">"), range).toString() == ">${rangeAsString}".toString()
+
+        where:
+        rangeAsString                        | comment
+        "2000-01-01"                         | "one day"
+        "2000-01-01.."                       | "infinite"
+        "2000-01-01..2000-12-31"             | "end inclusive"
+        "1969-12-31..1970-01-01"             | "around epoch day 0"
+        "2000-02-29"                         | "leap day"
+        "0000-01-01"                         | ""
+        "-0001-12-31"                        | "negative year"
+        "-10000-01-01..+10000-12-31"         | "more than 4 digits"
+        "-999999999-01-01..+999999999-12-30" | "LocalDate.MIN up to the day before LocalDate.MAX"
+        "+999999999-12-31"                   | "LocalDate.MAX"
+        "+999999999-12-31.."                 | "infinite, starting on LocalDate.MAX"
+
+    }
+
+    def "batch"() {
+
+        given:
+        final List<DateRange> input = ranges(["2000-01-01", "2000-01-03..", "2000-01-01..2000-01-02"])
+        final ByteBuffer buffer = ByteBuffer.allocate(64)
+
+        when:
+        DateRangeEncoder.write(input, ",", buffer)
+
+        then:
+        DateRangeEncoder.toText(input, ", ") == "2000-01-01, 2000-01-03.., 2000-01-01..2000-01-02"
+        DateRangeEncoder.appendTo(new StringWriter(), input, "\n").toString() == "2000-01-01\n2000-01-03..\n2000-01-01..2000-01-02"
+        new String(buffer.array(), 0, buffer.position(), StandardCharsets.US_ASCII) == "2000-01-01,2000-01-03..,2000-01-01..2000-01-02"
+        DateRangeEncoder.toText([], ",") == ""
+
+    }
+
+    def "batch round trip"() {
+
+        given:
+        final List<DateRange> input = ranges(["2000-01-01..2000-01-02", "1999-12-31", "2000-01-05.."])
+
+        expect:
+        assertThat(DateRange.parse(DateRangeEncoder.toText(input, ";").split(";").toList())).containsExactlyElementsOf(input)
+
+    }
+
+    def "non ascii separator"() {
+        expect:
+        assertThatThrownBy(() -> DateRangeEncoder.write(ranges(["2000-01-01"]), "€", ByteBuffer.allocate(64)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("separator must be ASCII [separator=€]")
+    }
+
+}
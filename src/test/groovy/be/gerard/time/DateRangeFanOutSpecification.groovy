@@ -0,0 +1,111 @@
+package be.gerard.time
+
+import spock.lang.Specification
+import spock.lang.Title
+
+import java.util.concurrent.ConcurrentHashMap
+
+import static be.gerard.time.DateRangeTestUtils.ranges
+import static org.assertj.core.api.Assertions.assertThat
+import static org.assertj.core.api.Assertions.assertThatThrownBy
+
+@Title("DateRangeFanOut")
+class DateRangeFanOutSpecification extends Specification {
+
+    static final Map<String, List<DateRange>> RANGES_BY_KEY = [
+            "B": ranges(["2000-01-01..2000-01-05", "2000-01-03..2000-01-10"]),
+            "A": ranges(["2000-02-01"]),
+            "C": ranges(["2000-03-01..2000-03-02", "2000-03-05"])
+    ]
+
+    def "apply"() {
+
+        when:
+        final DateRangeFanOut.Results<String, List<DateRange>> results = DateRangeFanOut.apply(RANGES_BY_KEY, DateRange::merge, execution)
+
+        then:
+        results.isSuccessful()
+        assertThat(results.values().keySet()).containsExactly("B", "A", "C")
+        results.values() == [
+                "B": ranges(["2000-01-01..2000-01-10"]),
+                "A": ranges(["2000-02-01"]),
+                "C": ranges(["2000-03-01..2000-03-02", "2000-03-05"])
+        ]
+
+        where:
+        execution                                   | comment
+        DateRangeFanOut.Execution.virtualThreads(2) | ""
+        DateRangeFanOut.Execution.forkJoin(2)       | ""
+
+    }
+
+    def "failure per key"() {
+
+        given:
+        final Map<String, List<DateRange>> rangesByKey = new LinkedHashMap<>(RANGES_BY_KEY)
+        rangesByKey.put("D", null)
+
+        when:
+        final DateRangeFanOut.Results<String, List<DateRange>> results = DateRangeFanOut.apply(rangesByKey, DateRange::merge, DateRangeFanOut.Execution.forkJoin(2))
+
+        then:
+        !results.isSuccessful()
+        assertThat(results.values().keySet()).containsExactly("B", "A", "C")
+        assertThat(results.failures().keySet()).containsExactly("D")
+        results.failures()["D"] instanceof NullPointerException
+
+    }
+
+    def "an error is rethrown once all keys are done"() {
+
+        given:
+        final Set<String> done = ConcurrentHashMap.newKeySet()
+
+        when:
+        DateRangeFanOut.apply(RANGES_BY_KEY, { Collection<DateRange> ranges ->
+            if (ranges.size() == 1) {
+                throw new StackOverflowError("deep")
+            }
+            done.add(ranges.first().asText())
+            return ranges
+        }, execution)
+
+        then:
+        final StackOverflowError error = thrown()
+        error.message == "deep"
+        done.size() == 2
+
+        where:
+        execution                                   | comment
+        DateRangeFanOut.Execution.virtualThreads(2) | ""
+        DateRangeFanOut.Execution.forkJoin(2)       | ""
+
+    }
+
+    def "apply unordered"() {
+
+        given:
+        final Map<String, Object> seen = new ConcurrentHashMap<>()
+
+        when:
+        DateRangeFanOut.applyUnordered(RANGES_BY_KEY, DateRange::findAllGaps, DateRangeFanOut.Execution.virtualThreads(2), { result ->
+            seen.put(result.key(), result.value())
+        })
+
+        then:
+        seen == [
+                "B": [],
+                "A": [],
+                "C": ranges(["2000-03-03..2000-03-04"])
+        ]
+
+    }
+
+    def "invalid parallelism"() {
+        expect:
+        assertThatThrownBy(() -> DateRangeFanOut.Execution.forkJoin(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("execution.parallelism must be >= 1 [parallelism=0]")
+    }
+
+}
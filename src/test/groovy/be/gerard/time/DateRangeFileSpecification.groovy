@@ -0,0 +1,84 @@
+package be.gerard.time
+
+import spock.lang.Specification
+import spock.lang.TempDir
+import spock.lang.Title
+
+import java.nio.file.Path
+
+import static be.gerard.time.DateRangeTestUtils.day
+import static be.gerard.time.DateRangeTestUtils.range
+import static be.gerard.time.DateRangeTestUtils.ranges
+import static org.assertj.core.api.Assertions.assertThat
+
+@Title("DateRangeFile")
+class DateRangeFileSpecification extends Specification {
+
+    @TempDir
+    Path directory
+
+    static final List<String> RANGES = [
+            "2000-03-01..2000-03-31",
+            "2000-01-01..2000-12-31",
+            "2000-01-15",
+            "2000-02-01..",
+            "2001-01-01..2001-01-31",
+            "1999-12-31"
+    ]
+
+    def "ranges"() {
+
+        given:
+        final Path path = directory.resolve("ranges.bin")
+        DateRangeFile.write(path, ranges(RANGES))
+
+        when:
+        final DateRangeFile file = DateRangeFile.open(path)
+
+        then:
+        file.size() == RANGES.size()
+        assertThat(file.ranges().toList()).containsExactlyElementsOf(DateRange.sort(ranges(RANGES)))
+
+    }
+
+    def "find all containing"() {
+
+        given:
+        final DateRangeFile file = DateRangeFile.of(DateRangeFile.encode(ranges(RANGES), 2))
+
+        when:
+        final List<DateRange> result = file.findAllContaining(day(dayAsString))
+
+        then:
+        assertThat(result).containsExactlyElementsOf(ranges(expectedRanges))
+
+        where:
+        dayAsString  | expectedRanges
+        "1999-12-30" | []
+        "1999-12-31" | ["1999-12-31"]
+        "2000-01-15" | ["2000-01-01..2000-12-31", "2000-01-15"]
+        "2000-03-15" | ["2000-01-01..2000-12-31", "2000-02-01..", "2000-03-01..2000-03-31"]
+        "2100-01-01" | ["2000-02-01.."]
+
+    }
+
+    def "find all intersecting"() {
+
+        given:
+        final DateRangeFile file = DateRangeFile.of(DateRangeFile.encode(ranges(RANGES), 2))
+
+        when:
+        final List<DateRange> result = file.findAllIntersecting(range(rangeAsString))
+
+        then:
+        assertThat(result).containsExactlyElementsOf(ranges(expectedRanges))
+
+        where:
+        rangeAsString            | expectedRanges
+        "1990-01-01..1999-12-30" | []
+        "1999-01-01..2000-01-01" | ["1999-12-31", "2000-01-01..2000-12-31"]
+        "2001-01-01.."           | ["2000-02-01..", "2001-01-01..2001-01-31"]
+
+    }
+
+}
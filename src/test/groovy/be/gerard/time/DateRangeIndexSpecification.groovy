@@ -0,0 +1,60 @@
+package be.gerard.time
+
+import spock.lang.Specification
+import spock.lang.Title
+
+import static be.gerard.time.DateRangeTestUtils.day
+import static be.gerard.time.DateRangeTestUtils.range
+import static be.gerard.time.DateRangeTestUtils.ranges
+import static org.assertj.core.api.Assertions.assertThat
+
+@Title("DateRangeIndex")
+class DateRangeIndexSpecification extends Specification {
+
+    def "find all containing"() {
+
+        given:
+        final DateRangeIndex<DateRange> index = DateRangeIndex.of(ranges(rangesAsStrings))
+
+        when:
+        final List<DateRange> containing = index.findAllContaining(day(dayAsString))
+
+        then:
+        assertThat(containing).containsExactlyInAnyOrderElementsOf(ranges(expectedRanges))
+
+        where:
+        rangesAsStrings                                                      | dayAsString  | expectedRanges                                       | comment
+        []                                                                   | "2000-01-01" | []                                                   | ""
+        ["2000-01-01"]                                                       | "2000-01-01" | ["2000-01-01"]                                       | ""
+        ["2000-01-01"]                                                       | "2000-01-02" | []                                                   | ""
+        ["2000-01-01..2000-01-03", "2000-01-02..2000-01-05", "2000-01-06"]   | "2000-01-02" | ["2000-01-01..2000-01-03", "2000-01-02..2000-01-05"] | ""
+        ["2000-01-01..2000-01-03", "2000-01-02..2000-01-05", "2000-01-06"]   | "2000-01-04" | ["2000-01-02..2000-01-05"]                           | ""
+        ["2000-01-01..2000-01-03", "2000-01-02..2000-01-05", "2000-01-06"]   | "2000-01-06" | ["2000-01-06"]                                       | ""
+        ["2000-01-01..", "2000-01-02..2000-01-05", "2001-01-01.."]           | "2000-06-01" | ["2000-01-01.."]                                     | "infinite"
+        ["2000-01-01..", "2000-01-02..2000-01-05", "2001-01-01.."]           | "9999-12-31" | ["2000-01-01..", "2001-01-01.."]                     | "infinite"
+        ["2000-01-01..", "2000-01-02..2000-01-05", "2001-01-01.."]           | "1999-12-31" | []                                                   | "infinite"
+
+    }
+
+    def "find all intersecting"() {
+
+        given:
+        final DateRangeIndex<DateRange> index = DateRangeIndex.of(ranges(rangesAsStrings))
+
+        when:
+        final List<DateRange> intersecting = index.findAllIntersecting(range(rangeAsString))
+
+        then:
+        assertThat(intersecting).containsExactlyInAnyOrderElementsOf(ranges(expectedRanges))
+
+        where:
+        rangesAsStrings                                                    | rangeAsString            | expectedRanges                                                     | comment
+        []                                                                 | "2000-01-01.."           | []                                                                 | ""
+        ["2000-01-01..2000-01-03", "2000-01-02..2000-01-05", "2000-01-06"] | "2000-01-04..2000-01-06" | ["2000-01-02..2000-01-05", "2000-01-06"]                           | ""
+        ["2000-01-01..2000-01-03", "2000-01-02..2000-01-05", "2000-01-06"] | "2000-01-07..2000-01-09" | []                                                                 | ""
+        ["2000-01-01..2000-01-03", "2000-01-02..2000-01-05", "2000-01-06"] | "1999-01-01.."           | ["2000-01-01..2000-01-03", "2000-01-02..2000-01-05", "2000-01-06"] | "infinite"
+        ["2000-01-01..", "2000-01-02..2000-01-05", "2001-01-01.."]         | "2000-12-01..2001-01-01" | ["2000-01-01..", "2001-01-01.."]                                   | "infinite"
+
+    }
+
+}
@@ -0,0 +1,72 @@
+package be.gerard.time
+
+import spock.lang.Specification
+import spock.lang.Title
+
+import static be.gerard.time.DateRangeTestUtils.range
+import static org.assertj.core.api.Assertions.assertThat
+
+@Title("DateRangeJoin")
+class DateRangeJoinSpecification extends Specification {
+
+    static List<DateRangeMap.Entry<String>> items(
+            final Map<String, String> itemsAsStrings
+    ) {
+        itemsAsStrings.collect { new DateRangeMap.Entry<String>(range(it.value), it.key) }
+    }
+
+    static List<String> asText(
+            final List<DateRangeJoin.Match<DateRangeMap.Entry<String>, DateRangeMap.Entry<String>>> matches
+    ) {
+        matches.collect { "${it.left().value()}-${it.hasRight() ? it.right().value() : ""}=${it.range().asText()}".toString() }
+    }
+
+    static final Map<String, String> CONTRACTS = ["C1": "2000-01-01..2000-06-30", "C2": "2000-05-01..", "C3": "1999-01-01..1999-12-31"]
+    static final Map<String, String> PRICES = ["P2": "2000-04-01..", "P1": "2000-01-01..2000-03-31"]
+
+    def "inner join"() {
+
+        when:
+        final List<String> matches = asText(DateRangeJoin.innerJoin(items(left), items(right)))
+
+        then:
+        assertThat(matches).containsExactlyElementsOf(expectedMatches)
+
+        where:
+        left      | right  | expectedMatches                                                                                     | comment
+        [:]       | PRICES | []                                                                                                  | ""
+        CONTRACTS | [:]    | []                                                                                                  | ""
+        CONTRACTS | PRICES | ["C1-P1=2000-01-01..2000-03-31", "C1-P2=2000-04-01..2000-06-30", "C2-P2=2000-05-01.."]             | "ordered by the start of the intersection"
+
+    }
+
+    def "left outer join"() {
+
+        when:
+        final List<String> matches = asText(DateRangeJoin.leftOuterJoin(items(CONTRACTS), items(PRICES)))
+
+        then:
+        assertThat(matches).containsExactly(
+                "C3-=1999-01-01..1999-12-31",
+                "C1-P1=2000-01-01..2000-03-31",
+                "C1-P2=2000-04-01..2000-06-30",
+                "C2-P2=2000-05-01.."
+        )
+
+    }
+
+    def "join by key"() {
+
+        given:
+        final List<DateRangeMap.Entry<String>> contracts = items(["A1": "2000-01-01..2000-12-31", "B1": "2000-01-01..2000-12-31"])
+        final List<DateRangeMap.Entry<String>> prices = items(["A2": "2000-06-01..2001-06-30", "C2": "2000-01-01.."])
+
+        expect:
+        assertThat(asText(DateRangeJoin.innerJoin(contracts, prices, { it.value().take(1) }, { it.value().take(1) })))
+                .containsExactly("A1-A2=2000-06-01..2000-12-31")
+        assertThat(asText(DateRangeJoin.leftOuterJoin(contracts, prices, { it.value().take(1) }, { it.value().take(1) })))
+                .containsExactly("A1-A2=2000-06-01..2000-12-31", "B1-=2000-01-01..2000-12-31")
+
+    }
+
+}
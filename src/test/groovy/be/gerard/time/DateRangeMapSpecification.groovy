@@ -0,0 +1,123 @@
+package be.gerard.time
+
+import spock.lang.Specification
+import spock.lang.Title
+
+import static be.gerard.time.DateRangeTestUtils.day
+import static be.gerard.time.DateRangeTestUtils.range
+import static be.gerard.time.DateRangeTestUtils.ranges
+import static org.assertj.core.api.Assertions.assertThat
+import static org.assertj.core.api.Assertions.assertThatThrownBy
+
+@Title("DateRangeMap")
+class DateRangeMapSpecification extends Specification {
+
+    static final DateRangeMap<String> TIMELINE = DateRangeMap.ofTimeline([
+            (day("2001-01-01")): "A",
+            (day("2001-05-01")): "B",
+            (day("2005-01-01")): "B",
+            (day("2010-01-01")): "C"
+    ])
+
+    def "of timeline"() {
+        expect:
+        assertThat(TIMELINE.ranges()).containsExactlyElementsOf(ranges(["2001-01-01..2001-04-30", "2001-05-01..2009-12-31", "2010-01-01.."]))
+        assertThat(TIMELINE.entries()*.value()).containsExactly("A", "B", "C")
+    }
+
+    def "of ranges"() {
+
+        when:
+        final DateRangeMap<Integer> map = DateRangeMap.ofRanges([
+                (range("2000-04-01..")): 2,
+                (range("2000-01-01..2000-01-31")): 1,
+                (range("2000-02-01..2000-02-29")): 1
+        ])
+
+        then:
+        assertThat(map.ranges()).containsExactlyElementsOf(ranges(["2000-01-01..2000-02-29", "2000-04-01.."]))
+        map.valueAt(day("2000-03-01"), -1) == -1
+        map.valueAt(day("2100-01-01"), -1) == 2
+
+    }
+
+    def "of overlapping ranges"() {
+        expect:
+        assertThatThrownBy(() -> DateRangeMap.ofRanges([(range("2000-01-01..")): 1, (range("2001-01-01")): 2]))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("ranges are overlapping [2000-01-01.., 2001-01-01]")
+    }
+
+    def "value at"() {
+
+        expect:
+        TIMELINE.valueAt(day(dayAsString)) == Optional.ofNullable(expectedValue)
+
+        where:
+        dayAsString         | expectedValue
+        "2000-12-31"        | null
+        "2001-01-01"        | "A"
+        "2001-04-30"        | "A"
+        "2001-05-01"        | "B"
+        "2005-06-15"        | "B"
+        "2010-01-01"        | "C"
+        "+999999999-12-31"  | "C"
+
+    }
+
+    def "slice"() {
+
+        when:
+        final DateRangeMap<String> slice = TIMELINE.slice(range(rangeAsString))
+
+        then:
+        assertThat(slice.ranges()).containsExactlyElementsOf(ranges(expectedRanges))
+
+        where:
+        rangeAsString            | expectedRanges
+        "1990-01-01..2000-12-31" | []
+        "2001-04-01..2001-05-31" | ["2001-04-01..2001-04-30", "2001-05-01..2001-05-31"]
+        "2009-01-01.."           | ["2009-01-01..2009-12-31", "2010-01-01.."]
+
+    }
+
+    def "with"() {
+
+        given:
+        final DateRangeMap<String> map = DateRangeMap.ofRanges([(range("2000-01-01..2000-01-31")): "A", (range("2000-03-01..")): "C"])
+
+        when:
+        final DateRangeMap<String> result = map.with(range(rangeAsString), value)
+
+        then:
+        assertThat(result.toString()).isEqualTo(expected)
+
+        where:
+        rangeAsString            | value | expected
+        "2000-01-10..2000-01-19" | "B"   | "DateRangeMap[2000-01-01..2000-01-09=A, 2000-01-10..2000-01-19=B, 2000-01-20..2000-01-31=A, 2000-03-01..=C]"
+        "2000-01-20..2000-03-10" | "B"   | "DateRangeMap[2000-01-01..2000-01-19=A, 2000-01-20..2000-03-10=B, 2000-03-11..=C]"
+        "2000-02-01..2000-02-29" | "A"   | "DateRangeMap[2000-01-01..2000-02-29=A, 2000-03-01..=C]"
+        "1999-01-01.."           | "B"   | "DateRangeMap[1999-01-01..=B]"
+
+    }
+
+    def "without"() {
+
+        given:
+        final DateRangeMap<String> map = DateRangeMap.ofRanges([(range("2000-01-01..2000-01-31")): "A", (range("2000-03-01..")): "C"])
+
+        when:
+        final DateRangeMap<String> result = map.without(range(rangeAsString))
+
+        then:
+        assertThat(result.toString()).isEqualTo(expected)
+
+        where:
+        rangeAsString            | expected
+        "2000-01-10..2000-01-19" | "DateRangeMap[2000-01-01..2000-01-09=A, 2000-01-20..2000-01-31=A, 2000-03-01..=C]"
+        "2000-01-15..2000-12-31" | "DateRangeMap[2000-01-01..2000-01-14=A, 2001-01-01..=C]"
+        "1999-01-01.."           | "DateRangeMap[]"
+
+    }
+
+}
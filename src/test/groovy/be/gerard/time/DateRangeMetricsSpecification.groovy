@@ -0,0 +1,80 @@
+package be.gerard.time
+
+import spock.lang.Specification
+import spock.lang.Title
+
+import static be.gerard.time.DateRangeTestUtils.range
+import static be.gerard.time.DateRangeTestUtils.ranges
+import static org.assertj.core.api.Assertions.assertThat
+
+@Title("DateRangeMetrics")
+class DateRangeMetricsSpecification extends Specification {
+
+    final List<String> operations = []
+    final DateRangeMetrics.Listener listener = { operation, inputSize, outputSize, span, elapsedNanos ->
+        operations.add("${operation} ${inputSize} ${outputSize} ${span}".toString())
+    }
+
+    def setup() {
+        DateRangeMetrics.addListener(listener)
+    }
+
+    def cleanup() {
+        DateRangeMetrics.removeListener(listener)
+    }
+
+    def "listener"() {
+
+        given:
+        final List<DateRange> input = ranges(["2000-01-01..2000-01-10", "2000-01-05..2000-01-20", "2000-02-01"])
+
+        when:
+        DateRange.merge(input)
+        DateRange.findAllIntersections(input)
+        range("2000-01-01..2000-03-01").subtract(input)
+        DateRange.findAllIntersections(ranges(["2000-01-01.."]))
+
+        then:
+        assertThat(operations).containsExactly(
+                "MERGE 3 2 32",
+                "FIND_ALL_INTERSECTIONS 3 5 32",
+                "SUBTRACT 3 2 32",
+                "FIND_ALL_INTERSECTIONS 1 1 ${Long.MAX_VALUE}".toString()
+        )
+
+    }
+
+    def "removed listener"() {
+
+        given:
+        DateRangeMetrics.removeListener(listener)
+
+        when:
+        DateRange.merge(ranges(["2000-01-01"]))
+
+        then:
+        assertThat(operations).isEmpty()
+
+    }
+
+    def "a failing listener does not fail the operation"() {
+
+        given:
+        final DateRangeMetrics.Listener failingListener = { operation, inputSize, outputSize, span, elapsedNanos ->
+            throw new IllegalStateException("broken")
+        }
+        DateRangeMetrics.addListener(failingListener)
+
+        when:
+        final List<DateRange> merged = DateRange.merge(ranges(["2000-01-01..2000-01-10", "2000-01-05..2000-01-20"]))
+
+        then:
+        assertThat(merged).containsExactly(range("2000-01-01..2000-01-20"))
+        assertThat(operations).containsExactly("MERGE 2 1 20")
+
+        cleanup:
+        DateRangeMetrics.removeListener(failingListener)
+
+    }
+
+}
@@ -0,0 +1,109 @@
+package be.gerard.time
+
+import spock.lang.Specification
+import spock.lang.Title
+
+import java.nio.ByteBuffer
+import java.nio.charset.StandardCharsets
+import java.time.LocalDate
+import java.time.format.DateTimeParseException
+
+import static org.assertj.core.api.Assertions.assertThat
+import static org.assertj.core.api.Assertions.assertThatThrownBy
+
+@Title("DateRangeParser")
+class DateRangeParserSpecification extends Specification {
+
+    def "parse"() {
+
+        when:
+        final DateRange range = DateRangeParser.parse(rangeAsString)
+
+        then:
+        assertThat(range).isEqualTo(expectedRange)
+
+        where:
+        rangeAsString                      | expectedRange
+        "2000-01-01"                       | DateRange.ofOneDay(LocalDate.of(2000, 1, 1))
+        "2000-01-01.."                     | DateRange.startingOn(LocalDate.of(2000, 1, 1))
+        "2000-01-01..2000-12-31"           | DateRange.of(LocalDate.of(2000, 1, 1), LocalDate.of(2000, 12, 31))
+        "2000-02-29"                       | DateRange.ofOneDay(LocalDate.of(2000, 2, 29))
+        "-0001-12-31"                      | DateRange.ofOneDay(LocalDate.of(-1, 12, 31))
+        "+10000-01-01"                     | DateRange.ofOneDay(LocalDate.of(10000, 1, 1))
+        "-999999999-01-01..2000-01-01"     | DateRange.of(LocalDate.MIN, LocalDate.of(2000, 1, 1))
+        "+999999999-12-31"                 | DateRange.ofOneDay(LocalDate.MAX)
+
+    }
+
+    def "parse with offset"() {
+
+        when:
+        final DateRange range = DateRangeParser.parse("[2000-01-01..2000-12-31]", 1, 22)
+
+        then:
+        assertThat(range).isEqualTo(DateRange.parse("2000-01-01..2000-12-31"))
+    }
+
+    def "parse ascii"() {
+
+        given:
+        final ByteBuffer buffer = ByteBuffer.wrap("2000-01-01;2000-01-01..".getBytes(StandardCharsets.US_ASCII))
+
+        when:
+        final DateRange range = DateRangeParser.parse(buffer, 11, 12)
+
+        then:
+        assertThat(range).isEqualTo(DateRange.parse("2000-01-01.."))
+        assertThat(buffer.position()).isZero()
+    }
+
+    def "parse invalid"() {
+
+        expect:
+        assertThatThrownBy(() -> DateRangeParser.parse(rangeAsString))
+                .isInstanceOf(DateTimeParseException.class)
+                .extracting("errorIndex")
+                .isEqualTo(expectedErrorIndex)
+
+        where:
+        rangeAsString            | expectedErrorIndex | comment
+        ""                       | 0                  | "empty"
+        "200-01-01"              | 3                  | "year too short"
+        "20000-01-01"            | 4                  | "year too long without sign"
+        "+2000-01-01"            | 0                  | "sign without long year"
+        "2000-1-01"              | 6                  | "month too short"
+        "2000-13-01"             | 5                  | "invalid month"
+        "2001-02-29"             | 8                  | "invalid day"
+        "2000-01-01 "            | 10                 | "unparsed text"
+        "2000-01-01."            | 11                 | "single dot"
+        "2000-01-01.2000-01-02"  | 11                 | "single dot"
+        "2000-01-01..2000-01-0x" | 21                 | "end date"
+        "2000-01-01...2000-01-0" | 12                 | "triple dot"
+
+    }
+
+    def "parse invalid with offset"() {
+
+        given:
+        final ByteBuffer buffer = ByteBuffer.wrap("xx${rangeAsString}".getBytes(StandardCharsets.US_ASCII))
+
+        expect:
+        assertThatThrownBy(() -> DateRangeParser.parse("xx${rangeAsString}", 2, rangeAsString.length()))
+                .isInstanceOf(DateTimeParseException.class)
+                .hasMessage(expectedMessage)
+                .extracting("errorIndex", "parsedString")
+                .containsExactly(expectedErrorIndex, rangeAsString)
+        assertThatThrownBy(() -> DateRangeParser.parse(buffer, 2, rangeAsString.length()))
+                .isInstanceOf(DateTimeParseException.class)
+                .hasMessage(expectedMessage)
+                .extracting("errorIndex", "parsedString")
+                .containsExactly(expectedErrorIndex, rangeAsString)
+
+        where:
+        rangeAsString            | expectedErrorIndex | expectedMessage                                                                | comment
+        "2000-01-0x"             | 9                  | "Text '2000-01-0x' could not be parsed at index 9: expected a digit"           | ""
+        "2000-01-01..2000-13-01" | 17                 | "Text '2000-01-01..2000-13-01' could not be parsed at index 17: invalid month" | "end date"
+
+    }
+
+}
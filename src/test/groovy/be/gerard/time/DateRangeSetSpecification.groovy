@@ -0,0 +1,120 @@
+package be.gerard.time
+
+import spock.lang.Specification
+import spock.lang.Title
+
+import static be.gerard.time.DateRangeTestUtils.day
+import static be.gerard.time.DateRangeTestUtils.ranges
+import static org.assertj.core.api.Assertions.assertThat
+import static org.assertj.core.api.Assertions.assertThatThrownBy
+
+@Title("DateRangeSet")
+class DateRangeSetSpecification extends Specification {
+
+    def "of ranges"() {
+
+        when:
+        final DateRangeSet set = DateRangeSet.ofRanges(ranges(rangesAsStrings))
+
+        then:
+        assertThat(set.asRanges()).containsExactlyElementsOf(ranges(expectedRanges))
+        assertThat(set.length()).isEqualTo(expectedLength)
+
+        where:
+        rangesAsStrings                                                                      | expectedRanges                                       | expectedLength      | comment
+        []                                                                                   | []                                                   | 0                   | "empty"
+        ["2000-01-01..2000-01-31"]                                                           | ["2000-01-01..2000-01-31"]                           | 31                  | ""
+        ["2000-01-04..2000-01-07", "2000-01-01..2000-01-03"]                                 | ["2000-01-01..2000-01-07"]                           | 7                   | "adjacent"
+        ["2000-01-01..2000-01-05", "2000-01-03..2000-01-04"]                                 | ["2000-01-01..2000-01-05"]                           | 5                   | "overlapping"
+        ["2000-03-01..2000-03-31", "2000-01-01..2000-01-31"]                                 | ["2000-01-01..2000-01-31", "2000-03-01..2000-03-31"] | 62                  | "disjoint"
+        ["2000-01-05..2000-01-10", "2000-01-01..2000-01-03", "2000-01-04", "2000-01-08.."]   | ["2000-01-01.."]                                     | Long.MAX_VALUE      | "infinite"
+
+    }
+
+    def "of days"() {
+
+        when:
+        final DateRangeSet set = DateRangeSet.ofDays(Days.parse(daysAsStrings))
+
+        then:
+        assertThat(set.asRanges()).containsExactlyElementsOf(ranges(expectedRanges))
+
+        where:
+        daysAsStrings                                                          | expectedRanges
+        ["2000-01-01"]                                                         | ["2000-01-01"]
+        ["2000-01-02", "2000-01-01"]                                           | ["2000-01-01..2000-01-02"]
+        ["2000-01-01", "2000-01-02", "2000-01-04", "2000-01-06", "2000-01-07"] | ["2000-01-01..2000-01-02", "2000-01-04", "2000-01-06..2000-01-07"]
+
+    }
+
+    def "contains"() {
+
+        given:
+        final DateRangeSet set = DateRangeSet.ofRanges(ranges(["2000-01-01..2000-01-31", "2000-03-01", "2001-01-01.."]))
+
+        expect:
+        set.containsDay(day(dayAsString)) == isContained
+        set.containsRange(DateRange.parse(dayAsString)) == isContained
+
+        where:
+        dayAsString  | isContained
+        "1999-12-31" | false
+        "2000-01-01" | true
+        "2000-01-31" | true
+        "2000-02-01" | false
+        "2000-03-01" | true
+        "2000-03-02" | false
+        "2100-01-01" | true
+
+    }
+
+    def "union / intersect / subtract"() {
+
+        given:
+        final DateRangeSet left = DateRangeSet.ofRanges(ranges(leftAsStrings))
+        final DateRangeSet right = DateRangeSet.ofRanges(ranges(rightAsStrings))
+
+        expect:
+        assertThat(left.union(right).asRanges()).containsExactlyElementsOf(ranges(expectedUnion))
+        assertThat(left.intersect(right).asRanges()).containsExactlyElementsOf(ranges(expectedIntersection))
+        assertThat(left.subtract(right).asRanges()).containsExactlyElementsOf(ranges(expectedDifference))
+
+        where:
+        leftAsStrings                                        | rightAsStrings                                       | expectedUnion                                        | expectedIntersection                                 | expectedDifference
+        []                                                   | ["2000-01-01"]                                       | ["2000-01-01"]                                       | []                                                   | []
+        ["2000-01-01..2000-01-10"]                           | ["2000-01-11..2000-01-20"]                           | ["2000-01-01..2000-01-20"]                           | []                                                   | ["2000-01-01..2000-01-10"]
+        ["2000-01-01..2000-01-10"]                           | ["2000-01-03..2000-01-04", "2000-01-08"]             | ["2000-01-01..2000-01-10"]                           | ["2000-01-03..2000-01-04", "2000-01-08"]             | ["2000-01-01..2000-01-02", "2000-01-05..2000-01-07", "2000-01-09..2000-01-10"]
+        ["2000-01-01..2000-01-05", "2000-01-08..2000-01-12"] | ["2000-01-04..2000-01-09"]                           | ["2000-01-01..2000-01-12"]                           | ["2000-01-04..2000-01-05", "2000-01-08..2000-01-09"] | ["2000-01-01..2000-01-03", "2000-01-10..2000-01-12"]
+        ["2000-01-01.."]                                     | ["2000-01-05..2000-01-06"]                           | ["2000-01-01.."]                                     | ["2000-01-05..2000-01-06"]                           | ["2000-01-01..2000-01-04", "2000-01-07.."]
+        ["2000-01-05..2000-01-06"]                           | ["2000-01-01.."]                                     | ["2000-01-01.."]                                     | ["2000-01-05..2000-01-06"]                           | []
+
+    }
+
+    def "complement"() {
+
+        when:
+        final DateRangeSet complement = DateRangeSet.ofRanges(ranges(rangesAsStrings)).complement()
+
+        then:
+        assertThat(complement.asRanges()).containsExactlyElementsOf(ranges(expectedRanges))
+
+        where:
+        rangesAsStrings                                      | expectedRanges
+        []                                                   | ["-999999999-01-01.."]
+        ["2000-01-01.."]                                     | ["-999999999-01-01..1999-12-31"]
+        ["2000-01-01..2000-01-10", "2000-01-20..2000-01-31"] | ["-999999999-01-01..1999-12-31", "2000-01-11..2000-01-19", "2000-02-01.."]
+
+    }
+
+    def "as days"() {
+
+        expect:
+        DateRangeSet.ofRanges(ranges(["2000-01-01..2000-01-02", "2000-01-04"])).asDays() == Days.ofDays(Days.parse(["2000-01-01", "2000-01-02", "2000-01-04"]))
+
+        assertThatThrownBy(() -> DateRangeSet.ofRanges(ranges(["2000-01-01.."])).asDays())
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("infinite range to days conversion is not supported")
+
+    }
+
+}
@@ -100,6 +100,54 @@ class DateRangeSpecification extends Specification {
 
     }
 
+    def "epoch days"() {
+
+        given:
+        final DateRange range = DateRange.parse(rangeAsString)
+
+        when:
+        final long startEpochDay = range.startEpochDay()
+        final long endEpochDay = range.endEpochDay()
+
+        then:
+        assertThat(startEpochDay).isEqualTo(expectedStartEpochDay)
+        assertThat(endEpochDay).isEqualTo(expectedEndEpochDay)
+        assertThat(DateRange.ofEpochDays(startEpochDay, endEpochDay)).isEqualTo(DateRange.of(range.startDate(), range.endDate()))
+
+        where:
+        rangeAsString            | expectedStartEpochDay | expectedEndEpochDay
+        "1970-01-01"             | 0L                    | 0L
+        "1969-12-31"             | -1L                   | -1L
+        "2000-01-01"             | 10957L                | 10957L
+        "2000-01-01..2000-01-03" | 10957L                | 10959L
+        "2000-01-01.."           | 10957L                | LocalDate.MAX.toEpochDay()
+
+    }
+
+    def "contains epoch day"() {
+
+        given:
+        final DateRange range = DateRange.parse(rangeAsString)
+        final long epochDay = LocalDate.parse(dayAsString).toEpochDay()
+
+        when:
+        final boolean contains = range.containsDay(epochDay)
+
+        then:
+        assertThat(contains).isEqualTo(isContained)
+
+        where:
+        rangeAsString            | dayAsString  | isContained
+        "2000-01-01"             | "2000-01-01" | true
+        "2000-01-01"             | "2000-01-02" | false
+        "2000-01-01..2000-01-31" | "2000-01-01" | true
+        "2000-01-01..2000-01-31" | "2000-01-31" | true
+        "2000-01-01..2000-01-31" | "2000-02-01" | false
+        "2000-01-01.."           | "2000-01-02" | true
+        "2000-01-01.."           | "1999-12-31" | false
+
+    }
+
     def "contains range"() {
 
         given:
@@ -284,6 +332,8 @@ class DateRangeSpecification extends Specification {
         ["2000-01-01..2000-01-04", "2000-01-01"]             | ["2000-01-01..2000-01-04"]                           | "overlap"
         ["2000-01-01..2000-01-04", "2000-01-03"]             | ["2000-01-01..2000-01-04"]                           | "overlap"
         ["2000-01-01..2000-01-04", "2000-01-04"]             | ["2000-01-01..2000-01-04"]                           | ""
+        ["2000-01-01..2000-01-02", "2000-01-02.."]           | ["2000-01-01.."]                                     | "infinite"
+        ["2000-01-05..", "2000-01-01..2000-01-02"]           | ["2000-01-01..2000-01-02", "2000-01-05.."]           | "infinite"
 
     }
 
@@ -431,6 +481,11 @@ class DateRangeSpecification extends Specification {
         "2000-12-01..2001-01-01" | ChronoUnit.YEARS  | ["2000-12-01..2000-12-31", "2001-01-01"]             | ""
         "2000-12-31..2001-01-01" | ChronoUnit.YEARS  | ["2000-12-31", "2001-01-01"]                         | ""
 
+        "2000-01-01..2000-01-10" | ChronoUnit.WEEKS   | ["2000-01-01..2000-01-02", "2000-01-03..2000-01-09", "2000-01-10"] | "aligned on Monday"
+        "2000-01-03..2000-01-09" | ChronoUnit.WEEKS   | ["2000-01-03..2000-01-09"]                                         | ""
+        "2000-01-01..2000-01-03" | ChronoUnit.DAYS    | ["2000-01-01", "2000-01-02", "2000-01-03"]                         | ""
+        "2005-06-01..2012-01-01" | ChronoUnit.DECADES | ["2005-06-01..2009-12-31", "2010-01-01..2012-01-01"]               | "aligned on the decade"
+
     }
 
     def "split by day"() {
@@ -654,5 +709,22 @@ class DateRangeSpecification extends Specification {
 
     }
 
+    def "shared instances near today"() {
+
+        given:
+        final LocalDate today = LocalDate.now()
+        final YearMonth thisMonth = YearMonth.now()
+        final LocalDate firstDayOfYear = today.withDayOfYear(1)
+
+        expect:
+        DateRange.ofOneDay(today).is(DateRange.ofOneDay(today))
+        DateRange.ofOneDay(today).is(DateRange.of(today, today))
+        Months.asRange(thisMonth).is(DateRange.of(thisMonth.atDay(1), thisMonth.atEndOfMonth()))
+        DateRange.of(firstDayOfYear, firstDayOfYear.plusYears(1).minusDays(1)).is(DateRange.of(firstDayOfYear, firstDayOfYear.plusYears(1).minusDays(1)))
+
+        !DateRange.ofOneDay(day("1000-01-01")).is(DateRange.ofOneDay(day("1000-01-01")))
+        DateRange.ofOneDay(day("1000-01-01")) == DateRange.ofOneDay(day("1000-01-01"))
+
+    }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,175 @@
+package be.gerard.time
+
+import spock.lang.Specification
+import spock.lang.Title
+
+import static be.gerard.time.DateRangeTestUtils.day
+import static be.gerard.time.DateRangeTestUtils.range
+import static be.gerard.time.DateRangeTestUtils.ranges
+import static org.assertj.core.api.Assertions.assertThat
+import static org.assertj.core.api.Assertions.assertThatThrownBy
+
+@Title("DateRangeStore")
+class DateRangeStoreSpecification extends Specification {
+
+    def "append"() {
+
+        given:
+        final DateRangeStore store = DateRangeStore.create()
+
+        when:
+        store.appendAll(ranges(rangesAsStrings))
+
+        then:
+        assertThat(store.ranges()).containsExactlyElementsOf(ranges(rangesAsStrings))
+        store.isSorted() == expectedSorted
+
+        where:
+        rangesAsStrings                                      | expectedSorted | comment
+        []                                                   | true           | ""
+        ["2000-01-01..2000-01-03", "2000-01-02.."]           | true           | "infinite"
+        ["2000-01-01..2000-01-05", "2000-01-01..2000-01-03"] | false          | "same start, longer first"
+        ["2000-01-05", "2000-01-01..2000-01-03"]             | false          | ""
+
+    }
+
+    def "sort moves the payloads along"() {
+
+        given:
+        final DateRangeStore store = DateRangeStore.createWithPayloads()
+        store.append(range("2000-01-05.."), 1L)
+        store.append(range("2000-01-01..2000-01-03"), 2L)
+        store.append(range("2000-01-02"), 3L)
+
+        when:
+        store.sort()
+
+        then:
+        store.isSorted()
+        assertThat(store.ranges()).containsExactlyElementsOf(ranges(["2000-01-01..2000-01-03", "2000-01-02", "2000-01-05.."]))
+        [store.payload(0), store.payload(1), store.payload(2)] == [2L, 3L, 1L]
+        store.endEpochDay(2) == LocalDates.MAX_EPOCH_DAY
+
+    }
+
+    def "sort across chunks"() {
+
+        given:
+        final int size = 3 * DateRangeStore.CHUNK_SIZE + 5
+        final DateRangeStore store = DateRangeStore.createWithPayloads()
+        final Random random = new Random(42L)
+        final List<DateRange> appendedRanges = (0..<size).collect { DateRange.ofEpochDays(random.nextInt(1000), random.nextInt(1000) + 1000) }
+        appendedRanges.eachWithIndex { DateRange range, int index -> store.append(range, index) }
+
+        when:
+        store.sort()
+
+        then:
+        assertThat(store.ranges()).isSortedAccordingTo(DateRange.startThenEnd())
+        (0..<size).every { store.range(it) == appendedRanges[store.payload(it) as int] }
+
+    }
+
+    def "merge"() {
+
+        given:
+        final DateRangeStore store = DateRangeStore.create()
+        store.appendAll(ranges(rangesAsStrings))
+        store.sort()
+
+        expect:
+        assertThat(store.merge().ranges()).containsExactlyElementsOf(DateRange.merge(ranges(rangesAsStrings)))
+
+        where:
+        rangesAsStrings                                                                    | comment
+        []                                                                                 | ""
+        ["2000-01-01..2000-01-03", "2000-01-04..2000-01-06"]                               | "adjacent"
+        ["2000-01-10..2000-01-12", "2000-01-01..2000-01-05", "2000-01-02..2000-01-03"]     | ""
+        ["2000-01-01..2000-01-03", "2000-01-02..", "2000-02-01..2000-02-05", "2000-03-01"] | "infinite"
+
+    }
+
+    def "merge requires a sorted store"() {
+
+        given:
+        final DateRangeStore store = DateRangeStore.create()
+        store.appendAll(ranges(["2000-01-05", "2000-01-01"]))
+
+        expect:
+        assertThatThrownBy(() -> store.merge())
+                .isInstanceOf(IllegalStateException)
+                .hasMessage("the store must be sorted to merge, see sort()")
+
+    }
+
+    def "containing day"() {
+
+        given:
+        final DateRangeStore store = DateRangeStore.create()
+        store.appendAll(ranges(rangesAsStrings))
+
+        when:
+        final int[] unsortedIndices = store.indicesContainingDay(day(dayAsString))
+        store.sort()
+        final int[] sortedIndices = store.indicesContainingDay(day(dayAsString))
+
+        then:
+        unsortedIndices.collect { ranges(rangesAsStrings)[it] }.toSet() == ranges(expectedRanges).toSet()
+        sortedIndices.collect { store.range(it) }.toSet() == ranges(expectedRanges).toSet()
+
+        where:
+        rangesAsStrings                                                    | dayAsString        | expectedRanges
+        ["2000-01-05..", "2000-01-01..2000-01-04", "2000-01-03"]           | "2000-01-03"       | ["2000-01-01..2000-01-04", "2000-01-03"]
+        ["2000-01-05..", "2000-01-01..2000-01-04", "2000-01-03"]           | "2000-01-05"       | ["2000-01-05.."]
+        ["2000-01-05..", "2000-01-01..2000-01-04", "2000-01-03"]           | "+999999999-12-31" | ["2000-01-05.."]
+        ["2000-01-05..", "2000-01-01..2000-01-04", "2000-01-03"]           | "1999-12-31"       | []
+
+    }
+
+    def "intersecting with"() {
+
+        given:
+        final DateRangeStore store = DateRangeStore.create()
+        store.appendAll(ranges(["2000-01-01..2000-01-04", "2000-01-03..2000-01-05", "2000-01-08", "2000-01-10.."]))
+
+        expect:
+        store.indicesIntersectingWith(range(rangeAsString)) == expectedIndices as int[]
+
+        where:
+        rangeAsString            | expectedIndices
+        "2000-01-05..2000-01-08" | [1, 2]
+        "2000-01-06..2000-01-07" | []
+        "2000-01-09.."           | [3]
+        "1999-01-01..2000-01-01" | [0]
+
+    }
+
+    def "payloads"() {
+
+        expect:
+        assertThatThrownBy(() -> DateRangeStore.create().append(range("2000-01-01"), 1L))
+                .isInstanceOf(IllegalStateException)
+                .hasMessage("the store has no payloads, append a range without payload")
+        assertThatThrownBy(() -> DateRangeStore.createWithPayloads().append(range("2000-01-01")))
+                .isInstanceOf(IllegalStateException)
+                .hasMessage("the store has payloads, append a range with its payload")
+
+    }
+
+    def "closed"() {
+
+        given:
+        final DateRangeStore store = DateRangeStore.create()
+        store.append(range("2000-01-01"))
+
+        when:
+        store.close()
+
+        then:
+        assertThatThrownBy(() -> store.size())
+                .isInstanceOf(IllegalStateException)
+                .hasMessage("the store is closed")
+
+    }
+
+}
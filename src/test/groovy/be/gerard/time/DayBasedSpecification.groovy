@@ -0,0 +1,53 @@
+package be.gerard.time
+
+import groovy.transform.Canonical
+import spock.lang.Specification
+import spock.lang.Title
+
+import java.time.LocalDate
+
+import static be.gerard.time.DateRangeTestUtils.day
+import static org.assertj.core.api.Assertions.assertThat
+
+@Title("DayBased")
+class DayBasedSpecification extends Specification {
+
+    @Canonical
+    static class Item implements DayBased {
+        LocalDate day
+        String name
+
+        @Override
+        LocalDate day() {
+            day
+        }
+    }
+
+    static List<Item> items(
+            final List<String> itemsAsStrings
+    ) {
+        itemsAsStrings.collect {
+            final String[] parts = it.split("=")
+            new Item(day(parts[0]), parts[1])
+        }
+    }
+
+    def "group by day sorted"() {
+
+        when:
+        final List<List<Item>> groups = DayBased.groupByDaySorted(items(itemsAsStrings))
+
+        then:
+        assertThat(groups).containsExactlyElementsOf(expectedGroups.collect { items(it) })
+
+        where:
+        itemsAsStrings                                           | expectedGroups                                                     | comment
+        []                                                       | []                                                                 | ""
+        ["2000-01-01=A"]                                         | [["2000-01-01=A"]]                                                 | ""
+        ["2000-01-02=A", "2000-01-01=B", "2000-01-02=C"]         | [["2000-01-01=B"], ["2000-01-02=A", "2000-01-02=C"]]               | "dense, input order within a day"
+        ["2000-01-01=A", "2000-01-05=B", "2000-01-01=C"]         | [["2000-01-01=A", "2000-01-01=C"], ["2000-01-05=B"]]               | "dense, with a gap"
+        ["2100-01-01=A", "1900-01-01=B", "2100-01-01=C"]         | [["1900-01-01=B"], ["2100-01-01=A", "2100-01-01=C"]]               | "sparse"
+
+    }
+
+}
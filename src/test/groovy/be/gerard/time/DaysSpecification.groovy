@@ -97,6 +97,28 @@ class DaysSpecification extends Specification {
                 .hasMessage("infinite range to days conversion is not supported")
     }
 
+    def "stream days within ranges"() {
+        given:
+        final List<DateRange> ranges = DateRange.parse(rangesAsStrings)
+        final List<LocalDate> expectedDays = Days.parse(expectedDaysAsStrings)
+
+        when:
+        final List<LocalDate> days = Days.streamWithin(ranges).limit(4).toList()
+
+        then:
+        assertThat(days).containsExactlyElementsOf(expectedDays)
+
+        where:
+        rangesAsStrings                                      | expectedDaysAsStrings                                                            | comment
+        []                                                   | []                                                                               | ""
+        ["2000-01-03", "2000-01-01..2000-01-02"]             | ["2000-01-01", "2000-01-02", "2000-01-03"]                                       | ""
+        ["2000-01-02..2000-01-03", "2000-01-01..2000-01-02"] | ["2000-01-01", "2000-01-02", "2000-01-03"]                                       | "overlap"
+        ["2000-01-01.."]                                     | ["2000-01-01", "2000-01-02", "2000-01-03", "2000-01-04"]                         | "infinite"
+        ["2000-01-03..", "2000-01-01"]                       | ["2000-01-01", "2000-01-03", "2000-01-04", "2000-01-05"]                         | "infinite"
+        ["-999999999-01-01..2000-01-01"]                     | ["-999999999-01-01", "-999999999-01-02", "-999999999-01-03", "-999999999-01-04"] | "huge"
+
+    }
+
     def "as timeline"() {
         given:
         final List<LocalDate> days = Days.parse(daysAsString)
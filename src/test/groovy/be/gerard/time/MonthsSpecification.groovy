@@ -26,6 +26,8 @@ class MonthsSpecification extends Specification {
         ["2000-01", "2000-02"]            | ["2000-01-01..2000-02-29"]                           | ""
         ["2000-01", "2000-03"]            | ["2000-01-01..2000-01-31", "2000-03-01..2000-03-31"] | ""
         ["2000-01", "2000-02", "2000-03"] | ["2000-01-01..2000-03-31"]                           | ""
+        ["2000-03", "2000-01", "2000-02"] | ["2000-01-01..2000-03-31"]                           | "unsorted"
+        ["2000-01", "2000-01"]            | ["2000-01-01..2000-01-31"]                           | "duplicate"
 
     }
 
@@ -52,4 +54,23 @@ class MonthsSpecification extends Specification {
 
     }
 
+    def "stream months within ranges"() {
+        given:
+        final List<DateRange> ranges = DateRange.parse(rangesAsStrings)
+
+        when:
+        final List<YearMonth> months = Months.streamWithin(ranges).limit(3).toList()
+
+        then:
+        assertThat(months).containsExactlyElementsOf(expectedMonths)
+
+        where:
+        rangesAsStrings                                      | expectedMonths
+        []                                                   | []
+        ["2000-01-01..2000-01-05", "2000-01-10..2000-01-15"] | [month("2000-01")]
+        ["2000-03-01", "2000-01-15..2000-02-01"]             | [month("2000-01"), month("2000-02"), month("2000-03")]
+        ["2000-12-15.."]                                     | [month("2000-12"), month("2001-01"), month("2001-02")]
+
+    }
+
 }
@@ -0,0 +1,90 @@
+package be.gerard.time
+
+import spock.lang.Specification
+import spock.lang.Title
+
+import static be.gerard.time.DateRangeTestUtils.range
+import static be.gerard.time.DateRangeTestUtils.ranges
+import static org.assertj.core.api.Assertions.assertThat
+import static org.assertj.core.api.Assertions.assertThatThrownBy
+
+@Title("SortedDateRanges")
+class SortedDateRangesSpecification extends Specification {
+
+    def "of"() {
+
+        when:
+        final SortedDateRanges sortedRanges = SortedDateRanges.of(ranges(rangesAsStrings))
+
+        then:
+        assertThat(sortedRanges).containsExactlyElementsOf(ranges(expectedRanges))
+        sortedRanges.isDisjoint() == expectedDisjoint
+
+        where:
+        rangesAsStrings                                                    | expectedRanges                                                     | expectedDisjoint | comment
+        []                                                                 | []                                                                 | true             | ""
+        ["2000-01-01..2000-01-03"]                                         | ["2000-01-01..2000-01-03"]                                         | true             | ""
+        ["2000-01-01..2000-01-03", "2000-01-04..2000-01-06"]               | ["2000-01-01..2000-01-03", "2000-01-04..2000-01-06"]               | true             | "adjacent ranges are disjoint"
+        ["2000-01-04..2000-01-06", "2000-01-01..2000-01-03"]               | ["2000-01-01..2000-01-03", "2000-01-04..2000-01-06"]               | true             | "unsorted"
+        ["2000-01-01..2000-01-05", "2000-01-01..2000-01-03"]               | ["2000-01-01..2000-01-03", "2000-01-01..2000-01-05"]               | false            | "same start, sorted by end"
+        ["2000-01-01..2000-01-10", "2000-01-02..2000-01-03", "2000-01-05"] | ["2000-01-01..2000-01-10", "2000-01-02..2000-01-03", "2000-01-05"] | false            | "contained ranges overlap their container"
+        ["2000-01-05..", "2000-01-01..2000-01-04"]                         | ["2000-01-01..2000-01-04", "2000-01-05.."]                         | true             | "infinite"
+
+    }
+
+    def "of sorted"() {
+
+        expect:
+        assertThat(SortedDateRanges.ofSorted(ranges(["2000-01-01", "2000-01-01..2000-01-03", "2000-01-02.."])))
+                .containsExactlyElementsOf(ranges(["2000-01-01", "2000-01-01..2000-01-03", "2000-01-02.."]))
+
+    }
+
+    def "of sorted rejects unsorted ranges"() {
+
+        expect:
+        assertThatThrownBy(() -> SortedDateRanges.ofSorted(ranges(rangesAsStrings)))
+                .isInstanceOf(IllegalArgumentException)
+                .hasMessage(expectedMessage)
+
+        where:
+        rangesAsStrings                                                    | expectedMessage                                           | comment
+        ["2000-01-02", "2000-01-01"]                                       | "ranges must be sorted by start, then end [index=1]"      | ""
+        ["2000-01-01", "2000-01-03", "2000-01-01..2000-01-05"]             | "ranges must be sorted by start, then end [index=2]"      | ""
+        ["2000-01-01..2000-01-05", "2000-01-01..2000-01-03"]               | "ranges must be sorted by start, then end [index=1]"      | "same start, longer first"
+
+    }
+
+    def "date ranges are sorted once"() {
+
+        when:
+        final DateRanges dateRanges = new DateRanges(ranges(["2000-01-05..2000-01-06", "2000-01-01..2000-01-03"]))
+
+        then:
+        dateRanges.ranges() instanceof SortedDateRanges
+        DateRange.sort(dateRanges.ranges()).is(dateRanges.ranges())
+
+    }
+
+    def "sorted input gives the same results"() {
+
+        given:
+        final List<DateRange> unsortedRanges = ranges(rangesAsStrings)
+        final SortedDateRanges sortedRanges = SortedDateRanges.of(unsortedRanges)
+        final DateRange range = range("2000-01-01..2000-01-31")
+
+        expect:
+        DateRange.merge(sortedRanges) == DateRange.merge(unsortedRanges)
+        DateRange.findAllIntersections(sortedRanges) == DateRange.findAllIntersections(unsortedRanges)
+        DateRange.findAllGaps(sortedRanges) == DateRange.findAllGaps(unsortedRanges)
+        range.subtract(sortedRanges) == range.subtract(unsortedRanges)
+        DateRangeBased.groupOverlappingRanges(sortedRanges) == DateRangeBased.groupOverlappingRanges(unsortedRanges)
+
+        where:
+        rangesAsStrings                                                                            | comment
+        ["2000-01-10..2000-01-12", "2000-01-01..2000-01-03", "2000-01-05"]                         | "disjoint"
+        ["2000-01-10..2000-01-20", "2000-01-01..2000-01-03", "2000-01-02..2000-01-05", "2000-01-15.."] | "overlapping"
+
+    }
+
+}
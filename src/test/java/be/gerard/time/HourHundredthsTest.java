@@ -0,0 +1,81 @@
+package be.gerard.time;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+class HourHundredthsTest {
+
+    private record Row(LocalDate day, long hundredths) implements DayBased {
+    }
+
+    private static final List<Row> ROWS = List.of(
+            new Row(LocalDate.parse("2000-01-30"), 750),
+            new Row(LocalDate.parse("2000-01-31"), 800),
+            new Row(LocalDate.parse("2000-01-31"), 25),
+            new Row(LocalDate.parse("2000-02-01"), 400)
+    );
+
+    @Test
+    public void conversion() {
+        assertThat(HourHundredths.of(new BigDecimal("7.5"))).isEqualTo(750);
+        assertThat(HourHundredths.of(Hours.of(8))).isEqualTo(800);
+        assertThat(HourHundredths.toBigDecimal(825)).isEqualTo(new BigDecimal("8.25"));
+        assertThat(HourHundredths.toHours(825)).isEqualTo(Hours.of(new BigDecimal("8.25")));
+    }
+
+    @Test
+    public void invalid_to_hours_beyond_max() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> HourHundredths.toHours(2401))
+                .withMessage("hours.value must be <= 24.00 [value=24.01]");
+    }
+
+    @Test
+    public void arithmetic() {
+        assertThat(HourHundredths.add(750, 25)).isEqualTo(775);
+        assertThat(HourHundredths.subtract(750, 25)).isEqualTo(725);
+        assertThat(HourHundredths.compare(750, 25)).isPositive();
+        assertThat(HourHundredths.sum(750, 800, 25)).isEqualTo(1575);
+        assertThat(HourHundredths.sum(ROWS, Row::hundredths)).isEqualTo(1975);
+    }
+
+    @Test
+    public void overflow() {
+        assertThatThrownBy(() -> HourHundredths.add(Long.MAX_VALUE, 1))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    public void sum_by_day() {
+        assertThat(HourHundredths.sumByDay(ROWS, Row::hundredths)).containsExactly(
+                entry(LocalDate.parse("2000-01-30"), 750L),
+                entry(LocalDate.parse("2000-01-31"), 825L),
+                entry(LocalDate.parse("2000-02-01"), 400L)
+        );
+    }
+
+    @Test
+    public void sum_by_week() {
+        assertThat(HourHundredths.sumByWeek(ROWS, Row::hundredths)).containsExactly(
+                entry(LocalDate.parse("2000-01-24"), 750L),
+                entry(LocalDate.parse("2000-01-31"), 1225L)
+        );
+    }
+
+    @Test
+    public void sum_by_month() {
+        assertThat(HourHundredths.sumByMonth(ROWS, Row::hundredths)).containsExactly(
+                entry(LocalDate.parse("2000-01-01"), 1575L),
+                entry(LocalDate.parse("2000-02-01"), 400L)
+        );
+    }
+
+}
@@ -41,4 +41,24 @@ class HoursTest {
         assertThat(Hours.of(value).value()).isEqualTo(BigDecimal.valueOf(value));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void of_hundredths() {
+        assertThat(Hours.ofHundredths(750).value()).isEqualTo(new BigDecimal("7.50"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "0", "7.5", "7.50", "7.500", "24"
+    })
+    public void to_hundredths(final String value) {
+        assertThat(Hours.of(new BigDecimal(value)).toHundredths()).isEqualTo(new BigDecimal(value).movePointRight(2).longValueExact());
+    }
+
+    @Test
+    public void invalid_to_hundredths_too_many_decimals() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> Hours.of(new BigDecimal("7.505")).toHundredths())
+                .withMessage("hours can not have more than 2 decimals [hours=7.505]");
+    }
+
+}